@@ -0,0 +1,204 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.slaves.ComputerListener;
+import hudson.slaves.OfflineCause;
+
+/**
+ * Controller side cache of the agent facts (file separator, OS name and CLI version) needed to run the zAdviser CLI.
+ * <p>
+ * Entries are keyed by agent name and CLI location. All entries of an agent are dropped when it goes on or off line, and an
+ * entry is replaced when the modification time of its CLI directory changes.
+ */
+public class AgentFactsCache {
+	private static final Logger logger = Logger.getLogger("hudson.AgentFactsCache"); //$NON-NLS-1$
+	private static final AgentFactsCache INSTANCE = new AgentFactsCache();
+
+	private final Map<String, Map<String, RemoteBuildPreparation.Result>> entries = new ConcurrentHashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Returns the controller wide cache.
+	 *
+	 * @return the cache instance
+	 */
+	public static AgentFactsCache get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Prepare the agent for a CLI invocation, reusing the cached CLI version when the CLI directory has not changed.
+	 *
+	 * @param channel
+	 *            the channel to the agent
+	 * @param workspace
+	 *            the build workspace
+	 * @param cliLocation
+	 *            the CLI installation directory on the agent
+	 * @param jcl
+	 *            the JCL to write to a temporary file in the workspace; can be null
+	 * @param persistDataRoot
+	 *            the root directory of the CLI persist data; can be null
+	 * @param persistDataKey
+	 *            the watermark key naming the persist data directory; can be null
+	 *
+	 * @return the agent facts, always including the CLI version
+	 *
+	 * @throws IOException
+	 *             if the agent could not be prepared
+	 * @throws InterruptedException
+	 *             if the remote call is interrupted
+	 */
+	public RemoteBuildPreparation.Result prepare(VirtualChannel channel, FilePath workspace, String cliLocation, String jcl,
+			String persistDataRoot, String persistDataKey) throws IOException, InterruptedException {
+		Computer computer = workspace.toComputer();
+		String agentName = computer != null ? computer.getName() : null;
+		RemoteBuildPreparation.Result cached = lookup(agentName, cliLocation);
+
+		RemoteBuildPreparation.Result result = channel.call(new RemoteBuildPreparation(cliLocation,
+				ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION, workspace.getRemote(), jcl,
+				cached != null ? cached.getCliModified() : 0, persistDataRoot, persistDataKey));
+
+		return update(agentName, cliLocation, cached, result);
+	}
+
+	/**
+	 * Returns the cached facts for an agent and CLI location.
+	 *
+	 * @param agentName
+	 *            the agent name; can be null
+	 * @param cliLocation
+	 *            the CLI installation directory
+	 *
+	 * @return the cached facts, or null if none
+	 */
+	RemoteBuildPreparation.Result lookup(String agentName, String cliLocation) {
+		if (agentName == null) {
+			return null;
+		}
+
+		Map<String, RemoteBuildPreparation.Result> agentEntries = entries.get(agentName);
+		return agentEntries != null ? agentEntries.get(cliLocation) : null;
+	}
+
+	/**
+	 * Merge a preparation result with the cached facts and record the hit or miss.
+	 *
+	 * @param agentName
+	 *            the agent name; can be null in which case nothing is cached
+	 * @param cliLocation
+	 *            the CLI installation directory
+	 * @param cached
+	 *            the cached facts the preparation was made with; can be null
+	 * @param result
+	 *            the preparation result returned by the agent
+	 *
+	 * @return the preparation result including the CLI version
+	 */
+	RemoteBuildPreparation.Result update(String agentName, String cliLocation, RemoteBuildPreparation.Result cached,
+			RemoteBuildPreparation.Result result) {
+		if (result.getCliVersion() == null && cached != null) {
+			hits.incrementAndGet();
+			logger.log(Level.FINE, "Agent facts cache hit for agent: {0}", agentName); //$NON-NLS-1$
+			return new RemoteBuildPreparation.Result(result.getFileSeparator(), result.getOsName(), cached.getCliVersion(),
+					result.getCliModified(), result.getJclFilePath(), result.getPersistDataPath());
+		}
+
+		misses.incrementAndGet();
+		logger.log(Level.FINE, "Agent facts cache miss for agent: {0}", agentName); //$NON-NLS-1$
+		if (agentName != null) {
+			// the JCL file and persist data directory are specific to a single build and are not cached
+			entries.computeIfAbsent(agentName, k -> new ConcurrentHashMap<>()).put(cliLocation,
+					new RemoteBuildPreparation.Result(result.getFileSeparator(), result.getOsName(), result.getCliVersion(),
+							result.getCliModified(), null, null));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Drop all cached facts of an agent.
+	 *
+	 * @param agentName
+	 *            the agent name
+	 */
+	public void invalidate(String agentName) {
+		if (entries.remove(agentName) != null) {
+			logger.log(Level.FINE, "Agent facts cache invalidated for agent: {0}", agentName); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns the number of preparations that reused a cached CLI version.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of preparations that read the CLI version from the agent.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Invalidates the cached facts of an agent whenever it connects or disconnects.
+	 */
+	@Extension
+	public static class AgentConnectionListener extends ComputerListener {
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.slaves.ComputerListener#onOnline(hudson.model.Computer, hudson.model.TaskListener)
+		 */
+		@Override
+		public void onOnline(Computer c, TaskListener listener) {
+			AgentFactsCache.get().invalidate(c.getName());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.slaves.ComputerListener#onOffline(hudson.model.Computer, hudson.slaves.OfflineCause)
+		 */
+		@Override
+		public void onOffline(Computer c, OfflineCause cause) {
+			AgentFactsCache.get().invalidate(c.getName());
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.FilePath;
+import hudson.Functions;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Computer;
+import hudson.model.ItemGroup;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.model.TopLevelItem;
+import hudson.remoting.VirtualChannel;
+import jenkins.model.Jenkins;
+
+/**
+ * Deletes the CLI workspaces left behind in the build workspaces of every online node, for instance by builds that were
+ * aborted while the CLI was running.
+ * <p>
+ * Runs every hour on all nodes at the same time. A CLI workspace is deleted once it was not changed for the configured
+ * maximum age, or earlier when the CLI workspaces of a node take up more than the configured quota. CLI workspaces in use
+ * are never deleted, see {@link CliWorkspaces}. Only the <code>ZADVISER_CLI_WORKSPACE</code> directories of the zAdviser build
+ * steps are reaped; the <code>TOPAZ_CLI_WORKSPACE</code> directories of other plugins are left alone.
+ * <p>
+ * Only the default workspaces of the items are searched. Pipeline <code>ws</code> steps and custom workspaces outside the
+ * workspace root of a node are not covered.
+ */
+@Extension
+public class CliWorkspaceReaper extends AsyncPeriodicWork {
+	private final AtomicLong deleted = new AtomicLong();
+	private final AtomicLong reclaimedBytes = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 */
+	public CliWorkspaceReaper() {
+		super("zAdviser CLI workspace reaper"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the registered reaper.
+	 *
+	 * @return the reaper instance
+	 */
+	public static CliWorkspaceReaper get() {
+		return ExtensionList.lookupSingleton(CliWorkspaceReaper.class);
+	}
+
+	/**
+	 * Returns the number of CLI workspaces deleted since the controller started.
+	 *
+	 * @return the number of CLI workspaces deleted
+	 */
+	public long getDeleted() {
+		return deleted.get();
+	}
+
+	/**
+	 * Returns the size of the CLI workspaces deleted since the controller started.
+	 *
+	 * @return the reclaimed bytes
+	 */
+	public long getReclaimedBytes() {
+		return reclaimedBytes.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.PeriodicWork#getRecurrencePeriod()
+	 */
+	@Override
+	public long getRecurrencePeriod() {
+		return HOUR;
+	}
+
+	/**
+	 * Returns the configured age after which an unused CLI workspace is deleted.
+	 *
+	 * @return the maximum age in milliseconds
+	 */
+	static long getMaxAgeMillis() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		String hours = zAdviserGlobalConfiguration.getCliWorkspaceMaxAgeHours();
+		return TimeUnit.HOURS.toMillis(Math.max(NumberUtils.toInt(StringUtils.trim(hours),
+				ZAdviserUtilitiesConstants.DEFAULT_CLI_WORKSPACE_MAX_AGE_HOURS), 1));
+	}
+
+	/**
+	 * Returns the configured size the CLI workspaces of a node may take up.
+	 *
+	 * @return the quota in bytes, 0 for no quota
+	 */
+	static long getQuotaBytes() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		String megabytes = zAdviserGlobalConfiguration.getCliWorkspaceQuota();
+		return Math.max(NumberUtils.toLong(StringUtils.trim(megabytes), 0), 0) * 1024 * 1024;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.AsyncPeriodicWork#execute(hudson.model.TaskListener)
+	 */
+	@Override
+	protected void execute(TaskListener listener) throws IOException, InterruptedException {
+		PrintStream logger = listener.getLogger();
+		Jenkins jenkins = Jenkins.get();
+		long maxAgeMillis = getMaxAgeMillis();
+		long quotaBytes = getQuotaBytes();
+
+		// the nodes are reaped in parallel, each deleting its CLI workspaces in parallel as well
+		Collection<TopLevelItem> items = getFolderRepresentatives(jenkins);
+		Map<String, Future<RemoteCliWorkspaceReaper.Result>> results = new LinkedHashMap<>();
+		for (Computer computer : jenkins.getComputers()) {
+			Node node = computer.getNode();
+			VirtualChannel channel = computer.getChannel();
+			if (node == null || channel == null) {
+				continue;
+			}
+
+			List<String> workspaceRoots = getWorkspaceRoots(items, node);
+			if (!workspaceRoots.isEmpty()) {
+				results.put(computer.getDisplayName(),
+						channel.callAsync(new RemoteCliWorkspaceReaper(workspaceRoots, ZAdviserUtilitiesConstants.ZADVISER_CLI_WORKSPACE,
+								CliWorkspaces.get().getActive(node.getNodeName()), maxAgeMillis, quotaBytes)));
+			}
+		}
+
+		for (Map.Entry<String, Future<RemoteCliWorkspaceReaper.Result>> result : results.entrySet()) {
+			try {
+				RemoteCliWorkspaceReaper.Result reaped = result.getValue().get(getRecurrencePeriod(), TimeUnit.MILLISECONDS);
+				deleted.addAndGet(reaped.getDeleted());
+				reclaimedBytes.addAndGet(reaped.getReclaimedBytes());
+				logger.println(result.getKey() + ": deleted " + reaped.getDeleted() + " of " + reaped.getFound() //$NON-NLS-1$ //$NON-NLS-2$
+						+ " unused CLI workspaces, reclaimed " + Functions.humanReadableByteSize(reaped.getReclaimedBytes()) //$NON-NLS-1$
+						+ ", " + Functions.humanReadableByteSize(reaped.getRemainingBytes()) + " left" //$NON-NLS-1$ //$NON-NLS-2$
+						+ (reaped.getFailed() > 0 ? ", " + reaped.getFailed() + " could not be deleted" : StringUtils.EMPTY)); //$NON-NLS-1$ //$NON-NLS-2$
+			} catch (ExecutionException | TimeoutException e) {
+				logger.println(result.getKey() + ": unable to delete the unused CLI workspaces: " + e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Returns one item of every folder, once per pass. The items of a folder have their default workspaces in the same
+	 * directory of a node, so the workspace roots of a node are found without asking it for the workspace of every item.
+	 *
+	 * @param jenkins
+	 *            the Jenkins instance
+	 *
+	 * @return an item of every folder holding items
+	 */
+	private static Collection<TopLevelItem> getFolderRepresentatives(Jenkins jenkins) {
+		Map<ItemGroup<?>, TopLevelItem> representatives = new LinkedHashMap<>();
+		for (TopLevelItem item : jenkins.getAllItems(TopLevelItem.class)) {
+			representatives.putIfAbsent(item.getParent(), item);
+		}
+
+		return representatives.values();
+	}
+
+	/**
+	 * Returns the directories holding the build workspaces of a node.
+	 *
+	 * @param items
+	 *            an item of every folder
+	 * @param node
+	 *            the node
+	 *
+	 * @return the remote paths of the parent directories of the workspaces of the items on the node
+	 */
+	private static List<String> getWorkspaceRoots(Collection<TopLevelItem> items, Node node) {
+		Set<String> workspaceRoots = new LinkedHashSet<>();
+		for (TopLevelItem item : items) {
+			FilePath workspace = node.getWorkspaceFor(item);
+			FilePath parent = workspace != null ? workspace.getParent() : null;
+			if (parent != null) {
+				workspaceRoots.add(parent.getRemote());
+			}
+		}
+
+		return new ArrayList<>(workspaceRoots);
+	}
+}
@@ -0,0 +1,224 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+
+/**
+ * Hands out the CLI workspaces (the <code>-data</code> directory of the CLI) of the zAdviser build steps and keeps track of
+ * the ones in use.
+ * <p>
+ * By default every CLI call gets a fresh <code>ZADVISER_CLI_WORKSPACE&lt;UUID&gt;</code> directory in the build workspace, which
+ * is deleted when the lease is closed, whether the CLI call succeeded or not. When CLI workspaces are reused, a CLI call
+ * instead leases one of the numbered directories of a pool kept in the root directory of the node, so the CLI does not
+ * initialize a new workspace every time; a pooled directory is used by one CLI call at a time and is kept when the lease is
+ * closed.
+ * <p>
+ * The directories in use are never deleted by the {@link CliWorkspaceReaper}. The fresh directories are named after zAdviser
+ * rather than <code>TOPAZ_CLI_WORKSPACE</code>, so the reaper leaves the CLI workspaces of other plugins alone.
+ */
+public final class CliWorkspaces {
+	private static final CliWorkspaces INSTANCE = new CliWorkspaces();
+
+	private final Set<String> active = new HashSet<>();
+	private final Map<String, BitSet> pools = new HashMap<>();
+
+	/**
+	 * Returns the controller wide CLI workspace registry.
+	 *
+	 * @return the registry instance
+	 */
+	public static CliWorkspaces get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns whether CLI workspaces are reused.
+	 *
+	 * @return true if CLI calls lease a pooled CLI workspace
+	 */
+	static boolean isReused() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		return zAdviserGlobalConfiguration.isReuseCliWorkspaces();
+	}
+
+	/**
+	 * Lease a CLI workspace for a CLI call in a build workspace.
+	 *
+	 * @param workspace
+	 *            the build workspace
+	 * @param remoteFileSeparator
+	 *            the file separator of the node the build workspace is on
+	 * @param logger
+	 *            the build log
+	 *
+	 * @return the lease of the CLI workspace, to be closed once the CLI call finished
+	 */
+	public Lease lease(FilePath workspace, String remoteFileSeparator, PrintStream logger) {
+		Computer computer = isReused() ? workspace.toComputer() : null;
+		Node node = computer != null ? computer.getNode() : null;
+		FilePath rootPath = node != null ? node.getRootPath() : null;
+		if (rootPath != null) {
+			String nodeName = node.getNodeName();
+			int index;
+			synchronized (this) {
+				BitSet pool = pools.computeIfAbsent(nodeName, k -> new BitSet());
+				index = pool.nextClearBit(0);
+				pool.set(index);
+			}
+
+			FilePath directory = rootPath.child(ZAdviserUtilitiesConstants.ZADVISER_CLI_WORKSPACE_POOL_DIR)
+					.child(String.valueOf(index));
+			logger.println("Reusing the pooled CLI workspace " + directory.getRemote()); //$NON-NLS-1$
+			return new Lease(nodeName, directory, index, logger);
+		}
+
+		String path = workspace.getRemote() + remoteFileSeparator + ZAdviserUtilitiesConstants.ZADVISER_CLI_WORKSPACE
+				+ UUID.randomUUID().toString();
+		return new Lease(nodeNameOf(workspace), new FilePath(workspace.getChannel(), path), -1, logger);
+	}
+
+	/**
+	 * Returns the CLI workspaces in use on a node.
+	 *
+	 * @param nodeName
+	 *            the name of the node, empty for the controller
+	 *
+	 * @return the remote paths of the CLI workspaces in use
+	 */
+	public synchronized List<String> getActive(String nodeName) {
+		List<String> paths = new ArrayList<>();
+		String prefix = nodeName + '\n';
+		for (String key : active) {
+			if (key.startsWith(prefix)) {
+				paths.add(key.substring(prefix.length()));
+			}
+		}
+
+		return paths;
+	}
+
+	/**
+	 * Returns the name of the node a file path is on.
+	 *
+	 * @param path
+	 *            the file path
+	 *
+	 * @return the name of the node, empty for the controller or an unknown node
+	 */
+	private static String nodeNameOf(FilePath path) {
+		Computer computer = path.toComputer();
+		return computer != null ? computer.getName() : ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * A CLI workspace in use by a CLI call.
+	 */
+	public final class Lease implements AutoCloseable {
+		private final String key;
+		private final String nodeName;
+		private final FilePath directory;
+		private final int poolIndex;
+		private final PrintStream logger;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param nodeName
+		 *            the name of the node the CLI workspace is on
+		 * @param directory
+		 *            the CLI workspace
+		 * @param poolIndex
+		 *            the index of the pooled CLI workspace, -1 for a fresh CLI workspace
+		 * @param logger
+		 *            the build log
+		 */
+		Lease(String nodeName, FilePath directory, int poolIndex, PrintStream logger) {
+			this.key = nodeName + '\n' + directory.getRemote();
+			this.nodeName = nodeName;
+			this.directory = directory;
+			this.poolIndex = poolIndex;
+			this.logger = logger;
+			synchronized (CliWorkspaces.this) {
+				active.add(key);
+			}
+		}
+
+		/**
+		 * Gets the remote path of the CLI workspace.
+		 *
+		 * @return the path passed to the CLI as <code>-data</code>
+		 */
+		public String getPath() {
+			return directory.getRemote();
+		}
+
+		/**
+		 * Returns whether the CLI workspace is a pooled one.
+		 *
+		 * @return true if the CLI workspace is kept for the next CLI call
+		 */
+		public boolean isPooled() {
+			return poolIndex >= 0;
+		}
+
+		/**
+		 * Delete a fresh CLI workspace and allow the next CLI call to lease a pooled one.
+		 *
+		 * @throws InterruptedException
+		 *             if the build is aborted while deleting the CLI workspace
+		 */
+		@Override
+		public void close() throws InterruptedException {
+			try {
+				if (!isPooled()) {
+					directory.deleteRecursive();
+				}
+			} catch (IOException e) {
+				// the directory is removed by the CLI workspace reaper later on
+				logger.println("Unable to delete the CLI workspace " + directory.getRemote() + ": " + e.getMessage()); //$NON-NLS-1$ //$NON-NLS-2$
+			} finally {
+				synchronized (CliWorkspaces.this) {
+					active.remove(key);
+					if (isPooled()) {
+						BitSet pool = pools.get(nodeName);
+						pool.clear(poolIndex);
+						if (pool.isEmpty()) {
+							pools.remove(nodeName);
+						}
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,474 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.Util;
+import jenkins.model.Jenkins;
+
+/**
+ * Runs identical zAdviser extractions only once (single flight).
+ * <p>
+ * Extractions are identical when they use the same host connection, credentials, customer ID, JCL, initial date range and
+ * output options on the same day; the <code>DATE(START,END)</code> window of the IFASMFDP dump is day based, so such
+ * extractions would dump the same SMF data. The first build to request an extraction (the leader) runs it; builds requesting
+ * the same extraction while it runs (the followers) wait for it and receive a copy of its output files instead of submitting
+ * another job.
+ * <p>
+ * The output files are copied to the controller only when a follower is waiting or completed extractions are kept; with a
+ * time to live greater than zero a completed extraction is also handed to builds requesting it later. If the leader fails,
+ * its followers request the extraction again and one of them becomes the new leader.
+ */
+public final class ExtractionCoalescer {
+	private static final Logger logger = Logger.getLogger("hudson.ExtractionCoalescer"); //$NON-NLS-1$
+
+	private static final ExtractionCoalescer INSTANCE = new ExtractionCoalescer(null);
+
+	private final Map<String, Flight> flights = new HashMap<>();
+	private final Map<String, Extraction> completed = new HashMap<>();
+	private File root;
+	private boolean purgedStale;
+
+	private long coalesced;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param root
+	 *            the directory holding the copies of the output files; null for the directory in the Jenkins home directory
+	 */
+	ExtractionCoalescer(File root) {
+		this.root = root;
+	}
+
+	/**
+	 * Returns the controller wide coalescer.
+	 *
+	 * @return the coalescer instance
+	 */
+	public static ExtractionCoalescer get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the configured time completed extractions are kept.
+	 *
+	 * @return the time to live in milliseconds, 0 if completed extractions are not kept
+	 */
+	static long getTtlMillis() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		String minutes = zAdviserGlobalConfiguration.getExtractionCacheMinutes();
+		int ttl = NumberUtils.toInt(StringUtils.trim(minutes), ZAdviserUtilitiesConstants.DEFAULT_EXTRACTION_CACHE_MINUTES);
+		return TimeUnit.MINUTES.toMillis(Math.max(ttl, 0));
+	}
+
+	/**
+	 * Returns the key of an extraction.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param credentialsId
+	 *            the login credentials identifier
+	 * @param customerId
+	 *            the customer ID; can be null
+	 * @param jcl
+	 *            the extraction JCL
+	 * @param initialDateRange
+	 *            the initial date range; can be null
+	 * @param options
+	 *            the output options of the build step, for example whether the data is encrypted or uploaded
+	 * @param day
+	 *            the day the extraction runs on
+	 *
+	 * @return the extraction key
+	 */
+	public static String keyOf(String connectionId, String credentialsId, String customerId, String jcl,
+			String initialDateRange, String options, LocalDate day) {
+		StringBuilder builder = new StringBuilder();
+		for (String part : new String[] { connectionId, credentialsId, customerId, StringUtils.trim(initialDateRange), options,
+				day.toString(), jcl }) {
+			builder.append(StringUtils.defaultString(part)).append('\n');
+		}
+
+		return Util.getDigestOf(builder.toString());
+	}
+
+	/**
+	 * Request an extraction.
+	 * <p>
+	 * The returned lease must be closed once the caller is done with it.
+	 *
+	 * @param key
+	 *            the extraction key
+	 * @param owner
+	 *            the build requesting the extraction
+	 * @param ttlMillis
+	 *            the time a completed extraction is kept, 0 to not keep it
+	 *
+	 * @return a leader lease if the caller has to run the extraction, otherwise a follower lease
+	 */
+	public synchronized Lease join(String key, String owner, long ttlMillis) {
+		purge(System.currentTimeMillis());
+
+		Extraction extraction = completed.get(key);
+		if (extraction != null) {
+			extraction.readers++;
+			coalesced++;
+			return new Lease(key, null, CompletableFuture.completedFuture(extraction), extraction.owner);
+		}
+
+		Flight flight = flights.get(key);
+		if (flight != null) {
+			flight.followers++;
+			coalesced++;
+			return new Lease(key, null, flight.result, flight.owner);
+		}
+
+		flight = new Flight(owner, new File(getRoot(), key + '-' + UUID.randomUUID().toString()), ttlMillis);
+		flights.put(key, flight);
+		return new Lease(key, flight, flight.result, owner);
+	}
+
+	/**
+	 * Returns the number of extractions that were handed to a follower instead of being run again.
+	 *
+	 * @return the number of coalesced extractions
+	 */
+	public synchronized long getCoalesced() {
+		return coalesced;
+	}
+
+	/**
+	 * Returns the number of extractions currently running.
+	 *
+	 * @return the number of running extractions
+	 */
+	public synchronized int getRunning() {
+		return flights.size();
+	}
+
+	/**
+	 * Returns the number of completed extractions currently kept.
+	 *
+	 * @return the number of kept extractions
+	 */
+	public synchronized int getKept() {
+		purge(System.currentTimeMillis());
+		return completed.size();
+	}
+
+	/**
+	 * Returns the directory holding the copies of the output files.
+	 * <p>
+	 * Copies left behind by an earlier controller session are deleted on first use.
+	 *
+	 * @return the directory
+	 */
+	private File getRoot() {
+		if (root == null) {
+			root = new File(Jenkins.get().getRootDir(), ZAdviserUtilitiesConstants.ZADVISER_EXTRACTION_CACHE_DIR);
+		}
+
+		if (!purgedStale) {
+			purgedStale = true;
+			delete(root);
+		}
+
+		return root;
+	}
+
+	/**
+	 * Drop the completed extractions whose time to live has passed.
+	 *
+	 * @param now
+	 *            the current time in milliseconds
+	 */
+	private void purge(long now) {
+		for (Iterator<Extraction> iterator = completed.values().iterator(); iterator.hasNext();) {
+			Extraction extraction = iterator.next();
+			if (now - extraction.completedMillis >= extraction.ttlMillis) {
+				iterator.remove();
+				extraction.kept = false;
+				if (extraction.readers == 0) {
+					delete(extraction.directory);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Delete a directory, logging failures.
+	 *
+	 * @param directory
+	 *            the directory to delete
+	 */
+	private static void delete(File directory) {
+		try {
+			Util.deleteRecursive(directory);
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Unable to delete the zAdviser extraction copies in " + directory, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * The result of an extraction: the directory holding the copies of its output files.
+	 */
+	public static final class Extraction {
+		private final String owner;
+		private final File directory;
+		private final long completedMillis;
+		private final long ttlMillis;
+		private int readers;
+		private boolean kept;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param owner
+		 *            the build that ran the extraction
+		 * @param directory
+		 *            the directory holding the copies of the output files
+		 * @param completedMillis
+		 *            the time the extraction completed
+		 * @param ttlMillis
+		 *            the time the extraction is kept
+		 */
+		private Extraction(String owner, File directory, long completedMillis, long ttlMillis) {
+			this.owner = owner;
+			this.directory = directory;
+			this.completedMillis = completedMillis;
+			this.ttlMillis = ttlMillis;
+		}
+
+		/**
+		 * Returns the build that ran the extraction.
+		 *
+		 * @return the build identifier
+		 */
+		public String getOwner() {
+			return owner;
+		}
+
+		/**
+		 * Returns the copy of an output file.
+		 *
+		 * @param name
+		 *            the name of the output file, see {@link Lease#getFile(String)}
+		 *
+		 * @return the copy; does not exist if the extraction did not produce the file
+		 */
+		public File getFile(String name) {
+			return new File(directory, name);
+		}
+	}
+
+	/**
+	 * A running extraction.
+	 */
+	private static final class Flight {
+		private final String owner;
+		private final File directory;
+		private final long ttlMillis;
+		private final CompletableFuture<Extraction> result = new CompletableFuture<>();
+		private int followers;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param owner
+		 *            the build running the extraction
+		 * @param directory
+		 *            the directory for the copies of the output files
+		 * @param ttlMillis
+		 *            the time the extraction is kept once completed
+		 */
+		private Flight(String owner, File directory, long ttlMillis) {
+			this.owner = owner;
+			this.directory = directory;
+			this.ttlMillis = ttlMillis;
+		}
+	}
+
+	/**
+	 * The part a build plays in an extraction: the leader runs it, followers wait for its output.
+	 */
+	public final class Lease implements AutoCloseable {
+		private final String key;
+		private final Flight flight;
+		private final CompletableFuture<Extraction> result;
+		private final String owner;
+		private boolean closed;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param key
+		 *            the extraction key
+		 * @param flight
+		 *            the running extraction if this is the leader lease, otherwise null
+		 * @param result
+		 *            the result of the extraction
+		 * @param owner
+		 *            the build running the extraction
+		 */
+		private Lease(String key, Flight flight, CompletableFuture<Extraction> result, String owner) {
+			this.key = key;
+			this.flight = flight;
+			this.result = result;
+			this.owner = owner;
+		}
+
+		/**
+		 * Returns whether the caller has to run the extraction.
+		 *
+		 * @return TRUE for the leader
+		 */
+		public boolean isLeader() {
+			return flight != null;
+		}
+
+		/**
+		 * Returns the build running (or having run) the extraction.
+		 *
+		 * @return the build identifier
+		 */
+		public String getOwner() {
+			return owner;
+		}
+
+		/**
+		 * Returns whether the leader has to copy the output files: a follower is waiting or completed extractions are kept.
+		 *
+		 * @return TRUE if the output files are wanted
+		 */
+		public boolean isWanted() {
+			synchronized (ExtractionCoalescer.this) {
+				return flight != null && (flight.followers > 0 || flight.ttlMillis > 0);
+			}
+		}
+
+		/**
+		 * Returns the location the leader copies an output file to.
+		 *
+		 * @param name
+		 *            the name of the output file
+		 *
+		 * @return the location of the copy
+		 */
+		public File getFile(String name) {
+			return new File(flight.directory, name);
+		}
+
+		/**
+		 * Completes the extraction; called by the leader once the output files are copied.
+		 * <p>
+		 * Waiting followers receive the copies; without copies (the extraction failed or nobody wanted them) they request the
+		 * extraction again.
+		 *
+		 * @param copied
+		 *            TRUE if the output files were copied to {@link #getFile(String)}
+		 */
+		public void complete(boolean copied) {
+			synchronized (ExtractionCoalescer.this) {
+				if (flight == null || result.isDone()) {
+					return;
+				}
+
+				flights.remove(key);
+				if (!copied) {
+					delete(flight.directory);
+					result.complete(null);
+					return;
+				}
+
+				Extraction extraction = new Extraction(owner, flight.directory, System.currentTimeMillis(), flight.ttlMillis);
+				extraction.readers = flight.followers;
+				if (flight.ttlMillis > 0) {
+					extraction.kept = true;
+					completed.put(key, extraction);
+				} else if (extraction.readers == 0) {
+					delete(flight.directory);
+				}
+
+				result.complete(extraction);
+			}
+		}
+
+		/**
+		 * Wait for the leader to complete the extraction.
+		 *
+		 * @return the extraction, or null if the leader did not provide its output; request the extraction again in that case
+		 *
+		 * @throws InterruptedException
+		 *             if the build is aborted while waiting
+		 */
+		public Extraction await() throws InterruptedException {
+			try {
+				return result.get();
+			} catch (ExecutionException e) {
+				return null;
+			}
+		}
+
+		/**
+		 * Release the lease.
+		 * <p>
+		 * A leader that did not complete the extraction fails it; a follower is done reading the copies.
+		 */
+		@Override
+		public void close() {
+			synchronized (ExtractionCoalescer.this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+
+				if (flight != null) {
+					complete(false);
+				} else if (result.isDone()) {
+					Extraction extraction = result.getNow(null);
+					if (extraction != null && --extraction.readers == 0 && !extraction.kept) {
+						delete(extraction.directory);
+					}
+				} else {
+					Flight running = flights.get(key);
+					if (running != null && running.result == result) {
+						running.followers--;
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+
+import hudson.Extension;
+import jenkins.metrics.api.MetricProvider;
+
+/**
+ * Publishes the state of the {@link ExtractionScheduler}, the {@link ExtractionCoalescer}, the {@link UploadPacer}, the {@link CliWorkspaceReaper} and the caches through the Metrics plugin, when it is installed.
+ */
+@Extension(optional = true)
+public class ExtractionMetricProvider extends MetricProvider {
+	private final MetricSet metricSet = new MetricSet() {
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see com.codahale.metrics.MetricSet#getMetrics()
+		 */
+		@Override
+		public Map<String, Metric> getMetrics() {
+			ExtractionScheduler scheduler = ExtractionScheduler.get();
+			Map<String, Metric> metrics = new HashMap<>();
+			metrics.put("zadviser.extractions.running", (Gauge<Integer>) scheduler::getRunningTotal); //$NON-NLS-1$
+			metrics.put("zadviser.extractions.queued", (Gauge<Integer>) scheduler::getQueuedTotal); //$NON-NLS-1$
+			metrics.put("zadviser.extractions.started", (Gauge<Long>) scheduler::getWaits); //$NON-NLS-1$
+			metrics.put("zadviser.extractions.waitMillis", (Gauge<Long>) scheduler::getTotalWaitMillis); //$NON-NLS-1$
+
+			ExtractionCoalescer coalescer = ExtractionCoalescer.get();
+			metrics.put("zadviser.extractions.coalesced", (Gauge<Long>) coalescer::getCoalesced); //$NON-NLS-1$
+			metrics.put("zadviser.extractions.kept", (Gauge<Integer>) coalescer::getKept); //$NON-NLS-1$
+
+			UploadPacer pacer = UploadPacer.get();
+			metrics.put("zadviser.uploads.bytes", (Gauge<Long>) pacer::getUploadedBytes); //$NON-NLS-1$
+			metrics.put("zadviser.uploads.bytesPerSecond", (Gauge<Long>) pacer::getBytesPerSecond); //$NON-NLS-1$
+			metrics.put("zadviser.uploads.lastBytesPerSecond", (Gauge<Long>) pacer::getLastBytesPerSecond); //$NON-NLS-1$
+			metrics.put("zadviser.uploads.outbox.pending", (Gauge<Integer>) UploadOutbox.get()::getPending); //$NON-NLS-1$
+
+			CliWorkspaceReaper reaper = CliWorkspaceReaper.get();
+			metrics.put("zadviser.workspaces.deleted", (Gauge<Long>) reaper::getDeleted); //$NON-NLS-1$
+			metrics.put("zadviser.workspaces.reclaimedBytes", (Gauge<Long>) reaper::getReclaimedBytes); //$NON-NLS-1$
+
+			AgentFactsCache agentFactsCache = AgentFactsCache.get();
+			metrics.put("zadviser.agentfacts.hits", (Gauge<Long>) agentFactsCache::getHits); //$NON-NLS-1$
+			metrics.put("zadviser.agentfacts.misses", (Gauge<Long>) agentFactsCache::getMisses); //$NON-NLS-1$
+
+			ListBoxModelCache listBoxModelCache = ListBoxModelCache.get();
+			metrics.put("zadviser.listboxes.hits", (Gauge<Long>) listBoxModelCache::getHits); //$NON-NLS-1$
+			metrics.put("zadviser.listboxes.misses", (Gauge<Long>) listBoxModelCache::getMisses); //$NON-NLS-1$
+			return metrics;
+		}
+	};
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.metrics.api.MetricProvider#getMetricSet()
+	 */
+	@Override
+	public MetricSet getMetricSet() {
+		return metricSet;
+	}
+}
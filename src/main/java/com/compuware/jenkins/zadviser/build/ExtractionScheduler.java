@@ -0,0 +1,474 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.configuration.HostConnection;
+import com.compuware.jenkins.zadviser.Messages;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.Extension;
+import hudson.model.Project;
+import hudson.model.Queue;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.model.queue.QueueListener;
+import hudson.model.queue.QueueTaskDispatcher;
+import hudson.tasks.Builder;
+
+/**
+ * Limits the number of zAdviser extractions running at the same time against a mainframe host.
+ * <p>
+ * Every extraction submits an IFASMFDP job; the limit keeps concurrent builds from flooding the JES initiators of a host.
+ * Host connections are grouped by host name, so connections that differ only in port, code page or protocol share the
+ * limit. Extractions beyond the limit wait in arrival order (FIFO). Without a configured limit, extractions never wait.
+ * <p>
+ * Freestyle builds are kept in the Jenkins queue while their host is at the limit, so they do not hold an executor. A
+ * freestyle build leaving the queue reserves a slot until its download step starts; the reservation counts against the limit
+ * for the Jenkins queue and for builds waiting inside a build step alike. Pipeline builds cannot be inspected while queued:
+ * their download step waits for a slot inside the <code>node</code> block, holding an executor while it waits.
+ */
+public final class ExtractionScheduler {
+	private static final ExtractionScheduler INSTANCE = new ExtractionScheduler();
+
+	private static final int MAX_QUEUE_WAITS = 1000;
+
+	private final Map<String, HostState> hosts = new HashMap<>();
+	private final Map<Long, Long> blockedSince = new ConcurrentHashMap<>();
+	private final Map<Long, String> reservations = new ConcurrentHashMap<>();
+	@SuppressWarnings("serial")
+	private final Map<Long, Long> queueWaits = Collections.synchronizedMap(new LinkedHashMap<Long, Long>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+			// builds that never reach the download step must not leak entries
+			return size() > MAX_QUEUE_WAITS;
+		}
+	});
+
+	private long waits;
+	private long totalWaitMillis;
+
+	/**
+	 * Returns the controller wide scheduler.
+	 *
+	 * @return the scheduler instance
+	 */
+	public static ExtractionScheduler get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the configured limit of concurrent extractions per host.
+	 *
+	 * @return the limit, or 0 if the number of concurrent extractions is not limited
+	 */
+	static int getLimit() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		String limit = zAdviserGlobalConfiguration.getMaxConcurrentExtractions();
+		return Math.max(NumberUtils.toInt(StringUtils.trim(limit), ZAdviserUtilitiesConstants.DEFAULT_MAX_CONCURRENT_EXTRACTIONS),
+				0);
+	}
+
+	/**
+	 * Returns the host an extraction with the given host connection runs against.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the host name, or the connection identifier if the connection is unknown
+	 */
+	static String hostOf(String connectionId) {
+		HostConnection connection = CpwrGlobalConfiguration.get().getHostConnection(connectionId);
+		return connection != null ? StringUtils.lowerCase(connection.getHost()) : connectionId;
+	}
+
+	/**
+	 * Wait for an extraction slot on a host, in arrival order.
+	 * <p>
+	 * Slots reserved by other builds that left the Jenkins queue count as taken.
+	 *
+	 * @param host
+	 *            the host
+	 * @param limit
+	 *            the number of extractions allowed to run on the host at the same time, 0 for no limit
+	 * @param queueId
+	 *            the Jenkins queue item identifier of the build, used to report the time spent blocked in the queue
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws InterruptedException
+	 *             if the build is aborted while waiting
+	 */
+	public void acquire(String host, int limit, long queueId, PrintStream logger) throws InterruptedException {
+		Long queueWait = queueWaits.remove(queueId);
+		if (queueWait != null) {
+			logger.println("Waited " + ZAdviserTimingAction.formatSeconds(queueWait) //$NON-NLS-1$
+					+ " in the Jenkins queue for a zAdviser extraction slot on host " + host); //$NON-NLS-1$
+		}
+
+		long start = System.nanoTime();
+		Object ticket = new Object();
+		int queued;
+		synchronized (this) {
+			if (reservations.remove(queueId) != null) {
+				// builds waiting behind the reservation may start now
+				notifyAll();
+			}
+
+			HostState state = hosts.computeIfAbsent(host, k -> new HostState());
+			if (limit <= 0) {
+				// not limited; count the extraction for the metrics only
+				state.running++;
+				return;
+			}
+
+			queued = state.queue.size();
+			state.queue.addLast(ticket);
+			int reserved = getReserved(host);
+			if (queued > 0 || state.running + reserved >= limit) {
+				logger.println("Waiting for a zAdviser extraction slot on host " + host + ": " + state.running //$NON-NLS-1$ //$NON-NLS-2$
+						+ " running, " + reserved + " reserved, " + queued + " queued ahead, limit " + limit); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+
+			try {
+				while (state.queue.peekFirst() != ticket || state.running + getReserved(host) >= limit) {
+					wait();
+				}
+			} catch (InterruptedException e) {
+				state.queue.remove(ticket);
+				notifyAll();
+				throw e;
+			}
+
+			state.queue.removeFirst();
+			state.running++;
+
+			long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			waits++;
+			totalWaitMillis += waitedMillis;
+			logger.println("zAdviser extraction slot on host " + host + " acquired after " //$NON-NLS-1$ //$NON-NLS-2$
+					+ ZAdviserTimingAction.formatSeconds(waitedMillis) + " (queue depth " + queued + ", " + state.running //$NON-NLS-1$ //$NON-NLS-2$
+					+ " of " + limit + " slots in use)"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Free the extraction slot held on a host.
+	 *
+	 * @param host
+	 *            the host
+	 */
+	public synchronized void release(String host) {
+		HostState state = hosts.get(host);
+		if (state != null && state.running > 0) {
+			state.running--;
+			if (state.running == 0 && state.queue.isEmpty()) {
+				hosts.remove(host);
+			}
+
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Reserve a slot on a host for a build that left the Jenkins queue, until it reaches its download step.
+	 *
+	 * @param queueId
+	 *            the Jenkins queue item identifier of the build
+	 * @param host
+	 *            the host
+	 */
+	void reserve(long queueId, String host) {
+		reservations.put(queueId, host);
+	}
+
+	/**
+	 * Drop the reservation of a build, if it still holds one.
+	 *
+	 * @param queueId
+	 *            the Jenkins queue item identifier of the build
+	 */
+	synchronized void unreserve(long queueId) {
+		if (reservations.remove(queueId) != null) {
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Returns the number of slots reserved on a host by builds that did not reach their download step yet.
+	 *
+	 * @param host
+	 *            the host
+	 *
+	 * @return the number of reserved slots
+	 */
+	private int getReserved(String host) {
+		int reserved = 0;
+		for (String reservedHost : reservations.values()) {
+			if (reservedHost.equals(host)) {
+				reserved++;
+			}
+		}
+
+		return reserved;
+	}
+
+	/**
+	 * Returns whether an extraction could start on a host right away.
+	 * <p>
+	 * Builds that left the queue for the host but did not reach their download step yet count as running.
+	 *
+	 * @param host
+	 *            the host
+	 * @param limit
+	 *            the number of extractions allowed to run on the host at the same time, 0 for no limit
+	 *
+	 * @return true if a slot is free and nobody is waiting for it
+	 */
+	synchronized boolean hasCapacity(String host, int limit) {
+		if (limit <= 0) {
+			return true;
+		}
+
+		int reserved = getReserved(host);
+		HostState state = hosts.get(host);
+		return state == null ? reserved < limit : state.running + reserved < limit && state.queue.isEmpty();
+	}
+
+	/**
+	 * Returns the host of the first zAdviser download step of a freestyle project.
+	 *
+	 * @param task
+	 *            the queued task
+	 *
+	 * @return the host, or null if the task has no zAdviser download step
+	 */
+	private static String downloadHostOf(Queue.Task task) {
+		if (task instanceof Project) {
+			for (Builder builder : ((Project<?, ?>) task).getBuildersList()) {
+				if (builder instanceof ZAdviserDownloadData) {
+					return hostOf(((ZAdviserDownloadData) builder).getConnectionId());
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the number of extractions running on a host.
+	 *
+	 * @param host
+	 *            the host
+	 *
+	 * @return the number of running extractions
+	 */
+	synchronized int getRunning(String host) {
+		HostState state = hosts.get(host);
+		return state != null ? state.running : 0;
+	}
+
+	/**
+	 * Returns the number of builds waiting in a build step for an extraction slot on a host.
+	 *
+	 * @param host
+	 *            the host
+	 *
+	 * @return the number of waiting builds
+	 */
+	synchronized int getQueued(String host) {
+		HostState state = hosts.get(host);
+		return state != null ? state.queue.size() : 0;
+	}
+
+	/**
+	 * Returns the number of extractions running on all hosts.
+	 *
+	 * @return the number of running extractions
+	 */
+	public synchronized int getRunningTotal() {
+		int running = 0;
+		for (HostState state : hosts.values()) {
+			running += state.running;
+		}
+
+		return running;
+	}
+
+	/**
+	 * Returns the number of builds waiting for an extraction slot, blocked in the Jenkins queue or in a build step.
+	 *
+	 * @return the queue depth
+	 */
+	public synchronized int getQueuedTotal() {
+		int queued = blockedSince.size();
+		for (HostState state : hosts.values()) {
+			queued += state.queue.size();
+		}
+
+		return queued;
+	}
+
+	/**
+	 * Returns the number of extraction slots acquired so far.
+	 *
+	 * @return the number of acquired slots
+	 */
+	public synchronized long getWaits() {
+		return waits;
+	}
+
+	/**
+	 * Returns the time spent waiting for extraction slots inside build steps so far.
+	 *
+	 * @return the total wait in milliseconds
+	 */
+	public synchronized long getTotalWaitMillis() {
+		return totalWaitMillis;
+	}
+
+	/**
+	 * The extractions running on and waiting for a host.
+	 */
+	private static class HostState {
+		private final Deque<Object> queue = new ArrayDeque<>();
+		private int running;
+	}
+
+	/**
+	 * Keeps freestyle builds with a zAdviser download step in the queue while the host of their connection is at the limit.
+	 */
+	@Extension
+	public static class Dispatcher extends QueueTaskDispatcher {
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.queue.QueueTaskDispatcher#canRun(hudson.model.Queue.Item)
+		 */
+		@Override
+		public CauseOfBlockage canRun(Queue.Item item) {
+			String host = downloadHostOf(item.task);
+			if (host == null) {
+				return null;
+			}
+
+			ExtractionScheduler scheduler = ExtractionScheduler.get();
+			int limit = getLimit();
+			if (limit > 0 && !scheduler.hasCapacity(host, limit)) {
+				scheduler.blockedSince.putIfAbsent(item.getId(), System.currentTimeMillis());
+				return new ExtractionSlotBlockage(host, scheduler.getRunning(host), limit);
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * Reserves a slot for builds leaving the queue and remembers how long they were blocked, for the build log.
+	 */
+	@Extension
+	public static class Listener extends QueueListener {
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.queue.QueueListener#onLeft(hudson.model.Queue.LeftItem)
+		 */
+		@Override
+		public void onLeft(Queue.LeftItem li) {
+			ExtractionScheduler scheduler = ExtractionScheduler.get();
+			Long blocked = scheduler.blockedSince.remove(li.getId());
+			if (li.isCancelled()) {
+				return;
+			}
+
+			if (blocked != null) {
+				scheduler.queueWaits.put(li.getId(), System.currentTimeMillis() - blocked);
+			}
+
+			String host = downloadHostOf(li.task);
+			if (host != null && getLimit() > 0) {
+				scheduler.reserve(li.getId(), host);
+			}
+		}
+	}
+
+	/**
+	 * Drops the reservation of builds that ended without reaching their download step.
+	 */
+	@Extension
+	public static class BuildListener extends RunListener<Run<?, ?>> {
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.listeners.RunListener#onFinalized(hudson.model.Run)
+		 */
+		@Override
+		public void onFinalized(Run<?, ?> r) {
+			ExtractionScheduler.get().unreserve(r.getQueueId());
+		}
+	}
+
+	/**
+	 * Why a build is kept in the queue.
+	 */
+	public static class ExtractionSlotBlockage extends CauseOfBlockage {
+		private final String host;
+		private final int running;
+		private final int limit;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param host
+		 *            the host at the limit
+		 * @param running
+		 *            the number of extractions running on the host
+		 * @param limit
+		 *            the limit
+		 */
+		public ExtractionSlotBlockage(String host, int running, int limit) {
+			this.host = host;
+			this.running = running;
+			this.limit = limit;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.queue.CauseOfBlockage#getShortDescription()
+		 */
+		@Override
+		public String getShortDescription() {
+			return Messages.extractionSlotBlockage(host, running, limit);
+		}
+	}
+}
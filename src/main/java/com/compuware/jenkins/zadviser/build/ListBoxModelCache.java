@@ -0,0 +1,260 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import com.cloudbees.plugins.credentials.domains.DomainRequirement;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.configuration.HostConnection;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+import hudson.util.ListBoxModel;
+import hudson.util.ListBoxModel.Option;
+
+/**
+ * Controller side cache of the choices of the host connection and login credentials selection boxes of the zAdviser build
+ * steps.
+ * <p>
+ * The choices are indexed by their value, so building a selection box for a selected host connection or login credentials
+ * does not compare every choice. The host connections are dropped when the Compuware global configuration is saved; the
+ * login credentials of all items are dropped when system, folder or user credentials are saved. Credentials providers that
+ * do not save through Jenkins are picked up once the cached choices expire.
+ */
+public final class ListBoxModelCache {
+	private static final ListBoxModelCache INSTANCE = new ListBoxModelCache();
+
+	static final long EXPIRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+	private static final int MAX_CREDENTIALS_CONTEXTS = 100;
+
+	private volatile Choices connections;
+	@SuppressWarnings("serial")
+	private final Map<String, Choices> credentials = Collections.synchronizedMap(new LinkedHashMap<String, Choices>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Choices> eldest) {
+			// every item may have its own credentials context; keep the ones used most recently
+			return size() > MAX_CREDENTIALS_CONTEXTS;
+		}
+	});
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Returns the controller wide cache.
+	 *
+	 * @return the cache instance
+	 */
+	public static ListBoxModelCache get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the host connection selection box.
+	 *
+	 * @param connectionId
+	 *            the selected host connection identifier; can be null
+	 *
+	 * @return host connection selections
+	 */
+	public ListBoxModel getConnectionIdItems(String connectionId) {
+		Choices choices = connections;
+		if (choices == null || choices.isExpired(System.currentTimeMillis())) {
+			misses.incrementAndGet();
+			List<String[]> entries = new ArrayList<>();
+			for (HostConnection connection : CpwrGlobalConfiguration.get().getHostConnections()) {
+				entries.add(new String[] { connection.getDescription() + " [" + connection.getHostPort() + ']', //$NON-NLS-1$
+						connection.getConnectionId() });
+			}
+
+			choices = new Choices(entries, System.currentTimeMillis());
+			connections = choices;
+		} else {
+			hits.incrementAndGet();
+		}
+
+		return choices.toModel(connectionId);
+	}
+
+	/**
+	 * Returns the login credentials selection box of an item.
+	 *
+	 * @param credentialsId
+	 *            the selected login credentials; can be null
+	 * @param project
+	 *            the item the credentials are used by; can be null
+	 *
+	 * @return login credentials selection
+	 */
+	public ListBoxModel getCredentialsIdItems(String credentialsId, Item project) {
+		String context = project != null ? project.getFullName() : StringUtils.EMPTY;
+		Choices choices = credentials.get(context);
+		if (choices == null || choices.isExpired(System.currentTimeMillis())) {
+			misses.incrementAndGet();
+			List<StandardUsernamePasswordCredentials> creds = CredentialsProvider.lookupCredentials(
+					StandardUsernamePasswordCredentials.class, project, ACL.SYSTEM, Collections.<DomainRequirement>emptyList());
+
+			List<String[]> entries = new ArrayList<>();
+			for (StandardUsernamePasswordCredentials c : creds) {
+				String description = Util.fixEmptyAndTrim(c.getDescription());
+				entries.add(new String[] { c.getUsername() + (description != null ? " (" + description + ')' : StringUtils.EMPTY), //$NON-NLS-1$
+						c.getId() });
+			}
+
+			choices = new Choices(entries, System.currentTimeMillis());
+			credentials.put(context, choices);
+		} else {
+			hits.incrementAndGet();
+		}
+
+		return choices.toModel(credentialsId);
+	}
+
+	/**
+	 * Drop the cached host connections.
+	 */
+	public void invalidateConnections() {
+		connections = null;
+	}
+
+	/**
+	 * Drop the cached login credentials of all items.
+	 */
+	public void invalidateCredentials() {
+		credentials.clear();
+	}
+
+	/**
+	 * Returns the number of selection boxes built from cached choices.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of selection boxes that had to look up their choices.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * The choices of a selection box, indexed by value.
+	 */
+	static class Choices {
+		private final String[] names;
+		private final String[] values;
+		private final Map<String, Integer> index;
+		private final long created;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param entries
+		 *            the display name and value of each choice, in display order
+		 * @param created
+		 *            the time the choices were looked up
+		 */
+		Choices(List<String[]> entries, long created) {
+			names = new String[entries.size()];
+			values = new String[entries.size()];
+			index = new HashMap<>();
+			for (int i = 0; i < entries.size(); i++) {
+				names[i] = entries.get(i)[0];
+				values[i] = entries.get(i)[1];
+				index.putIfAbsent(values[i], i);
+			}
+
+			this.created = created;
+		}
+
+		/**
+		 * Returns whether the choices must be looked up again.
+		 *
+		 * @param now
+		 *            the current time
+		 *
+		 * @return true if the choices are older than {@link ListBoxModelCache#EXPIRY_MILLIS}
+		 */
+		boolean isExpired(long now) {
+			return now - created >= EXPIRY_MILLIS;
+		}
+
+		/**
+		 * Build a selection box of the choices, preceded by an empty choice.
+		 *
+		 * @param selected
+		 *            the value of the selected choice; can be null
+		 *
+		 * @return a new selection box, so callers may change it
+		 */
+		ListBoxModel toModel(String selected) {
+			Integer selectedIndex = selected != null ? index.get(selected) : null;
+			ListBoxModel model = new ListBoxModel(names.length + 1);
+			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
+			for (int i = 0; i < names.length; i++) {
+				model.add(new Option(names[i], values[i], selectedIndex != null && selectedIndex == i));
+			}
+
+			return model;
+		}
+	}
+
+	/**
+	 * Drops the cached choices when the configuration they were looked up from is saved.
+	 */
+	@Extension
+	public static class Invalidator extends SaveableListener {
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.listeners.SaveableListener#onChange(hudson.model.Saveable, hudson.XmlFile)
+		 */
+		@Override
+		public void onChange(Saveable o, XmlFile file) {
+			if (o instanceof CpwrGlobalConfiguration) {
+				get().invalidateConnections();
+			} else if (o instanceof SystemCredentialsProvider || o instanceof AbstractFolder || o instanceof User) {
+				get().invalidateCredentials();
+			}
+		}
+	}
+}
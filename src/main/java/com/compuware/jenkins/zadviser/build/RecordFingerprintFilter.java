@@ -0,0 +1,726 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Persistent set of 128-bit record fingerprints used to suppress records that were already collected by an earlier run.
+ * <p>
+ * The fingerprints are kept in age-bucketed segments. Each segment covers a quarter of the retention period and consists of a
+ * Bloom filter and an exact, sorted fingerprint file. New fingerprints are added to the newest segment; once its bucket has
+ * passed, the next run starts a new one. A segment is deleted once the retention period has passed for the last fingerprint it
+ * can hold, so fingerprints are forgotten a bucket at a time instead of all at once.
+ * <p>
+ * Membership is tested with the Bloom filters first. Only when a filter reports a possible match is the exact file of that
+ * segment searched, so a record is only dropped when its full 128-bit fingerprint was seen before. Fingerprints added during a
+ * run are sorted in bounded chunks and merged into the exact file on {@link #close()}. The Bloom filters are held in direct
+ * buffers, outside the Java heap; their size depends on the capacity, not on the number of records.
+ * <p>
+ * The files are read and written through channels that are closed on {@link #close()}, never memory-mapped, so they can be
+ * replaced and deleted afterwards on Windows agents as well.
+ * <p>
+ * A segment holding more fingerprints than its capacity stays correct; only the number of exact file searches grows.
+ */
+final class RecordFingerprintFilter implements Closeable {
+	/** Files of an earlier format, which kept all fingerprints in a single generation. */
+	static final String BLOOM_FILE = "duplicates.bloom"; //$NON-NLS-1$
+	static final String EXACT_FILE = "duplicates.fingerprints"; //$NON-NLS-1$
+
+	private static final String SEGMENT_PREFIX = "duplicates."; //$NON-NLS-1$
+	private static final String BLOOM_SUFFIX = ".bloom"; //$NON-NLS-1$
+	private static final String EXACT_SUFFIX = ".fingerprints"; //$NON-NLS-1$
+
+	/** Number of buckets the retention period is divided into. */
+	static final int SEGMENTS = 4;
+
+	private static final long MAGIC = 0x7A41647644757033L; // "zAdvDup3"
+	private static final int HEADER_SIZE = 40;
+	private static final int FINGERPRINT_SIZE = 16;
+	private static final double FALSE_POSITIVE_RATE = 0.001;
+	private static final int CHUNK_SIZE = 1 << 19;
+
+	private final File directory;
+	private final List<Segment> segments;
+	private final Segment current;
+
+	private final long[] chunk = new long[CHUNK_SIZE * 2];
+	private int chunkSize = 0;
+	private final List<File> spills = new ArrayList<>();
+
+	/**
+	 * Open the fingerprint filter stored in a directory, deleting expired segments and starting a new segment if needed.
+	 * <p>
+	 * Filter files of an earlier format are deleted.
+	 *
+	 * @param directory
+	 *            the directory holding the filter files
+	 * @param capacity
+	 *            the number of fingerprints the filter is sized for over the whole retention period
+	 * @param retentionMillis
+	 *            how long fingerprints are kept at least
+	 * @param now
+	 *            the current time
+	 *
+	 * @return the opened filter
+	 *
+	 * @throws IOException
+	 *             if the filter files could not be read or created
+	 */
+	static RecordFingerprintFilter open(File directory, long capacity, long retentionMillis, long now) throws IOException {
+		Files.deleteIfExists(new File(directory, BLOOM_FILE).toPath());
+		Files.deleteIfExists(new File(directory, EXACT_FILE).toPath());
+
+		long bucketMillis = Math.max((retentionMillis + SEGMENTS - 1) / SEGMENTS, 1);
+		List<Long> starts = new ArrayList<>();
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File bloomPath : files) {
+				String name = bloomPath.getName();
+				if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(BLOOM_SUFFIX) || !bloomPath.isFile()) {
+					continue;
+				}
+
+				long start = getStart(bloomPath);
+				if (start < 0 || start + bucketMillis + retentionMillis <= now) {
+					Files.delete(bloomPath.toPath());
+					Files.deleteIfExists(exactPath(directory, name).toPath());
+				} else {
+					starts.add(start);
+				}
+			}
+		}
+
+		Collections.sort(starts);
+		if (starts.isEmpty() || now >= starts.get(starts.size() - 1) + bucketMillis) {
+			create(new File(directory, SEGMENT_PREFIX + now + BLOOM_SUFFIX), Math.max(capacity / SEGMENTS, 1), now);
+			starts.add(now);
+		}
+
+		List<Segment> segments = new ArrayList<>();
+		try {
+			// newest first: a repeated record most likely comes from a recent run
+			for (int i = starts.size() - 1; i >= 0; i--) {
+				String name = SEGMENT_PREFIX + starts.get(i) + BLOOM_SUFFIX;
+				segments.add(new Segment(new File(directory, name), exactPath(directory, name)));
+			}
+		} catch (IOException | RuntimeException e) {
+			for (Segment segment : segments) {
+				segment.exactChannel.close();
+			}
+
+			throw e;
+		}
+
+		return new RecordFingerprintFilter(directory, segments);
+	}
+
+	/**
+	 * Returns the exact fingerprint file belonging to a Bloom filter file.
+	 *
+	 * @param directory
+	 *            the directory holding the filter files
+	 * @param bloomName
+	 *            the name of the Bloom filter file
+	 *
+	 * @return the exact fingerprint file
+	 */
+	private static File exactPath(File directory, String bloomName) {
+		return new File(directory, bloomName.substring(0, bloomName.length() - BLOOM_SUFFIX.length()) + EXACT_SUFFIX);
+	}
+
+	/**
+	 * Returns the start of the bucket covered by a segment.
+	 *
+	 * @param bloomPath
+	 *            the Bloom filter file of the segment
+	 *
+	 * @return the start of the bucket, or -1 if the file is not a segment of the current format
+	 *
+	 * @throws IOException
+	 *             if the filter header could not be read
+	 */
+	private static long getStart(File bloomPath) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(bloomPath)))) {
+			if (bloomPath.length() < HEADER_SIZE || in.readLong() != MAGIC) {
+				return -1;
+			}
+
+			return in.readLong();
+		}
+	}
+
+	/**
+	 * Create an empty Bloom filter file.
+	 *
+	 * @param bloomPath
+	 *            the Bloom filter file
+	 * @param capacity
+	 *            the number of fingerprints the filter is sized for
+	 * @param now
+	 *            the start of the bucket covered by the segment
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	private static void create(File bloomPath, long capacity, long now) throws IOException {
+		long n = Math.max(capacity, 1);
+		long bits = (long) Math.ceil(-n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+		bits = Math.min((bits + 63) & ~63L, (Integer.MAX_VALUE - 8 - HEADER_SIZE) * 8L & ~63L);
+		int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putLong(MAGIC);
+		header.putLong(now);
+		header.putLong(n);
+		header.putLong(bits);
+		header.putInt(hashes);
+		header.putInt(0);
+		header.flip();
+
+		try (FileChannel channel = FileChannel.open(bloomPath.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(channel, header, 0);
+			// the bits are all zero; extend the file without writing them
+			channel.write(ByteBuffer.allocate(1), HEADER_SIZE + bits / 8 - 1);
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory
+	 *            the directory holding the filter files
+	 * @param segments
+	 *            the live segments, newest first
+	 */
+	private RecordFingerprintFilter(File directory, List<Segment> segments) {
+		this.directory = directory;
+		this.segments = segments;
+		this.current = segments.get(0);
+	}
+
+	/**
+	 * Returns TRUE if the fingerprint was added by an earlier run.
+	 * <p>
+	 * Fingerprints added in the current run are only visible to the next run, so identical records within a single data file
+	 * are all kept.
+	 *
+	 * @param h1
+	 *            the first half of the fingerprint
+	 * @param h2
+	 *            the second half of the fingerprint
+	 *
+	 * @return TRUE if the fingerprint was seen before
+	 *
+	 * @throws IOException
+	 *             if an exact fingerprint file could not be read
+	 */
+	boolean wasSeen(long h1, long h2) throws IOException {
+		for (Segment segment : segments) {
+			if (segment.mightContain(h1, h2) && segment.binarySearch(h1, h2)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Add a fingerprint to the newest segment.
+	 *
+	 * @param h1
+	 *            the first half of the fingerprint
+	 * @param h2
+	 *            the second half of the fingerprint
+	 *
+	 * @throws IOException
+	 *             if a chunk of fingerprints could not be spilled to disk
+	 */
+	void add(long h1, long h2) throws IOException {
+		current.set(h1, h2);
+		chunk[chunkSize * 2] = h1;
+		chunk[chunkSize * 2 + 1] = h2;
+		if (++chunkSize == CHUNK_SIZE) {
+			spill();
+		}
+	}
+
+	/**
+	 * Returns the number of fingerprints in all live segments.
+	 *
+	 * @return the number of fingerprints
+	 */
+	long getCount() {
+		long count = 0;
+		for (Segment segment : segments) {
+			count += segment.count;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the number of fingerprints the live segments are sized for.
+	 *
+	 * @return the filter capacity
+	 */
+	long getCapacity() {
+		long capacity = 0;
+		for (Segment segment : segments) {
+			capacity += segment.capacity;
+		}
+
+		return capacity;
+	}
+
+	/**
+	 * Sort the buffered fingerprints and write them to a temporary file.
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	private void spill() throws IOException {
+		sort(chunk, chunkSize);
+		File spillFile = File.createTempFile("duplicates", ".spill", directory); //$NON-NLS-1$ //$NON-NLS-2$
+		spills.add(spillFile);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)))) {
+			for (int i = 0; i < chunkSize * 2; i++) {
+				out.writeLong(chunk[i]);
+			}
+		}
+
+		chunkSize = 0;
+	}
+
+	/**
+	 * Merge the fingerprints of this run into the exact file of the newest segment and persist its Bloom filter.
+	 * <p>
+	 * All files are closed before the exact file is replaced.
+	 *
+	 * @throws IOException
+	 *             if the filter files could not be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			try {
+				current.save();
+			} finally {
+				for (Segment segment : segments) {
+					segment.exactChannel.close();
+				}
+			}
+
+			if (chunkSize > 0) {
+				spill();
+			}
+
+			if (!spills.isEmpty()) {
+				merge();
+			}
+		} finally {
+			for (File spill : spills) {
+				Files.deleteIfExists(spill.toPath());
+			}
+		}
+	}
+
+	/**
+	 * Merge the exact file of the newest segment and all spilled chunks into a new exact file, dropping repeated fingerprints.
+	 *
+	 * @throws IOException
+	 *             if the files could not be read or written
+	 */
+	private void merge() throws IOException {
+		List<DataInputStream> inputs = new ArrayList<>();
+		File merged = File.createTempFile("duplicates", ".merge", directory); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			try {
+				inputs.add(new DataInputStream(new BufferedInputStream(new FileInputStream(current.exactPath))));
+				for (File spill : spills) {
+					inputs.add(new DataInputStream(new BufferedInputStream(new FileInputStream(spill))));
+				}
+
+				long[] heads = new long[inputs.size() * 2];
+				boolean[] live = new boolean[inputs.size()];
+				for (int i = 0; i < live.length; i++) {
+					live[i] = next(inputs.get(i), heads, i);
+				}
+
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(merged)))) {
+					boolean first = true;
+					long last1 = 0;
+					long last2 = 0;
+					while (true) {
+						int min = -1;
+						for (int i = 0; i < live.length; i++) {
+							if (live[i] && (min < 0 || compare(heads[i * 2], heads[i * 2 + 1], heads[min * 2], heads[min * 2 + 1]) < 0)) {
+								min = i;
+							}
+						}
+
+						if (min < 0) {
+							break;
+						}
+
+						if (first || compare(heads[min * 2], heads[min * 2 + 1], last1, last2) != 0) {
+							last1 = heads[min * 2];
+							last2 = heads[min * 2 + 1];
+							out.writeLong(last1);
+							out.writeLong(last2);
+							first = false;
+						}
+
+						live[min] = next(inputs.get(min), heads, min);
+					}
+				}
+			} finally {
+				for (DataInputStream input : inputs) {
+					input.close();
+				}
+			}
+
+			Files.move(merged.toPath(), current.exactPath.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(merged.toPath());
+		}
+	}
+
+	/**
+	 * Read the next fingerprint of a sorted input.
+	 *
+	 * @param input
+	 *            the sorted input
+	 * @param heads
+	 *            the current fingerprint of each input, two longs per input
+	 * @param index
+	 *            the index of the input
+	 *
+	 * @return TRUE if a fingerprint was read, FALSE at the end of the input
+	 *
+	 * @throws IOException
+	 *             if the input could not be read
+	 */
+	private static boolean next(DataInputStream input, long[] heads, int index) throws IOException {
+		try {
+			heads[index * 2] = input.readLong();
+			heads[index * 2 + 1] = input.readLong();
+			return true;
+		} catch (EOFException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Compare two fingerprints.
+	 *
+	 * @param a1
+	 *            the first half of the first fingerprint
+	 * @param a2
+	 *            the second half of the first fingerprint
+	 * @param b1
+	 *            the first half of the second fingerprint
+	 * @param b2
+	 *            the second half of the second fingerprint
+	 *
+	 * @return a negative number, zero or a positive number if the first fingerprint is less than, equal to or greater than the
+	 *         second
+	 */
+	static int compare(long a1, long a2, long b1, long b2) {
+		int compared = Long.compare(a1, b1);
+		return compared != 0 ? compared : Long.compare(a2, b2);
+	}
+
+	/**
+	 * Sort fingerprints stored as consecutive pairs of longs in place (heapsort, so no extra memory is needed).
+	 *
+	 * @param pairs
+	 *            the fingerprints, two longs each
+	 * @param size
+	 *            the number of fingerprints to sort
+	 */
+	static void sort(long[] pairs, int size) {
+		for (int i = size / 2 - 1; i >= 0; i--) {
+			siftDown(pairs, i, size);
+		}
+
+		for (int end = size - 1; end > 0; end--) {
+			swap(pairs, 0, end);
+			siftDown(pairs, 0, end);
+		}
+	}
+
+	/**
+	 * Move a fingerprint down the heap until both of its children are not greater.
+	 *
+	 * @param pairs
+	 *            the fingerprints, two longs each
+	 * @param root
+	 *            the index of the fingerprint to move
+	 * @param size
+	 *            the number of fingerprints in the heap
+	 */
+	private static void siftDown(long[] pairs, int root, int size) {
+		while (true) {
+			int child = root * 2 + 1;
+			if (child >= size) {
+				return;
+			}
+
+			if (child + 1 < size && compare(pairs[child * 2], pairs[child * 2 + 1], pairs[child * 2 + 2], pairs[child * 2 + 3]) < 0) {
+				child++;
+			}
+
+			if (compare(pairs[root * 2], pairs[root * 2 + 1], pairs[child * 2], pairs[child * 2 + 1]) >= 0) {
+				return;
+			}
+
+			swap(pairs, root, child);
+			root = child;
+		}
+	}
+
+	/**
+	 * Swap two fingerprints.
+	 *
+	 * @param pairs
+	 *            the fingerprints, two longs each
+	 * @param i
+	 *            the index of the first fingerprint
+	 * @param j
+	 *            the index of the second fingerprint
+	 */
+	private static void swap(long[] pairs, int i, int j) {
+		long h1 = pairs[i * 2];
+		long h2 = pairs[i * 2 + 1];
+		pairs[i * 2] = pairs[j * 2];
+		pairs[i * 2 + 1] = pairs[j * 2 + 1];
+		pairs[j * 2] = h1;
+		pairs[j * 2 + 1] = h2;
+	}
+
+	/**
+	 * Fill a buffer from a file.
+	 *
+	 * @param channel
+	 *            the file
+	 * @param buffer
+	 *            the buffer to fill
+	 * @param position
+	 *            the file position to read from
+	 *
+	 * @throws IOException
+	 *             if the file could not be read or ends before the buffer is full
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		long offset = position;
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, offset);
+			if (read < 0) {
+				throw new EOFException();
+			}
+
+			offset += read;
+		}
+	}
+
+	/**
+	 * Write the remaining bytes of a buffer to a file.
+	 *
+	 * @param channel
+	 *            the file
+	 * @param buffer
+	 *            the buffer to write
+	 * @param position
+	 *            the file position to write to
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		long offset = position;
+		while (buffer.hasRemaining()) {
+			offset += channel.write(buffer, offset);
+		}
+	}
+
+	/**
+	 * The Bloom filter and exact fingerprint file of one bucket of the retention period.
+	 */
+	private static final class Segment {
+		private final File bloomPath;
+		private final File exactPath;
+		private final ByteBuffer bloom;
+		private final long numBits;
+		private final int numHashes;
+		private final long capacity;
+		private long count;
+		private boolean modified = false;
+
+		private final FileChannel exactChannel;
+		private final long exactCount;
+		private final ByteBuffer exactEntry = ByteBuffer.allocate(FINGERPRINT_SIZE);
+
+		/**
+		 * Constructor.
+		 *
+		 * @param bloomPath
+		 *            the Bloom filter file
+		 * @param exactPath
+		 *            the exact fingerprint file, created if missing
+		 *
+		 * @throws IOException
+		 *             if the files could not be read
+		 */
+		Segment(File bloomPath, File exactPath) throws IOException {
+			this.bloomPath = bloomPath;
+			this.exactPath = exactPath;
+
+			try (FileChannel bloomChannel = FileChannel.open(bloomPath.toPath(), StandardOpenOption.READ)) {
+				bloom = ByteBuffer.allocateDirect((int) bloomChannel.size());
+				readFully(bloomChannel, bloom, 0);
+			}
+
+			bloom.flip();
+			bloom.getLong(); // magic
+			bloom.getLong(); // start
+			capacity = bloom.getLong();
+			numBits = bloom.getLong();
+			numHashes = bloom.getInt();
+			count = bloom.getInt() & 0xFFFFFFFFL;
+
+			if (!exactPath.isFile()) {
+				Files.createFile(exactPath.toPath());
+			}
+
+			exactChannel = FileChannel.open(exactPath.toPath(), StandardOpenOption.READ);
+			exactCount = exactChannel.size() / FINGERPRINT_SIZE;
+		}
+
+		/**
+		 * Returns TRUE if the Bloom filter reports a possible match.
+		 *
+		 * @param h1
+		 *            the first half of the fingerprint
+		 * @param h2
+		 *            the second half of the fingerprint
+		 *
+		 * @return FALSE if the fingerprint is certainly not in this segment
+		 */
+		boolean mightContain(long h1, long h2) {
+			for (int i = 0; i < numHashes; i++) {
+				long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+				if ((bloom.get(HEADER_SIZE + (int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/**
+		 * Set the Bloom filter bits of a fingerprint.
+		 *
+		 * @param h1
+		 *            the first half of the fingerprint
+		 * @param h2
+		 *            the second half of the fingerprint
+		 */
+		void set(long h1, long h2) {
+			for (int i = 0; i < numHashes; i++) {
+				long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+				int index = HEADER_SIZE + (int) (bit >>> 3);
+				bloom.put(index, (byte) (bloom.get(index) | (1 << (bit & 7))));
+			}
+
+			modified = true;
+			count++;
+		}
+
+		/**
+		 * Search the exact fingerprint file.
+		 *
+		 * @param h1
+		 *            the first half of the fingerprint to look for
+		 * @param h2
+		 *            the second half of the fingerprint to look for
+		 *
+		 * @return TRUE if the fingerprint is in the exact file
+		 *
+		 * @throws IOException
+		 *             if the exact fingerprint file could not be read
+		 */
+		boolean binarySearch(long h1, long h2) throws IOException {
+			long low = 0;
+			long high = exactCount - 1;
+			while (low <= high) {
+				long mid = (low + high) >>> 1;
+				exactEntry.clear();
+				readFully(exactChannel, exactEntry, mid * FINGERPRINT_SIZE);
+				int compared = compare(exactEntry.getLong(0), exactEntry.getLong(8), h1, h2);
+				if (compared < 0) {
+					low = mid + 1;
+				} else if (compared > 0) {
+					high = mid - 1;
+				} else {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Write the Bloom filter back to its file if fingerprints were added.
+		 *
+		 * @throws IOException
+		 *             if the file could not be written
+		 */
+		void save() throws IOException {
+			if (!modified) {
+				return;
+			}
+
+			bloom.putInt(HEADER_SIZE - 4, (int) Math.min(count, 0xFFFFFFFFL));
+			ByteBuffer all = bloom.duplicate();
+			all.clear();
+			try (FileChannel bloomChannel = FileChannel.open(bloomPath.toPath(), StandardOpenOption.WRITE)) {
+				writeFully(bloomChannel, all, 0);
+				bloomChannel.force(false);
+			}
+		}
+	}
+}
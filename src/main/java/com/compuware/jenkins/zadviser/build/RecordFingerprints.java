@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+/**
+ * Computes 128 bit record fingerprints (MurmurHash3 x64 128) without allocating per record.
+ */
+final class RecordFingerprints {
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private long h1;
+	private long h2;
+
+	/**
+	 * Compute the fingerprint of a record.
+	 *
+	 * @param data
+	 *            the buffer holding the record
+	 * @param offset
+	 *            the offset of the record in the buffer
+	 * @param length
+	 *            the length of the record
+	 */
+	void compute(byte[] data, int offset, int length) {
+		long k1;
+		long k2;
+		h1 = 0;
+		h2 = 0;
+
+		int blocks = length / 16;
+		for (int i = 0; i < blocks; i++) {
+			int index = offset + i * 16;
+			k1 = getLong(data, index);
+			k2 = getLong(data, index + 8);
+
+			h1 ^= mixK1(k1);
+			h1 = Long.rotateLeft(h1, 27) + h2;
+			h1 = h1 * 5 + 0x52dce729;
+
+			h2 ^= mixK2(k2);
+			h2 = Long.rotateLeft(h2, 31) + h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		k1 = 0;
+		k2 = 0;
+		int tail = offset + blocks * 16;
+		int remaining = length & 15;
+		for (int i = remaining - 1; i >= 8; i--) {
+			k2 = (k2 << 8) | (data[tail + i] & 0xFFL);
+		}
+
+		for (int i = Math.min(remaining, 8) - 1; i >= 0; i--) {
+			k1 = (k1 << 8) | (data[tail + i] & 0xFFL);
+		}
+
+		h1 ^= mixK1(k1);
+		h2 ^= mixK2(k2);
+
+		h1 ^= length;
+		h2 ^= length;
+		h1 += h2;
+		h2 += h1;
+		h1 = fmix(h1);
+		h2 = fmix(h2);
+		h1 += h2;
+		h2 += h1;
+	}
+
+	/**
+	 * Returns the first half of the last computed fingerprint.
+	 *
+	 * @return the first 64 bits
+	 */
+	long getH1() {
+		return h1;
+	}
+
+	/**
+	 * Returns the second half of the last computed fingerprint.
+	 *
+	 * @return the second 64 bits
+	 */
+	long getH2() {
+		return h2;
+	}
+
+	private static long getLong(byte[] data, int index) {
+		return (data[index] & 0xFFL) | (data[index + 1] & 0xFFL) << 8 | (data[index + 2] & 0xFFL) << 16
+				| (data[index + 3] & 0xFFL) << 24 | (data[index + 4] & 0xFFL) << 32 | (data[index + 5] & 0xFFL) << 40
+				| (data[index + 6] & 0xFFL) << 48 | (data[index + 7] & 0xFFL) << 56;
+	}
+
+	private static long mixK1(long k1) {
+		return Long.rotateLeft(k1 * C1, 31) * C2;
+	}
+
+	private static long mixK2(long k2) {
+		return Long.rotateLeft(k2 * C2, 33) * C1;
+	}
+
+	private static long fmix(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+}
@@ -0,0 +1,264 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import com.compuware.jenkins.common.utils.CLIVersionUtils;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+import hudson.FilePath;
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Prepares an agent for a zAdviser CLI invocation in a single remoting round trip.
+ * <p>
+ * Reads the CLI version, makes sure the workspace exists and, when JCL is supplied, writes it to a temporary file in the
+ * workspace. Only the facts needed by the build steps are returned instead of the full set of remote system properties.
+ * <p>
+ * When a persist data key is supplied, the per connection and customer ID persist data directory is created. A last run file
+ * left by earlier versions of the plugin in the persist data root is copied into it, so the next collection continues where
+ * the previous one ended.
+ * <p>
+ * When the caller already knows the CLI version for the modification time of the CLI directory, reading the version from
+ * disk is skipped and the returned version is <code>null</code>.
+ */
+public class RemoteBuildPreparation extends MasterToSlaveCallable<RemoteBuildPreparation.Result, IOException> {
+
+	private static final long serialVersionUID = -3281530472893401187L;
+
+	private final String cliLocation;
+	private final String minimumCliVersion;
+	private final String workspacePath;
+	private final String jcl;
+	private final long knownCliModified;
+	private final String persistDataRoot;
+	private final String persistDataKey;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cliLocation
+	 *            the CLI installation directory on the agent
+	 * @param minimumCliVersion
+	 *            the minimum CLI version supported by the build step
+	 * @param workspacePath
+	 *            the remote path of the build workspace
+	 * @param jcl
+	 *            the JCL to write to a temporary file in the workspace; can be null
+	 * @param knownCliModified
+	 *            the CLI directory modification time the caller has a cached version for; 0 if none
+	 * @param persistDataRoot
+	 *            the root directory of the CLI persist data; can be null
+	 * @param persistDataKey
+	 *            the watermark key naming the persist data directory; can be null
+	 */
+	public RemoteBuildPreparation(String cliLocation, String minimumCliVersion, String workspacePath, String jcl,
+			long knownCliModified, String persistDataRoot, String persistDataKey) {
+		this.cliLocation = cliLocation;
+		this.minimumCliVersion = minimumCliVersion;
+		this.workspacePath = workspacePath;
+		this.jcl = jcl;
+		this.knownCliModified = knownCliModified;
+		this.persistDataRoot = persistDataRoot;
+		this.persistDataKey = persistDataKey;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.remoting.Callable#call()
+	 */
+	@Override
+	public Result call() throws IOException {
+		long cliModified = new File(cliLocation).lastModified();
+		String cliVersion = null;
+		if (knownCliModified == 0 || cliModified != knownCliModified) {
+			cliVersion = readCliVersion();
+		}
+
+		File workspaceDir = new File(workspacePath);
+		if (!workspaceDir.isDirectory() && !workspaceDir.mkdirs()) {
+			throw new IOException("Unable to create workspace: " + workspacePath); //$NON-NLS-1$
+		}
+
+		String jclFilePath = null;
+		if (jcl != null) {
+			// same naming and encoding as FilePath.createTextTempFile
+			File jclFile = File.createTempFile("jcl", ".txt", workspaceDir); //$NON-NLS-1$ //$NON-NLS-2$
+			try (Writer writer = Files.newBufferedWriter(jclFile.toPath(), Charset.defaultCharset())) {
+				writer.write(jcl);
+			}
+			jclFilePath = jclFile.getAbsolutePath();
+		}
+
+		String persistDataPath = null;
+		if (persistDataRoot != null && persistDataKey != null) {
+			persistDataPath = preparePersistData();
+		}
+
+		return new Result(File.separator, System.getProperty("os.name"), cliVersion, cliModified, jclFilePath, //$NON-NLS-1$
+				persistDataPath);
+	}
+
+	/**
+	 * Create the persist data directory for the watermark key, migrating the last run file of earlier plugin versions.
+	 *
+	 * @return the persist data directory path
+	 *
+	 * @throws IOException
+	 *             if the directory could not be created or the last run file could not be copied
+	 */
+	private String preparePersistData() throws IOException {
+		File persistDataDir = new File(new File(persistDataRoot, ZAdviserUtilitiesConstants.ZADVISER_WATERMARK_DIR), persistDataKey);
+		if (!persistDataDir.isDirectory() && !persistDataDir.mkdirs()) {
+			throw new IOException("Unable to create persist data directory: " + persistDataDir); //$NON-NLS-1$
+		}
+
+		File lastRunFile = new File(persistDataDir, ZAdviserUtilitiesConstants.ZADVISER_LAST_RUN_FILE);
+		File legacyLastRunFile = new File(persistDataRoot, ZAdviserUtilitiesConstants.ZADVISER_LAST_RUN_FILE);
+		if (!lastRunFile.exists() && legacyLastRunFile.isFile()) {
+			// the modification time of the last run file is where the next collection window starts
+			Files.copy(legacyLastRunFile.toPath(), lastRunFile.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+		}
+
+		return persistDataDir.getAbsolutePath();
+	}
+
+	/**
+	 * Read the CLI version from the local CLI installation.
+	 *
+	 * @return the CLI version
+	 *
+	 * @throws IOException
+	 *             if the version could not be determined
+	 */
+	private String readCliVersion() throws IOException {
+		try {
+			return CLIVersionUtils.getCLIVersion(new FilePath(new File(cliLocation)), minimumCliVersion);
+		} catch (Exception e) {
+			if (e instanceof IOException) {
+				throw (IOException) e;
+			} else if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * The agent facts needed to build the CLI command line.
+	 */
+	public static class Result implements Serializable {
+
+		private static final long serialVersionUID = 6404297931467542512L;
+
+		private final String fileSeparator;
+		private final String osName;
+		private final String cliVersion;
+		private final long cliModified;
+		private final String jclFilePath;
+		private final String persistDataPath;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param fileSeparator
+		 *            the agent file separator
+		 * @param osName
+		 *            the agent operating system name
+		 * @param cliVersion
+		 *            the installed CLI version; null if it was not read
+		 * @param cliModified
+		 *            the modification time of the CLI directory
+		 * @param jclFilePath
+		 *            the path of the written JCL file; can be null
+		 * @param persistDataPath
+		 *            the path of the persist data directory; can be null
+		 */
+		public Result(String fileSeparator, String osName, String cliVersion, long cliModified, String jclFilePath,
+				String persistDataPath) {
+			this.fileSeparator = fileSeparator;
+			this.osName = osName;
+			this.cliVersion = cliVersion;
+			this.cliModified = cliModified;
+			this.jclFilePath = jclFilePath;
+			this.persistDataPath = persistDataPath;
+		}
+
+		/**
+		 * Gets the agent file separator.
+		 *
+		 * @return the file separator
+		 */
+		public String getFileSeparator() {
+			return fileSeparator;
+		}
+
+		/**
+		 * Gets the agent operating system name.
+		 *
+		 * @return the operating system name
+		 */
+		public String getOsName() {
+			return osName;
+		}
+
+		/**
+		 * Gets the installed CLI version.
+		 *
+		 * @return the CLI version, or null if the cached version is still current
+		 */
+		public String getCliVersion() {
+			return cliVersion;
+		}
+
+		/**
+		 * Gets the modification time of the CLI directory.
+		 *
+		 * @return the CLI directory modification time
+		 */
+		public long getCliModified() {
+			return cliModified;
+		}
+
+		/**
+		 * Gets the path of the JCL file written to the workspace.
+		 *
+		 * @return the JCL file path, or null if no JCL was supplied
+		 */
+		public String getJclFilePath() {
+			return jclFilePath;
+		}
+
+		/**
+		 * Gets the path of the persist data directory of the watermark key.
+		 *
+		 * @return the persist data directory path, or null if no watermark key was supplied
+		 */
+		public String getPersistDataPath() {
+			return persistDataPath;
+		}
+	}
+}
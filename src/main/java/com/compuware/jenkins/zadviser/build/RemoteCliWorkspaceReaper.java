@@ -0,0 +1,344 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Deletes the orphaned CLI workspaces of a node.
+ * <p>
+ * Runs on the node. Looks for CLI workspaces in the build workspaces below the given workspace roots, skipping the ones in
+ * use and the ones changed in the last {@link #MIN_AGE_MILLIS}. Deletes the CLI workspaces older than the maximum age, then
+ * the oldest remaining ones until the CLI workspaces left fit in the quota. Directories are deleted in parallel.
+ */
+public class RemoteCliWorkspaceReaper extends MasterToSlaveCallable<RemoteCliWorkspaceReaper.Result, IOException> {
+
+	private static final long serialVersionUID = 5404563412902536157L;
+
+	/** CLI workspaces changed more recently may belong to a CLI call that started after the active ones were listed. */
+	static final long MIN_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+	private static final int DELETE_THREADS = 4;
+
+	private final List<String> workspaceRoots;
+	private final String prefix;
+	private final Set<String> active;
+	private final long maxAgeMillis;
+	private final long quotaBytes;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param workspaceRoots
+	 *            the directories holding the build workspaces of the node
+	 * @param prefix
+	 *            the name prefix of CLI workspace directories
+	 * @param active
+	 *            the remote paths of the CLI workspaces in use
+	 * @param maxAgeMillis
+	 *            the age after which a CLI workspace is deleted
+	 * @param quotaBytes
+	 *            the size the CLI workspaces of the node may take up, 0 for no quota
+	 */
+	public RemoteCliWorkspaceReaper(List<String> workspaceRoots, String prefix, List<String> active, long maxAgeMillis,
+			long quotaBytes) {
+		this.workspaceRoots = new ArrayList<>(workspaceRoots);
+		this.prefix = prefix;
+		this.active = new HashSet<>(active);
+		this.maxAgeMillis = maxAgeMillis;
+		this.quotaBytes = quotaBytes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.remoting.Callable#call()
+	 */
+	@Override
+	public Result call() throws IOException {
+		long now = System.currentTimeMillis();
+		List<CliWorkspace> candidates = new ArrayList<>();
+		for (String workspaceRoot : workspaceRoots) {
+			File[] workspaces = new File(workspaceRoot).listFiles(File::isDirectory);
+			for (File workspace : workspaces != null ? workspaces : new File[0]) {
+				File[] cliWorkspaces = workspace.listFiles(file -> file.getName().startsWith(prefix) && file.isDirectory()
+						&& !Files.isSymbolicLink(file.toPath()));
+				for (File cliWorkspace : cliWorkspaces != null ? cliWorkspaces : new File[0]) {
+					if (!active.contains(cliWorkspace.getPath())) {
+						candidates.add(measure(cliWorkspace));
+					}
+				}
+			}
+		}
+
+		// oldest first, so the quota is met by deleting the least recently used CLI workspaces
+		candidates.sort(Comparator.comparingLong(cliWorkspace -> cliWorkspace.lastModified));
+		long totalBytes = 0;
+		for (CliWorkspace cliWorkspace : candidates) {
+			totalBytes += cliWorkspace.bytes;
+		}
+
+		List<CliWorkspace> expired = new ArrayList<>();
+		long remainingBytes = totalBytes;
+		for (CliWorkspace cliWorkspace : candidates) {
+			long age = now - cliWorkspace.lastModified;
+			if (age >= MIN_AGE_MILLIS && (age >= maxAgeMillis || quotaBytes > 0 && remainingBytes > quotaBytes)) {
+				expired.add(cliWorkspace);
+				remainingBytes -= cliWorkspace.bytes;
+			}
+		}
+
+		return delete(candidates.size(), expired, totalBytes);
+	}
+
+	/**
+	 * Delete CLI workspaces in parallel.
+	 *
+	 * @param found
+	 *            the number of CLI workspaces not in use
+	 * @param expired
+	 *            the CLI workspaces to delete
+	 * @param totalBytes
+	 *            the size of the CLI workspaces not in use
+	 *
+	 * @return the outcome of the deletion
+	 *
+	 * @throws IOException
+	 *             if interrupted while deleting
+	 */
+	private Result delete(int found, List<CliWorkspace> expired, long totalBytes) throws IOException {
+		if (expired.isEmpty()) {
+			return new Result(found, 0, 0, 0, totalBytes);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(DELETE_THREADS, expired.size()));
+		try {
+			List<Future<Boolean>> futures = new ArrayList<>();
+			for (CliWorkspace cliWorkspace : expired) {
+				futures.add(executor.submit(() -> deleteRecursive(cliWorkspace.directory.toPath())));
+			}
+
+			int deleted = 0;
+			int failed = 0;
+			long reclaimedBytes = 0;
+			for (int i = 0; i < futures.size(); i++) {
+				if (futures.get(i).get()) {
+					deleted++;
+					reclaimedBytes += expired.get(i).bytes;
+				} else {
+					failed++;
+				}
+			}
+
+			return new Result(found, deleted, failed, reclaimedBytes, totalBytes - reclaimedBytes);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while deleting CLI workspaces", e); //$NON-NLS-1$
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Measure the size and the last change of a CLI workspace.
+	 *
+	 * @param directory
+	 *            the CLI workspace
+	 *
+	 * @return the measured CLI workspace
+	 *
+	 * @throws IOException
+	 *             if the CLI workspace cannot be read
+	 */
+	private static CliWorkspace measure(File directory) throws IOException {
+		CliWorkspace cliWorkspace = new CliWorkspace(directory);
+		Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				cliWorkspace.lastModified = Math.max(cliWorkspace.lastModified, attrs.lastModifiedTime().toMillis());
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				cliWorkspace.bytes += attrs.size();
+				cliWorkspace.lastModified = Math.max(cliWorkspace.lastModified, attrs.lastModifiedTime().toMillis());
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e) {
+				// a file deleted while walking does not matter
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		return cliWorkspace;
+	}
+
+	/**
+	 * Delete a directory and its content, without following symbolic links.
+	 *
+	 * @param directory
+	 *            the directory
+	 *
+	 * @return true if the directory was deleted
+	 */
+	private static boolean deleteRecursive(Path directory) {
+		try {
+			Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					Files.deleteIfExists(file);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+					Files.deleteIfExists(dir);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+
+			return true;
+		} catch (IOException e) {
+			// a file still open on Windows; retried on the next run
+			return false;
+		}
+	}
+
+	/**
+	 * A CLI workspace not in use.
+	 */
+	private static class CliWorkspace {
+		private final File directory;
+		private long bytes;
+		private long lastModified;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param directory
+		 *            the CLI workspace
+		 */
+		CliWorkspace(File directory) {
+			this.directory = directory;
+		}
+	}
+
+	/**
+	 * The outcome of reaping the CLI workspaces of a node.
+	 */
+	public static class Result implements Serializable {
+
+		private static final long serialVersionUID = -1733316566024915213L;
+
+		private final int found;
+		private final int deleted;
+		private final int failed;
+		private final long reclaimedBytes;
+		private final long remainingBytes;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param found
+		 *            the number of CLI workspaces not in use
+		 * @param deleted
+		 *            the number of CLI workspaces deleted
+		 * @param failed
+		 *            the number of CLI workspaces that could not be deleted
+		 * @param reclaimedBytes
+		 *            the size of the CLI workspaces deleted
+		 * @param remainingBytes
+		 *            the size of the CLI workspaces kept
+		 */
+		public Result(int found, int deleted, int failed, long reclaimedBytes, long remainingBytes) {
+			this.found = found;
+			this.deleted = deleted;
+			this.failed = failed;
+			this.reclaimedBytes = reclaimedBytes;
+			this.remainingBytes = remainingBytes;
+		}
+
+		/**
+		 * Gets the number of CLI workspaces not in use.
+		 *
+		 * @return the number of CLI workspaces found
+		 */
+		public int getFound() {
+			return found;
+		}
+
+		/**
+		 * Gets the number of CLI workspaces deleted.
+		 *
+		 * @return the number of CLI workspaces deleted
+		 */
+		public int getDeleted() {
+			return deleted;
+		}
+
+		/**
+		 * Gets the number of CLI workspaces that could not be deleted.
+		 *
+		 * @return the number of failures
+		 */
+		public int getFailed() {
+			return failed;
+		}
+
+		/**
+		 * Gets the size of the CLI workspaces deleted.
+		 *
+		 * @return the reclaimed bytes
+		 */
+		public long getReclaimedBytes() {
+			return reclaimedBytes;
+		}
+
+		/**
+		 * Gets the size of the CLI workspaces kept.
+		 *
+		 * @return the remaining bytes
+		 */
+		public long getRemainingBytes() {
+			return remainingBytes;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Summarizes a zAdviser data file on the agent in a single pass: its size, its SHA-256 checksum and the number of records.
+ * <p>
+ * The first line of an unencrypted data file is the CSV header; every other line is a record. The record count of an
+ * encrypted data file is meaningless and is ignored by the callers.
+ */
+public class RemoteDataFileStats extends MasterToSlaveFileCallable<RemoteDataFileStats.Result> {
+
+	private static final long serialVersionUID = 4207743585530419385L;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Result invoke(File file, VirtualChannel channel) throws IOException {
+		if (!file.isFile()) {
+			return null;
+		}
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+
+		long bytes = 0;
+		long lines = 0;
+		int last = '\n';
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+				for (int i = 0; i < read; i++) {
+					if (buffer[i] == '\n') {
+						lines++;
+					}
+				}
+
+				if (read > 0) {
+					bytes += read;
+					last = buffer[read - 1];
+				}
+			}
+		}
+
+		// the last line does not need a line terminator
+		if (last != '\n') {
+			lines++;
+		}
+
+		return new Result(bytes, Math.max(lines - 1, 0), Util.toHexString(digest.digest()));
+	}
+
+	/**
+	 * The summary of a data file.
+	 */
+	public static class Result implements Serializable {
+
+		private static final long serialVersionUID = -1752066329785624436L;
+
+		private final long bytes;
+		private final long records;
+		private final String checksum;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param bytes
+		 *            the size of the data file
+		 * @param records
+		 *            the number of lines after the header line
+		 * @param checksum
+		 *            the SHA-256 checksum of the data file
+		 */
+		public Result(long bytes, long records, String checksum) {
+			this.bytes = bytes;
+			this.records = records;
+			this.checksum = checksum;
+		}
+
+		/**
+		 * Gets the size of the data file.
+		 *
+		 * @return the size in bytes
+		 */
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * Gets the number of records of the data file.
+		 *
+		 * @return the number of lines after the header line
+		 */
+		public long getRecords() {
+			return records;
+		}
+
+		/**
+		 * Gets the checksum of the data file.
+		 *
+		 * @return the SHA-256 checksum in hexadecimal
+		 */
+		public String getChecksum() {
+			return checksum;
+		}
+	}
+}
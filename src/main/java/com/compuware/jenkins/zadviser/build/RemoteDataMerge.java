@@ -0,0 +1,122 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Concatenates the unencrypted zAdviser data files of several host connections into one data file.
+ * <p>
+ * Runs on the agent next to the data files. The first line of each data file is the CSV header; only the header of the first
+ * data file is kept. The data files themselves are left in place.
+ */
+public class RemoteDataMerge extends MasterToSlaveFileCallable<Long> {
+
+	private static final long serialVersionUID = -2206145920931473127L;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final List<String> dataFilePaths;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param dataFilePaths
+	 *            the absolute paths of the data files to merge, in merge order
+	 */
+	public RemoteDataMerge(List<String> dataFilePaths) {
+		this.dataFilePaths = new ArrayList<>(dataFilePaths);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Long invoke(File mergedFile, VirtualChannel channel) throws IOException {
+		File directory = mergedFile.getAbsoluteFile().getParentFile();
+		Files.createDirectories(directory.toPath());
+		File tempFile = File.createTempFile(mergedFile.getName(), ".tmp", directory); //$NON-NLS-1$
+
+		long length = 0;
+		try {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE)) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int last = '\n';
+				boolean header = true;
+				for (String dataFilePath : dataFilePaths) {
+					try (InputStream in = new FileInputStream(dataFilePath)) {
+						boolean skipping = !header;
+						boolean joined = false;
+						int read;
+						while ((read = in.read(buffer)) > 0) {
+							int start = 0;
+							if (skipping) {
+								while (start < read && buffer[start] != '\n') {
+									start++;
+								}
+
+								if (start == read) {
+									continue;
+								}
+
+								start++;
+								skipping = false;
+							}
+
+							if (start < read) {
+								// a data file not ending with a line terminator must not join its last record to the next file
+								if (!joined && last != '\n') {
+									out.write('\n');
+									length++;
+								}
+
+								joined = true;
+
+								out.write(buffer, start, read - start);
+								length += read - start;
+								last = buffer[read - 1];
+							}
+						}
+					}
+
+					header = false;
+				}
+			}
+
+			Files.move(tempFile.toPath(), mergedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+
+		return length;
+	}
+}
@@ -0,0 +1,359 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Drops the records of an unencrypted zAdviser data file that were already collected by an earlier run.
+ * <p>
+ * Runs on the agent next to the data file. Record fingerprints are kept in the persist data directory of the host connection
+ * and customer ID, see {@link RecordFingerprintFilter}. The fingerprints of the records that are kept are first written to
+ * a pending file and only added to the filter by {@link Commit} once the data was uploaded, so records of a data file that
+ * never reached zAdviser are not suppressed by the next run. The path and SHA-256 checksum of the filtered data file are
+ * kept next to the pending file; the fingerprints are only committed for an upload of exactly that file.
+ * <p>
+ * The first line of the data file (the CSV header) is always kept.
+ */
+public class RemoteDuplicateSuppression extends MasterToSlaveFileCallable<RemoteDuplicateSuppression.Result> {
+
+	private static final long serialVersionUID = 8911862870415434627L;
+
+	static final String PENDING_FILE = "duplicates.pending"; //$NON-NLS-1$
+	static final String PENDING_SOURCE_FILE = "duplicates.pending.source"; //$NON-NLS-1$
+
+	private static final String SOURCE_PATH = "path"; //$NON-NLS-1$
+	private static final String SOURCE_CHECKSUM = "sha256"; //$NON-NLS-1$
+
+	/** Expected number of records per day of retention, used to size the filter. */
+	static final long RECORDS_PER_DAY = 100000;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final String persistDataPath;
+	private final int retentionDays;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param persistDataPath
+	 *            the persist data directory of the host connection and customer ID
+	 * @param retentionDays
+	 *            the number of days fingerprints are kept
+	 */
+	public RemoteDuplicateSuppression(String persistDataPath, int retentionDays) {
+		this.persistDataPath = persistDataPath;
+		this.retentionDays = retentionDays;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Result invoke(File dataFile, VirtualChannel channel) throws IOException {
+		File directory = new File(persistDataPath);
+		File filteredFile = File.createTempFile(dataFile.getName(), ".tmp", dataFile.getAbsoluteFile().getParentFile()); //$NON-NLS-1$
+		File pendingFile = File.createTempFile(PENDING_FILE, ".tmp", directory); //$NON-NLS-1$
+		File sourceFile = File.createTempFile(PENDING_SOURCE_FILE, ".tmp", directory); //$NON-NLS-1$
+		MessageDigest digest = newDigest();
+
+		long records = 0;
+		long duplicates = 0;
+		try {
+			try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(directory, retentionDays * RECORDS_PER_DAY,
+					TimeUnit.DAYS.toMillis(retentionDays), System.currentTimeMillis());
+					InputStream in = new FileInputStream(dataFile);
+					OutputStream out = new BufferedOutputStream(new DigestOutputStream(new FileOutputStream(filteredFile), digest),
+							BUFFER_SIZE);
+					DataOutputStream pending = new DataOutputStream(
+							new BufferedOutputStream(new FileOutputStream(pendingFile), BUFFER_SIZE))) {
+				RecordFingerprints fingerprints = new RecordFingerprints();
+				LineReader reader = new LineReader(in);
+
+				if (reader.next()) {
+					out.write(reader.buffer, 0, reader.length);
+				}
+
+				while (reader.next()) {
+					records++;
+					fingerprints.compute(reader.buffer, 0, reader.contentLength);
+					if (filter.wasSeen(fingerprints.getH1(), fingerprints.getH2())) {
+						duplicates++;
+					} else {
+						out.write(reader.buffer, 0, reader.length);
+						pending.writeLong(fingerprints.getH1());
+						pending.writeLong(fingerprints.getH2());
+					}
+				}
+			}
+
+			Properties source = new Properties();
+			source.setProperty(SOURCE_PATH, dataFile.getCanonicalPath());
+			source.setProperty(SOURCE_CHECKSUM, Util.toHexString(digest.digest()));
+			try (Writer writer = Files.newBufferedWriter(sourceFile.toPath(), StandardCharsets.UTF_8)) {
+				source.store(writer, null);
+			}
+
+			Files.move(filteredFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.move(sourceFile.toPath(), new File(directory, PENDING_SOURCE_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			Files.move(pendingFile.toPath(), new File(directory, PENDING_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(filteredFile.toPath());
+			Files.deleteIfExists(pendingFile.toPath());
+			Files.deleteIfExists(sourceFile.toPath());
+		}
+
+		return new Result(records, duplicates);
+	}
+
+	/**
+	 * Returns a new SHA-256 digest.
+	 *
+	 * @return the digest
+	 *
+	 * @throws IOException
+	 *             if SHA-256 is not available
+	 */
+	private static MessageDigest newDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Reads lines of bytes, keeping the line terminators so the kept records are written back unchanged.
+	 */
+	private static class LineReader {
+		private final InputStream in;
+		private final byte[] input = new byte[BUFFER_SIZE];
+		private int inputPosition;
+		private int inputLimit;
+		private byte[] buffer = new byte[2048];
+		private int length;
+		private int contentLength;
+
+		LineReader(InputStream in) {
+			this.in = in;
+		}
+
+		/**
+		 * Read the next line.
+		 *
+		 * @return TRUE if a line was read, FALSE at the end of the input
+		 *
+		 * @throws IOException
+		 *             if the input could not be read
+		 */
+		boolean next() throws IOException {
+			length = 0;
+			boolean endOfLine = false;
+			while (!endOfLine) {
+				if (inputPosition == inputLimit) {
+					inputLimit = in.read(input);
+					inputPosition = 0;
+					if (inputLimit <= 0) {
+						inputLimit = 0;
+						break;
+					}
+				}
+
+				int start = inputPosition;
+				while (inputPosition < inputLimit && !endOfLine) {
+					endOfLine = input[inputPosition++] == '\n';
+				}
+
+				append(start, inputPosition - start);
+			}
+
+			contentLength = length;
+			if (contentLength > 0 && buffer[contentLength - 1] == '\n') {
+				contentLength--;
+			}
+
+			if (contentLength > 0 && buffer[contentLength - 1] == '\r') {
+				contentLength--;
+			}
+
+			return length > 0;
+		}
+
+		private void append(int start, int count) {
+			if (length + count > buffer.length) {
+				byte[] larger = new byte[Math.max(buffer.length * 2, length + count)];
+				System.arraycopy(buffer, 0, larger, 0, length);
+				buffer = larger;
+			}
+
+			System.arraycopy(input, start, buffer, length, count);
+			length += count;
+		}
+	}
+
+	/**
+	 * Adds the pending fingerprints of the last filtered data file to the filter once the data was uploaded.
+	 * <p>
+	 * Invoked on the persist data directory of the host connection and customer ID. The fingerprints are only added when the
+	 * uploaded file is the filtered data file, unchanged; otherwise they stay pending for an upload of that file and -1 is
+	 * returned instead of the number of fingerprints added. The caller
+	 * holds the watermark lock of the directory, see {@link ZAdviserWatermarks}.
+	 */
+	public static class Commit extends MasterToSlaveFileCallable<Long> {
+
+		private static final long serialVersionUID = -1424719329546151235L;
+
+		private final int retentionDays;
+		private final String uploadedPath;
+		private final String uploadedChecksum;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param retentionDays
+		 *            the number of days fingerprints are kept
+		 * @param uploadedPath
+		 *            the path of the uploaded data file on the agent
+		 * @param uploadedChecksum
+		 *            the SHA-256 checksum of the uploaded data file
+		 */
+		public Commit(int retentionDays, String uploadedPath, String uploadedChecksum) {
+			this.retentionDays = retentionDays;
+			this.uploadedPath = uploadedPath;
+			this.uploadedChecksum = uploadedChecksum;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+		 */
+		@Override
+		public Long invoke(File directory, VirtualChannel channel) throws IOException {
+			File pendingFile = new File(directory, PENDING_FILE);
+			File sourceFile = new File(directory, PENDING_SOURCE_FILE);
+			if (!pendingFile.isFile()) {
+				return 0L;
+			}
+
+			Properties source = new Properties();
+			if (sourceFile.isFile()) {
+				try (Reader reader = Files.newBufferedReader(sourceFile.toPath(), StandardCharsets.UTF_8)) {
+					source.load(reader);
+				}
+			}
+
+			if (!new File(uploadedPath).getCanonicalPath().equals(source.getProperty(SOURCE_PATH))
+					|| !uploadedChecksum.equalsIgnoreCase(source.getProperty(SOURCE_CHECKSUM))) {
+				return -1L;
+			}
+
+			long committed = 0;
+			try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(directory, retentionDays * RECORDS_PER_DAY,
+					TimeUnit.DAYS.toMillis(retentionDays), System.currentTimeMillis());
+					DataInputStream pending = new DataInputStream(new BufferedInputStream(new FileInputStream(pendingFile),
+							BUFFER_SIZE))) {
+				while (true) {
+					long h1;
+					long h2;
+					try {
+						h1 = pending.readLong();
+						h2 = pending.readLong();
+					} catch (EOFException e) {
+						break;
+					}
+
+					filter.add(h1, h2);
+					committed++;
+				}
+			}
+
+			Files.delete(pendingFile.toPath());
+			Files.delete(sourceFile.toPath());
+			return committed;
+		}
+	}
+
+	/**
+	 * The outcome of suppressing duplicates in a data file.
+	 */
+	public static class Result implements Serializable {
+
+		private static final long serialVersionUID = -7393150203183361001L;
+
+		private final long records;
+		private final long duplicates;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param records
+		 *            the number of records read, excluding the header
+		 * @param duplicates
+		 *            the number of records dropped
+		 */
+		public Result(long records, long duplicates) {
+			this.records = records;
+			this.duplicates = duplicates;
+		}
+
+		/**
+		 * Gets the number of records read, excluding the header.
+		 *
+		 * @return the number of records
+		 */
+		public long getRecords() {
+			return records;
+		}
+
+		/**
+		 * Gets the number of records dropped as duplicates.
+		 *
+		 * @return the number of duplicates
+		 */
+		public long getDuplicates() {
+			return duplicates;
+		}
+	}
+}
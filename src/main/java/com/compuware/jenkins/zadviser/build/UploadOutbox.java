@@ -0,0 +1,685 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.configuration.HostConnection;
+import com.compuware.jenkins.common.utils.ArgumentUtils;
+import com.compuware.jenkins.common.utils.CLIVersionUtils;
+import com.compuware.jenkins.common.utils.CommonConstants;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.ArgumentListBuilder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import jenkins.model.Jenkins;
+
+/**
+ * Uploads zAdviser data files in the background, so the download build step finishes as soon as the data is collected.
+ * <p>
+ * The download build step copies the data file to the outbox in the Jenkins home directory on the controller and adds an
+ * entry for it. The entries are saved to <code>outbox.xml</code>, so uploads that were queued or running when the controller
+ * stopped are resumed when it starts again. A bounded pool of worker threads uploads the entries with the CLI installed on
+ * the controller, the highest priority first and in arrival order within a priority; uploads are retried and rate limited
+ * like those of the upload build step. The state of each entry is shown on the build page by {@link ZAdviserUploadAction}.
+ * <p>
+ * A data file is only queued when the CLI is installed on the controller and the disk of the outbox keeps
+ * {@link #MIN_FREE_BYTES} free after copying it; otherwise the build step fails right away instead of the upload failing
+ * later.
+ * <p>
+ * The data file copy is deleted once uploaded; the copy of a failed upload is kept in the outbox directory.
+ */
+public final class UploadOutbox {
+	private static final Logger logger = Logger.getLogger("hudson.UploadOutbox"); //$NON-NLS-1$
+
+	private static final UploadOutbox INSTANCE = new UploadOutbox();
+
+	static final String OUTBOX_FILE = "outbox.xml"; //$NON-NLS-1$
+	static final String LOG_FILE = "upload.log"; //$NON-NLS-1$
+
+	/** Space left free on the disk of the outbox after copying a data file to it. */
+	static final long MIN_FREE_BYTES = 1024L * 1024 * 1024;
+
+	/** Number of finished entries remembered for the build pages. */
+	private static final int MAX_FINISHED = 1000;
+
+	/** Highest priority first, then in arrival order; entries saved before sequence numbers were kept fall back on their time. */
+	static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry entry) -> -entry.priority)
+			.thenComparingLong(entry -> entry.sequence).thenComparingLong(entry -> entry.queued);
+
+	private final List<Entry> entries = new ArrayList<>();
+	private ThreadPoolExecutor executor;
+	private boolean loaded;
+	private long sequence;
+
+	/**
+	 * The state of an outbox entry.
+	 */
+	public enum State {
+		QUEUED, UPLOADING, UPLOADED, FAILED
+	}
+
+	/**
+	 * Returns the controller wide outbox.
+	 *
+	 * @return the outbox instance
+	 */
+	public static UploadOutbox get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor. The controller wide outbox is returned by {@link #get()}; another instance reads the saved entries as the
+	 * controller does when it starts again.
+	 */
+	UploadOutbox() {
+	}
+
+	/**
+	 * Resume the uploads that were queued or running when the controller stopped.
+	 */
+	@Initializer(after = InitMilestone.JOB_LOADED)
+	public static void resume() {
+		UploadOutbox outbox = get();
+		List<Entry> pending = outbox.requeue();
+		if (!pending.isEmpty()) {
+			logger.info("Resuming " + pending.size() + " queued zAdviser uploads"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (Entry entry : pending) {
+				outbox.execute(entry);
+			}
+		}
+	}
+
+	/**
+	 * Read the saved entries and queue the uploads that were queued or running again.
+	 *
+	 * @return the entries to upload
+	 */
+	synchronized List<Entry> requeue() {
+		load();
+		List<Entry> pending = new ArrayList<>();
+		for (Entry entry : entries) {
+			if (entry.state == State.QUEUED || entry.state == State.UPLOADING) {
+				entry.state = State.QUEUED;
+				pending.add(entry);
+			}
+		}
+
+		if (!pending.isEmpty()) {
+			save();
+		}
+
+		return pending;
+	}
+
+	/**
+	 * Returns the configured number of uploads the outbox runs at the same time.
+	 *
+	 * @return the number of worker threads, at least 1
+	 */
+	static int getWorkers() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		String workers = zAdviserGlobalConfiguration.getOutboxWorkers();
+		return Math.max(NumberUtils.toInt(StringUtils.trim(workers), ZAdviserUtilitiesConstants.DEFAULT_OUTBOX_WORKERS), 1);
+	}
+
+	/**
+	 * Copy a data file to the outbox and queue its upload.
+	 *
+	 * @param run
+	 *            the run the data file was collected by
+	 * @param connectionId
+	 *            the host connection identifier the data was collected from
+	 * @param dataFile
+	 *            the data file to upload
+	 * @param priority
+	 *            the priority of the upload, higher priorities are uploaded first
+	 * @param buildLogger
+	 *            the build log
+	 *
+	 * @return the outbox entry
+	 *
+	 * @throws IOException
+	 *             if the CLI is not installed on the controller or the data file cannot be copied to the outbox
+	 * @throws InterruptedException
+	 *             if the build is aborted while copying
+	 */
+	public Entry enqueue(Run<?, ?> run, String connectionId, FilePath dataFile, int priority, PrintStream buildLogger)
+			throws IOException, InterruptedException {
+		checkControllerCli();
+		Entry entry = add(run.getExternalizableId(), connectionId, dataFile, priority);
+		ZAdviserUploadAction.record(run, entry.getId());
+		buildLogger.println("Queued the upload of the zAdviser data file " + dataFile.getRemote() + " (priority " + priority //$NON-NLS-1$ //$NON-NLS-2$
+				+ "); the upload continues in the background on the controller"); //$NON-NLS-1$
+		execute(entry);
+		return entry;
+	}
+
+	/**
+	 * Verify the CLI the outbox uploads with is installed on the controller.
+	 *
+	 * @throws IOException
+	 *             if the CLI script is not found at the CLI location of the controller
+	 * @throws InterruptedException
+	 *             if the build is aborted
+	 */
+	static void checkControllerCli() throws IOException, InterruptedException {
+		Launcher launcher = new Launcher.LocalLauncher(TaskListener.NULL);
+		String cliLocation = CpwrGlobalConfiguration.get().getTopazCLILocation(launcher);
+		String osFile = launcher.isUnix() ? ZAdviserUtilitiesConstants.ZADVISER_CLI_SH : ZAdviserUtilitiesConstants.ZADVISER_CLI_BAT;
+		if (StringUtils.isBlank(cliLocation) || !new File(cliLocation, osFile).isFile()) {
+			throw new AbortException("The background upload needs the CLI installed on the controller, but " + osFile //$NON-NLS-1$
+					+ " was not found in the CLI location of the controller (" + cliLocation + ')'); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Verify the disk of the outbox keeps {@link #MIN_FREE_BYTES} free after copying a data file to it.
+	 *
+	 * @param size
+	 *            the size of the data file
+	 *
+	 * @throws IOException
+	 *             if there is not enough free space
+	 */
+	static void checkFreeSpace(long size) throws IOException {
+		File root = getRoot();
+		File disk = root.isDirectory() ? root : root.getParentFile();
+		long usable = disk.getUsableSpace();
+		if (usable - size < MIN_FREE_BYTES) {
+			throw new AbortException("Not enough free space to queue the zAdviser data file in " + root + ": " + size //$NON-NLS-1$ //$NON-NLS-2$
+					+ " bytes to copy and " + MIN_FREE_BYTES + " bytes to keep free, " + usable + " bytes available"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Copy a data file to the outbox and save its entry, numbering the entries in arrival order.
+	 *
+	 * @param run
+	 *            the externalizable identifier of the run the data file was collected by
+	 * @param connectionId
+	 *            the host connection identifier the data was collected from
+	 * @param dataFile
+	 *            the data file to upload
+	 * @param priority
+	 *            the priority of the upload
+	 *
+	 * @return the outbox entry
+	 *
+	 * @throws IOException
+	 *             if the disk of the outbox is short of space or the data file cannot be copied to the outbox
+	 * @throws InterruptedException
+	 *             if the build is aborted while copying
+	 */
+	Entry add(String run, String connectionId, FilePath dataFile, int priority) throws IOException, InterruptedException {
+		checkFreeSpace(dataFile.length());
+		Entry entry;
+		synchronized (this) {
+			load();
+			entry = new Entry(UUID.randomUUID().toString(), run, connectionId, dataFile.getName(), priority, ++sequence);
+		}
+
+		FilePath copy = new FilePath(entry.getDataFile());
+		try {
+			dataFile.copyTo(copy);
+		} catch (IOException | InterruptedException e) {
+			Util.deleteRecursive(entry.getDirectory());
+			throw e;
+		}
+
+		synchronized (this) {
+			entries.add(entry);
+			save();
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Returns an outbox entry.
+	 *
+	 * @param id
+	 *            the entry identifier
+	 *
+	 * @return the entry, or null if it is no longer remembered
+	 */
+	public synchronized Entry getEntry(String id) {
+		load();
+		for (Entry entry : entries) {
+			if (entry.id.equals(id)) {
+				return entry;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the number of entries waiting for or running their upload.
+	 *
+	 * @return the number of pending entries
+	 */
+	public synchronized int getPending() {
+		int pending = 0;
+		for (Entry entry : entries) {
+			if (entry.state == State.QUEUED || entry.state == State.UPLOADING) {
+				pending++;
+			}
+		}
+
+		return pending;
+	}
+
+	/**
+	 * Hand an entry to the worker threads, resizing the pool to the configured number of workers.
+	 *
+	 * @param entry
+	 *            the entry to upload
+	 */
+	private void execute(Entry entry) {
+		int workers = getWorkers();
+		synchronized (this) {
+			if (executor == null) {
+				executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(),
+						new NamingThreadFactory(new DaemonThreadFactory(), "zAdviser upload outbox")); //$NON-NLS-1$
+				executor.allowCoreThreadTimeOut(true);
+			} else if (workers > executor.getMaximumPoolSize()) {
+				executor.setMaximumPoolSize(workers);
+				executor.setCorePoolSize(workers);
+			} else if (workers < executor.getMaximumPoolSize()) {
+				executor.setCorePoolSize(workers);
+				executor.setMaximumPoolSize(workers);
+			}
+		}
+
+		executor.execute(new Upload(entry));
+	}
+
+	/**
+	 * Upload an entry with the CLI installed on the controller.
+	 *
+	 * @param entry
+	 *            the entry to upload
+	 */
+	private void upload(Entry entry) {
+		update(entry, State.UPLOADING, null);
+
+		File directory = entry.getDirectory();
+		try (StreamTaskListener listener = new StreamTaskListener(new File(directory, LOG_FILE), true, StandardCharsets.UTF_8)) {
+			PrintStream log = listener.getLogger();
+			try {
+				CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+				ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+				HostConnection connection = globalConfig.getHostConnection(entry.connectionId);
+				if (connection == null) {
+					throw new IOException("The host connection " + entry.connectionId + " no longer exists"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+
+				Launcher launcher = new Launcher.LocalLauncher(listener);
+				FilePath workDir = new FilePath(directory);
+				String cliLocation = globalConfig.getTopazCLILocation(launcher);
+				RemoteBuildPreparation.Result preparation = AgentFactsCache.get().prepare(FilePath.localChannel, workDir,
+						cliLocation, null, Jenkins.get().getRootDir().getAbsolutePath(),
+						ZAdviserWatermarks.keyOf(entry.connectionId, zAdviserGlobalConfiguration.getCustomerId()));
+				CLIVersionUtils.checkCLICompatibility(preparation.getCliVersion(), ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION);
+
+				String osFile = launcher.isUnix() ? ZAdviserUtilitiesConstants.ZADVISER_CLI_SH : ZAdviserUtilitiesConstants.ZADVISER_CLI_BAT;
+				ArgumentListBuilder args = new ArgumentListBuilder(cliLocation + preparation.getFileSeparator() + osFile);
+				args.add(CommonConstants.HOST_PARM, ArgumentUtils.escapeForScript(connection.getHost()));
+
+				// the CLI workspace is released whether or not the upload succeeds
+				try (CliWorkspaces.Lease cliWorkspace = CliWorkspaces.get().lease(workDir, preparation.getFileSeparator(), log)) {
+					args.add(CommonConstants.DATA_PARM, cliWorkspace.getPath());
+					ZAdviserUploadData.addUploadArguments(args, zAdviserGlobalConfiguration, entry.getDataFile().getAbsolutePath(),
+							preparation.getPersistDataPath());
+
+					UploadRetry.upload(launcher, args, new EnvVars(EnvVars.masterEnvVars), workDir,
+							new FilePath(entry.getDataFile()), entry.connectionId, 0, log);
+
+					// the upload is done before the CLI workspace is deleted, which a shutdown can interrupt
+					Files.deleteIfExists(entry.getDataFile().toPath());
+					update(entry, State.UPLOADED, null);
+				}
+			} catch (IOException | RuntimeException e) {
+				log.println("The zAdviser upload failed: " + e.getMessage()); //$NON-NLS-1$
+				update(entry, State.FAILED, e.getMessage());
+			} catch (InterruptedException e) {
+				// the controller is shutting down; an unfinished upload is resumed on the next start
+				if (entry.state != State.UPLOADED) {
+					update(entry, State.QUEUED, null);
+				}
+				Thread.currentThread().interrupt();
+			}
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Unable to write the zAdviser upload log in " + directory, e); //$NON-NLS-1$
+			update(entry, State.FAILED, e.getMessage());
+		}
+	}
+
+	/**
+	 * Change the state of an entry and save the outbox.
+	 *
+	 * @param entry
+	 *            the entry
+	 * @param state
+	 *            the new state
+	 * @param message
+	 *            the failure message; can be null
+	 */
+	synchronized void update(Entry entry, State state, String message) {
+		entry.state = state;
+		entry.message = message;
+		if (state == State.UPLOADED || state == State.FAILED) {
+			entry.finished = System.currentTimeMillis();
+		}
+
+		prune();
+		save();
+	}
+
+	/**
+	 * Forget the oldest finished entries beyond the number remembered, deleting their directories.
+	 */
+	private void prune() {
+		int finished = entries.size() - getPending();
+		for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext() && finished > MAX_FINISHED;) {
+			Entry entry = iterator.next();
+			if (entry.state == State.UPLOADED || entry.state == State.FAILED) {
+				iterator.remove();
+				finished--;
+				try {
+					Util.deleteRecursive(entry.getDirectory());
+				} catch (IOException e) {
+					logger.log(Level.WARNING, "Unable to delete the zAdviser outbox entry " + entry.getDirectory(), e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the outbox directory.
+	 *
+	 * @return the directory in the Jenkins home directory
+	 */
+	static File getRoot() {
+		return new File(Jenkins.get().getRootDir(), ZAdviserUtilitiesConstants.ZADVISER_OUTBOX_DIR);
+	}
+
+	/**
+	 * Read the saved entries, once.
+	 */
+	@SuppressWarnings("unchecked")
+	private void load() {
+		if (loaded) {
+			return;
+		}
+
+		loaded = true;
+		XmlFile file = new XmlFile(new File(getRoot(), OUTBOX_FILE));
+		if (file.exists()) {
+			try {
+				entries.addAll((List<Entry>) file.read());
+				for (Entry entry : entries) {
+					sequence = Math.max(sequence, entry.sequence);
+				}
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Unable to read the zAdviser outbox " + file, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Save the entries.
+	 */
+	private void save() {
+		XmlFile file = new XmlFile(new File(getRoot(), OUTBOX_FILE));
+		try {
+			file.write(new ArrayList<>(entries));
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Unable to save the zAdviser outbox " + file, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A data file waiting for, running or having finished its upload.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static final class Entry {
+		private final String id;
+		private final String run;
+		private final String connectionId;
+		private final String fileName;
+		private final int priority;
+		private final long sequence;
+		private final long queued;
+		private volatile State state = State.QUEUED;
+		private volatile String message;
+		private volatile long finished;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param id
+		 *            the entry identifier
+		 * @param run
+		 *            the externalizable identifier of the run the data file was collected by
+		 * @param connectionId
+		 *            the host connection identifier the data was collected from
+		 * @param fileName
+		 *            the name of the data file
+		 * @param priority
+		 *            the priority of the upload
+		 * @param sequence
+		 *            the number of the entry in arrival order
+		 */
+		Entry(String id, String run, String connectionId, String fileName, int priority, long sequence) {
+			this.id = id;
+			this.run = run;
+			this.connectionId = connectionId;
+			this.fileName = fileName;
+			this.priority = priority;
+			this.sequence = sequence;
+			this.queued = System.currentTimeMillis();
+		}
+
+		/**
+		 * Returns the entry identifier.
+		 *
+		 * @return the identifier
+		 */
+		@Exported
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the run the data file was collected by.
+		 *
+		 * @return the externalizable run identifier
+		 */
+		@Exported
+		public String getRun() {
+			return run;
+		}
+
+		/**
+		 * Returns the name of the data file.
+		 *
+		 * @return the file name
+		 */
+		@Exported
+		public String getFileName() {
+			return fileName;
+		}
+
+		/**
+		 * Returns the priority of the upload.
+		 *
+		 * @return the priority, higher priorities are uploaded first
+		 */
+		@Exported
+		public int getPriority() {
+			return priority;
+		}
+
+		/**
+		 * Returns the number of the entry in arrival order, increasing across controller restarts.
+		 *
+		 * @return the sequence number, 0 for entries saved before entries were numbered
+		 */
+		long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Returns the time the upload was queued.
+		 *
+		 * @return the time in milliseconds
+		 */
+		@Exported
+		public long getQueued() {
+			return queued;
+		}
+
+		/**
+		 * Returns the state of the upload.
+		 *
+		 * @return the state
+		 */
+		@Exported
+		public State getState() {
+			return state;
+		}
+
+		/**
+		 * Returns why the upload failed.
+		 *
+		 * @return the failure message, or null
+		 */
+		@Exported
+		public String getMessage() {
+			return message;
+		}
+
+		/**
+		 * Returns the time the upload finished.
+		 *
+		 * @return the time in milliseconds, 0 while the upload is pending
+		 */
+		@Exported
+		public long getFinished() {
+			return finished;
+		}
+
+		/**
+		 * Returns the directory of the entry in the outbox.
+		 *
+		 * @return the directory
+		 */
+		File getDirectory() {
+			return new File(getRoot(), id);
+		}
+
+		/**
+		 * Returns the copy of the data file in the outbox.
+		 *
+		 * @return the data file copy
+		 */
+		File getDataFile() {
+			return new File(getDirectory(), fileName);
+		}
+
+		/**
+		 * Returns the upload log of the entry.
+		 *
+		 * @return the log file
+		 */
+		File getLogFile() {
+			return new File(getDirectory(), LOG_FILE);
+		}
+	}
+
+	/**
+	 * The upload of an entry, ordered for the worker threads by priority and arrival.
+	 */
+	private final class Upload implements Runnable, Comparable<Upload> {
+		private final Entry entry;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param entry
+		 *            the entry to upload
+		 */
+		private Upload(Entry entry) {
+			this.entry = entry;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			upload(entry);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		@Override
+		public int compareTo(Upload other) {
+			return ORDER.compare(entry, other.entry);
+		}
+	}
+}
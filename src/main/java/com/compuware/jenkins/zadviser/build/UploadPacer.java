@@ -0,0 +1,340 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+/**
+ * Paces the start of the zAdviser uploads on the controller, with token buckets shared by all running uploads.
+ * <p>
+ * This is admission pacing, not a bandwidth limit: the CLI owns the SFTP connection and sends each data file at full link
+ * speed, so a transfer that has started cannot be slowed down. What can be controlled is when the next upload starts. There
+ * is one bucket for all uploads and one for each host connection; an upload takes its size in bytes from both before the CLI
+ * is started, a bucket may go into debt by the size of a file, and the next upload waits until the debt is paid off at the
+ * configured rate. Averaged over time the uploads therefore stay near the configured rates, while the link is saturated
+ * whenever a file is sent.
+ * <p>
+ * Uploads waiting for a bucket start in arrival order, so a waiting upload cannot be overtaken indefinitely. No upload waits longer than {@link #MAX_WAIT_MINUTES}, so a large
+ * file delays the uploads after it by minutes rather than hours; an upload that waited that long starts anyway.
+ * <p>
+ * The pacing only applies within the configured time-of-day schedule (for example business hours).
+ */
+public final class UploadPacer {
+	private static final UploadPacer INSTANCE = new UploadPacer();
+
+	/** Number of seconds of unused rate an idle bucket saves up. */
+	static final long BURST_SECONDS = 10;
+
+	/** Longest time an upload waits for the buckets before it starts anyway. */
+	static final long MAX_WAIT_MINUTES = 15;
+
+	private final TokenBucket global = new TokenBucket();
+	private final Map<String, TokenBucket> connections = new HashMap<>();
+
+	private long nextTicket;
+	private long uploadedBytes;
+	private long uploadMillis;
+	private long lastBytesPerSecond;
+
+	/**
+	 * Constructor.
+	 * <p>
+	 * Clients should not call this - use {@link #get()} instead.
+	 */
+	UploadPacer() {
+		// controller wide instance, see get()
+	}
+
+	/**
+	 * Returns the controller wide upload pacer.
+	 *
+	 * @return the upload pacer instance
+	 */
+	public static UploadPacer get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Wait until an upload may start within the configured pacing rates.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier of the upload
+	 * @param bytes
+	 *            the size of the data file
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws InterruptedException
+	 *             if the build is aborted while waiting
+	 */
+	public void acquire(String connectionId, long bytes, PrintStream logger) throws InterruptedException {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		if (isPaced(zAdviserGlobalConfiguration)) {
+			acquire(connectionId, bytes, toBytesPerSecond(zAdviserGlobalConfiguration.getUploadRateLimit()),
+					toBytesPerSecond(zAdviserGlobalConfiguration.getUploadConnectionRateLimit()),
+					TimeUnit.MINUTES.toNanos(MAX_WAIT_MINUTES), logger);
+		}
+	}
+
+	/**
+	 * Take an upload that was already sent from the configured pacing rates, without waiting.
+	 * <p>
+	 * Used for the data the download CLI call uploaded itself, so the uploads that follow wait for it.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier of the upload
+	 * @param bytes
+	 *            the size of the data file
+	 */
+	public synchronized void charge(String connectionId, long bytes) {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		if (isPaced(zAdviserGlobalConfiguration)) {
+			long now = System.nanoTime();
+			long globalRate = toBytesPerSecond(zAdviserGlobalConfiguration.getUploadRateLimit());
+			if (globalRate > 0) {
+				global.refill(globalRate, now);
+				global.tokens -= bytes;
+			}
+
+			long connectionRate = toBytesPerSecond(zAdviserGlobalConfiguration.getUploadConnectionRateLimit());
+			if (connectionRate > 0) {
+				TokenBucket connection = connections.computeIfAbsent(connectionId, k -> new TokenBucket());
+				connection.refill(connectionRate, now);
+				connection.tokens -= bytes;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the pacing applies right now.
+	 *
+	 * @param zAdviserGlobalConfiguration
+	 *            the zAdviser global configuration settings
+	 *
+	 * @return TRUE within the configured schedule
+	 */
+	private static boolean isPaced(ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration) {
+		try {
+			return ZAdviserGlobalConfiguration.isInSchedule(zAdviserGlobalConfiguration.getUploadRateSchedule(), LocalTime.now());
+		} catch (IllegalArgumentException e) {
+			// an invalid schedule paces the uploads all day
+			return true;
+		}
+	}
+
+	/**
+	 * Wait until an upload may start within the given pacing rates, in arrival order and for a bounded time.
+	 * <p>
+	 * An upload that finds a bucket in debt, or other uploads waiting for it, queues on the bucket; it starts once every bucket
+	 * it uses is out of debt and it is the earliest arrival queued on each, or once it waited for the maximum time. The queues
+	 * are ordered by arrival across all buckets, so the earliest waiting upload is never held up by a later one.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier of the upload
+	 * @param bytes
+	 *            the size of the data file
+	 * @param globalRate
+	 *            the rate of all uploads in bytes per second; 0 for no pacing
+	 * @param connectionRate
+	 *            the rate of the uploads of each host connection in bytes per second; 0 for no pacing
+	 * @param maxWaitNanos
+	 *            the longest time to wait in nanoseconds
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws InterruptedException
+	 *             if the build is aborted while waiting
+	 */
+	synchronized void acquire(String connectionId, long bytes, long globalRate, long connectionRate, long maxWaitNanos,
+			PrintStream logger) throws InterruptedException {
+		List<TokenBucket> buckets = new ArrayList<>(2);
+		List<Long> rates = new ArrayList<>(2);
+		if (globalRate > 0) {
+			buckets.add(global);
+			rates.add(globalRate);
+		}
+		if (connectionRate > 0) {
+			buckets.add(connections.computeIfAbsent(connectionId, k -> new TokenBucket()));
+			rates.add(connectionRate);
+		}
+		if (buckets.isEmpty()) {
+			return;
+		}
+
+		Long ticket = nextTicket++;
+		long deadline = System.nanoTime() + maxWaitNanos;
+		boolean logged = false;
+		try {
+			while (true) {
+				long now = System.nanoTime();
+				long waitNanos = 0;
+				boolean first = true;
+				for (int i = 0; i < buckets.size(); i++) {
+					TokenBucket bucket = buckets.get(i);
+					long debtNanos = bucket.refill(rates.get(i), now);
+					if (debtNanos > 0 || !bucket.waiters.isEmpty()) {
+						bucket.waiters.add(ticket);
+					}
+					waitNanos = Math.max(waitNanos, debtNanos);
+					first &= bucket.waiters.isEmpty() || ticket.equals(bucket.waiters.first());
+				}
+
+				if (waitNanos == 0 && first) {
+					break;
+				}
+
+				long remainingNanos = deadline - now;
+				if (remainingNanos <= 0) {
+					logger.println("Starting the zAdviser upload after waiting " + MAX_WAIT_MINUTES //$NON-NLS-1$
+							+ " minutes for its turn, ahead of the pacing rates"); //$NON-NLS-1$
+					break;
+				}
+
+				if (!logged) {
+					logger.println("Waiting up to " + ZAdviserTimingAction.formatSeconds(TimeUnit.NANOSECONDS.toMillis(remainingNanos)) //$NON-NLS-1$
+							+ " to start the zAdviser upload (pacing " + formatRate(globalRate) + " in total, " //$NON-NLS-1$ //$NON-NLS-2$
+							+ formatRate(connectionRate) + " per host connection)"); //$NON-NLS-1$
+					logged = true;
+				}
+
+				// a waiter that is not first is woken when the one ahead of it starts
+				TimeUnit.NANOSECONDS.timedWait(this, Math.min(waitNanos > 0 ? waitNanos : remainingNanos, remainingNanos));
+			}
+
+			for (TokenBucket bucket : buckets) {
+				bucket.tokens -= bytes;
+			}
+		} finally {
+			for (TokenBucket bucket : buckets) {
+				bucket.waiters.remove(ticket);
+			}
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Record a completed upload.
+	 *
+	 * @param bytes
+	 *            the size of the data file
+	 * @param millis
+	 *            the time the upload took
+	 *
+	 * @return the achieved throughput in bytes per second
+	 */
+	public synchronized long record(long bytes, long millis) {
+		uploadedBytes += bytes;
+		uploadMillis += millis;
+		lastBytesPerSecond = bytes * 1000 / Math.max(millis, 1);
+		return lastBytesPerSecond;
+	}
+
+	/**
+	 * Returns the number of bytes uploaded so far.
+	 *
+	 * @return the uploaded bytes
+	 */
+	public synchronized long getUploadedBytes() {
+		return uploadedBytes;
+	}
+
+	/**
+	 * Returns the average throughput of the uploads so far.
+	 *
+	 * @return the throughput in bytes per second
+	 */
+	public synchronized long getBytesPerSecond() {
+		return uploadedBytes * 1000 / Math.max(uploadMillis, 1);
+	}
+
+	/**
+	 * Returns the throughput of the last upload.
+	 *
+	 * @return the throughput in bytes per second
+	 */
+	public synchronized long getLastBytesPerSecond() {
+		return lastBytesPerSecond;
+	}
+
+	/**
+	 * Converts a configured rate in KB per second.
+	 *
+	 * @param rate
+	 *            the configured rate; can be blank
+	 *
+	 * @return the rate in bytes per second, 0 for no pacing
+	 */
+	static long toBytesPerSecond(String rate) {
+		return Math.max(NumberUtils.toLong(StringUtils.trim(rate)), 0) * 1024;
+	}
+
+	/**
+	 * Formats a rate for the build log.
+	 *
+	 * @param bytesPerSecond
+	 *            the rate in bytes per second; 0 for no pacing
+	 *
+	 * @return the formatted rate
+	 */
+	static String formatRate(long bytesPerSecond) {
+		return bytesPerSecond > 0 ? bytesPerSecond / 1024 + " KB/s" : "none"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * A token bucket counting bytes; the tokens may become negative (debt) when a file larger than the bucket is taken.
+	 */
+	private static class TokenBucket {
+		private final NavigableSet<Long> waiters = new TreeSet<>();
+		private double tokens = Double.NaN;
+		private long updatedNanos;
+
+		/**
+		 * Add the tokens earned since the last refill.
+		 *
+		 * @param rate
+		 *            the rate in bytes per second
+		 * @param now
+		 *            the current time in nanoseconds
+		 *
+		 * @return the time until the debt is paid off in nanoseconds, 0 if the bucket is not in debt
+		 */
+		private long refill(long rate, long now) {
+			double capacity = (double) rate * BURST_SECONDS;
+			if (Double.isNaN(tokens)) {
+				tokens = capacity;
+			} else {
+				tokens = Math.min(capacity, tokens + (now - updatedNanos) * rate / 1e9);
+			}
+			updatedNanos = now;
+
+			return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * 1e9 / rate);
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.AbortException;
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * Uploads a zAdviser data file with the CLI, retrying failed uploads with exponential backoff and jitter.
+ * <p>
+ * The CLI sends the whole file over SFTP in one call and cannot resume a partial transfer, so every attempt sends the whole
+ * file. The SHA-256 checksum of the file is taken once, before the first attempt; its size and modification time are
+ * checked before every retry and after the upload, so a file that changed in the meantime is never reported as uploaded.
+ * Once uploaded, the checksum is written to a checkpoint file next to the data file (<code>&lt;file&gt;.uploaded</code>);
+ * running the upload again for the same content, for example when a build is retried, does not send the file again unless
+ * the global configuration asks to resend uploaded data files.
+ */
+public final class UploadRetry {
+	static final String CHECKPOINT_SUFFIX = ".uploaded"; //$NON-NLS-1$
+
+	static final long BASE_DELAY_MILLIS = 15000;
+	static final long MAX_DELAY_MILLIS = 300000;
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private UploadRetry() {
+		// Do not instantiate
+	}
+
+	/**
+	 * Returns the configured number of times a failed upload is retried.
+	 *
+	 * @return the number of retries, at least 0
+	 */
+	static int getRetries() {
+		ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+		String retries = zAdviserGlobalConfiguration.getUploadRetries();
+		return Math.max(NumberUtils.toInt(StringUtils.trim(retries), ZAdviserUtilitiesConstants.DEFAULT_UPLOAD_RETRIES), 0);
+	}
+
+	/**
+	 * Returns the delay before a retry: half of the exponential delay plus a random part of up to the other half, so builds
+	 * that failed at the same time do not retry at the same time.
+	 *
+	 * @param retry
+	 *            the retry, starting at 1
+	 * @param baseMillis
+	 *            the exponential delay of the first retry
+	 * @param maxMillis
+	 *            the maximum exponential delay
+	 * @param random
+	 *            the source of the jitter
+	 *
+	 * @return the delay in milliseconds
+	 */
+	static long backoffMillis(int retry, long baseMillis, long maxMillis, Random random) {
+		long delay = maxMillis;
+		if (retry - 1 < Long.numberOfLeadingZeros(baseMillis) - 1) {
+			delay = Math.min(baseMillis << (retry - 1), maxMillis);
+		}
+
+		long half = delay / 2;
+		return half + (long) (random.nextDouble() * (delay - half + 1));
+	}
+
+	/**
+	 * Upload a data file, retrying failed attempts.
+	 *
+	 * @param launcher
+	 *            the launcher of the build
+	 * @param args
+	 *            the CLI arguments of the upload
+	 * @param env
+	 *            the build environment
+	 * @param workDir
+	 *            the working directory of the CLI
+	 * @param uploadFile
+	 *            the data file to upload
+	 * @param connectionId
+	 *            the host connection identifier of the upload, for the upload pacing
+	 * @param failedAttempts
+	 *            the number of attempts that already failed, for example an upload done by the download CLI call
+	 * @param logger
+	 *            the build log
+	 *
+	 * @return the number of bytes uploaded and the summary of the data file
+	 *
+	 * @throws IOException
+	 *             if the data file does not exist, every attempt failed or the data file changed
+	 * @throws InterruptedException
+	 *             if the build is aborted
+	 */
+	static Result upload(Launcher launcher, ArgumentListBuilder args, EnvVars env, FilePath workDir, FilePath uploadFile,
+			String connectionId, int failedAttempts, PrintStream logger) throws IOException, InterruptedException {
+		// a change while the checksum is taken changes the modification time as well
+		long modified = uploadFile.lastModified();
+		RemoteDataFileStats.Result stats = uploadFile.act(new RemoteDataFileStats());
+		if (stats == null) {
+			throw new AbortException("The zAdviser data file " + uploadFile.getRemote() + " does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		String checksum = stats.getChecksum();
+		logger.println("Upload data file SHA-256: " + checksum); //$NON-NLS-1$
+
+		FilePath checkpoint = uploadFile.sibling(uploadFile.getName() + CHECKPOINT_SUFFIX);
+		if (checkpoint.exists() && checksum.equals(StringUtils.trim(checkpoint.readToString()))) {
+			if (!ZAdviserGlobalConfiguration.snapshot().isResendUploadedDataFiles()) {
+				logger.println("The zAdviser data file " + uploadFile.getRemote() + " was already uploaded with the same content (" //$NON-NLS-1$ //$NON-NLS-2$
+						+ checkpoint.getRemote() + "); it is not sent again. Check \"Resend uploaded data files\" in the global " //$NON-NLS-1$
+						+ "configuration to upload identical data again."); //$NON-NLS-1$
+				return new Result(0, stats);
+			}
+
+			logger.println("The zAdviser data file " + uploadFile.getRemote() //$NON-NLS-1$
+					+ " was already uploaded with the same content; it is sent again as configured"); //$NON-NLS-1$
+		}
+
+		long size = stats.getBytes();
+		UploadPacer pacer = UploadPacer.get();
+		int retries = getRetries();
+		for (int attempt = failedAttempts + 1;; attempt++) {
+			if (attempt > 1) {
+				if (attempt > retries + 1) {
+					throw new AbortException("The zAdviser upload failed " + (attempt - 1) + " times"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+
+				long delay = backoffMillis(attempt - 1, BASE_DELAY_MILLIS, MAX_DELAY_MILLIS, ThreadLocalRandom.current());
+				logger.println("Retrying the zAdviser upload in " + ZAdviserTimingAction.formatSeconds(delay) + " (retry " //$NON-NLS-1$ //$NON-NLS-2$
+						+ (attempt - 1) + " of " + retries + ')'); //$NON-NLS-1$
+				Thread.sleep(delay);
+				verify(uploadFile, size, modified);
+			}
+
+			pacer.acquire(connectionId, size, logger);
+			long start = System.currentTimeMillis();
+			int exitValue = launcher.launch().cmds(args).envs(env).stdout(logger).pwd(workDir).join();
+			if (exitValue == 0) {
+				long millis = System.currentTimeMillis() - start;
+				long bytesPerSecond = pacer.record(size, millis);
+				verify(uploadFile, size, modified);
+				checkpoint.write(checksum, StandardCharsets.UTF_8.name());
+				logger.println("Uploaded the zAdviser data file " + uploadFile.getRemote() + " (attempt " + attempt + "): " + size //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ " bytes in " + ZAdviserTimingAction.formatSeconds(millis) + ", " + bytesPerSecond / 1024 + " KB/s"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				return new Result(size, stats);
+			}
+
+			logger.println("The zAdviser upload exited with value = " + exitValue + " (attempt " + attempt + ')'); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Verify the data file still has the size and modification time it had when its checksum was taken, without reading it
+	 * again.
+	 *
+	 * @param uploadFile
+	 *            the data file
+	 * @param size
+	 *            the size of the data file when its checksum was taken
+	 * @param modified
+	 *            the modification time of the data file when its checksum was taken
+	 *
+	 * @throws IOException
+	 *             if the data file changed
+	 * @throws InterruptedException
+	 *             if the build is aborted
+	 */
+	private static void verify(FilePath uploadFile, long size, long modified) throws IOException, InterruptedException {
+		if (uploadFile.length() != size || uploadFile.lastModified() != modified) {
+			throw new AbortException("The zAdviser data file " + uploadFile.getRemote() + " changed during the upload"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * The outcome of an upload.
+	 */
+	static final class Result {
+		private final long uploadedBytes;
+		private final RemoteDataFileStats.Result stats;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param uploadedBytes
+		 *            the number of bytes sent
+		 * @param stats
+		 *            the summary of the data file, taken before the first attempt
+		 */
+		Result(long uploadedBytes, RemoteDataFileStats.Result stats) {
+			this.uploadedBytes = uploadedBytes;
+			this.stats = stats;
+		}
+
+		/**
+		 * Gets the number of bytes sent.
+		 *
+		 * @return the number of bytes; 0 if the data file was already uploaded
+		 */
+		long getUploadedBytes() {
+			return uploadedBytes;
+		}
+
+		/**
+		 * Gets the summary of the data file.
+		 *
+		 * @return the size, record count and SHA-256 checksum of the uploaded data file
+		 */
+		RemoteDataFileStats.Result getStats() {
+			return stats;
+		}
+	}
+}
@@ -20,13 +20,14 @@ package com.compuware.jenkins.zadviser.build;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.util.Collections;
-import java.util.List;
-import java.util.Properties;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
@@ -36,11 +37,7 @@ import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.verb.GET;
 import org.kohsuke.stapler.verb.POST;
 
-import com.cloudbees.plugins.credentials.CredentialsProvider;
-import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
-import com.cloudbees.plugins.credentials.domains.DomainRequirement;
 import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
-import com.compuware.jenkins.common.configuration.HostConnection;
 import com.compuware.jenkins.common.utils.ArgumentUtils;
 import com.compuware.jenkins.common.utils.CLIVersionUtils;
 import com.compuware.jenkins.common.utils.CommonConstants;
@@ -53,20 +50,17 @@ import hudson.EnvVars;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.Launcher;
-import hudson.Util;
 import hudson.model.AbstractProject;
 import hudson.model.Item;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
-import hudson.security.ACL;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Builder;
 import hudson.util.ArgumentListBuilder;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import hudson.util.Secret;
-import hudson.util.ListBoxModel.Option;
 import jenkins.model.Jenkins;
 import jenkins.tasks.SimpleBuildStep;
 import net.sf.json.JSONObject;
@@ -83,6 +77,9 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 	private String encryptedDataFile;
 	private boolean encryptData = false;
 	private boolean uploadData = true;
+	private boolean suppressDuplicates = false;
+	private boolean backgroundUpload = false;
+	private int uploadPriority = 0;
 
 	private FilePath jclFile;
 
@@ -195,6 +192,66 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 		this.uploadData = uploadData;
 	}
 
+	/**
+	 * Returns the value of the suppressDuplicates attribute. Used for databinding.
+	 *
+	 * @return the value of the suppressDuplicates attribute
+	 */
+	public boolean isSuppressDuplicates() {
+		return suppressDuplicates;
+	}
+
+	/**
+	 * Sets the suppressDuplicates attribute.
+	 *
+	 * @param suppressDuplicates
+	 *            the flag to suppress records collected by earlier runs
+	 */
+	@DataBoundSetter
+	public void setSuppressDuplicates(boolean suppressDuplicates) {
+		this.suppressDuplicates = suppressDuplicates;
+	}
+
+	/**
+	 * Returns the value of the backgroundUpload attribute. Used for databinding.
+	 *
+	 * @return the value of the backgroundUpload attribute
+	 */
+	public boolean isBackgroundUpload() {
+		return backgroundUpload;
+	}
+
+	/**
+	 * Sets the backgroundUpload attribute.
+	 *
+	 * @param backgroundUpload
+	 *            the flag to upload the data from the outbox on the controller after the build step finished
+	 */
+	@DataBoundSetter
+	public void setBackgroundUpload(boolean backgroundUpload) {
+		this.backgroundUpload = backgroundUpload;
+	}
+
+	/**
+	 * Returns the value of the uploadPriority attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadPriority attribute
+	 */
+	public int getUploadPriority() {
+		return uploadPriority;
+	}
+
+	/**
+	 * Sets the uploadPriority attribute.
+	 *
+	 * @param uploadPriority
+	 *            the priority of the background upload, higher priorities are uploaded first
+	 */
+	@DataBoundSetter
+	public void setUploadPriority(int uploadPriority) {
+		this.uploadPriority = uploadPriority;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -322,7 +379,7 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 			if (StringUtils.isBlank(encryptedDataFile)) {
 				return FormValidation.error(Messages.checkEncryptedDataFileError());
 			} else {
-				ZAdviserGlobalConfiguration zAdviserGlobalConfig = ZAdviserGlobalConfiguration.get();
+				ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfig = ZAdviserGlobalConfiguration.snapshot();
 
 				Secret accessKey = zAdviserGlobalConfig.getAccessKey();
 				if (accessKey == null) {
@@ -377,23 +434,7 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 		public ListBoxModel doFillConnectionIdItems(@AncestorInPath Jenkins context, @QueryParameter String connectionId,
 				@AncestorInPath Item project) {
 			Jenkins.get().checkPermission(Jenkins.ADMINISTER);
-			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-			HostConnection[] hostConnections = globalConfig.getHostConnections();
-
-			ListBoxModel model = new ListBoxModel();
-			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
-
-			for (HostConnection connection : hostConnections) {
-				boolean isSelected = false;
-				if (connectionId != null) {
-					isSelected = connectionId.matches(connection.getConnectionId());
-				}
-
-				model.add(new Option(connection.getDescription() + " [" + connection.getHostPort() + ']', //$NON-NLS-1$
-						connection.getConnectionId(), isSelected));
-			}
-
-			return model;
+			return ListBoxModelCache.get().getConnectionIdItems(connectionId);
 		}
 
 		/**
@@ -412,24 +453,7 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 		public ListBoxModel doFillCredentialsIdItems(@AncestorInPath Jenkins context, @QueryParameter String credentialsId,
 				@AncestorInPath Item project) {
 			Jenkins.get().checkPermission(Jenkins.ADMINISTER);
-			List<StandardUsernamePasswordCredentials> creds = CredentialsProvider.lookupCredentials(
-					StandardUsernamePasswordCredentials.class, project, ACL.SYSTEM, Collections.<DomainRequirement>emptyList());
-
-			ListBoxModel model = new ListBoxModel();
-			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
-
-			for (StandardUsernamePasswordCredentials c : creds) {
-				boolean isSelected = false;
-				if (credentialsId != null) {
-					isSelected = credentialsId.matches(c.getId());
-				}
-
-				String description = Util.fixEmptyAndTrim(c.getDescription());
-				model.add(new Option(c.getUsername() + (description != null ? " (" + description + ')' : StringUtils.EMPTY), //$NON-NLS-1$
-						c.getId(), isSelected));
-			}
-
-			return model;
+			return ListBoxModelCache.get().getCredentialsIdItems(credentialsId, project);
 		}
 
 		/**
@@ -474,26 +498,72 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 	@Override
 	public void perform(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
 			throws IOException, InterruptedException {
+		String watermarkKey = null;
+		String extractionHost = null;
+		ExtractionCoalescer.Lease lease = null;
+		CliWorkspaces.Lease cliWorkspace = null;
+		PrintStream logger = listener.getLogger();
+		ZAdviserTimingAction.Timer timer = new ZAdviserTimingAction.Timer(getDescriptor().getDisplayName());
+		ZAdviserResultAction.StepResult result = new ZAdviserResultAction.StepResult("zAdviserDownload", getConnectionId()); //$NON-NLS-1$
 		try {
 			// obtain argument values to pass to the CLI
-			PrintStream logger = listener.getLogger();
 			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+			ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+			EnvVars env = run.getEnvironment(listener);
+
+			// identical extractions run only once; followers receive a copy of the output of the leader
+			ExtractionCoalescer coalescer = ExtractionCoalescer.get();
+			String extractionKey = ExtractionCoalescer.keyOf(getConnectionId(), getCredentialsId(),
+					zAdviserGlobalConfiguration.getCustomerId(), getJcl(), zAdviserGlobalConfiguration.getInitialDateRange(),
+					getOutputOptions(), LocalDate.now());
+			long ttlMillis = ExtractionCoalescer.getTtlMillis();
+			lease = coalescer.join(extractionKey, run.getFullDisplayName(), ttlMillis);
+			while (!lease.isLeader()) {
+				timer.begin("Coalesced extraction wait"); //$NON-NLS-1$
+				logger.println("Waiting for the identical zAdviser extraction of " + lease.getOwner() + "..."); //$NON-NLS-1$ //$NON-NLS-2$
+				ExtractionCoalescer.Extraction extraction = lease.await();
+				if (extraction != null) {
+					timer.begin("Coalesced copy"); //$NON-NLS-1$
+					copyExtraction(extraction, workspace, logger);
+					timer.begin("Result summary"); //$NON-NLS-1$
+					summarize(result, workspace);
+					result.setSuccessful(true);
+					return;
+				}
+
+				logger.println("The identical zAdviser extraction of " + lease.getOwner() //$NON-NLS-1$
+						+ " did not provide its output; requesting the extraction again"); //$NON-NLS-1$
+				lease.close();
+				lease = coalescer.join(extractionKey, run.getFullDisplayName(), ttlMillis);
+			}
+
+			// only one build at a time may advance the last run date of a host connection and customer ID
+			String key = ZAdviserWatermarks.keyOf(getConnectionId(), zAdviserGlobalConfiguration.getCustomerId());
+			timer.begin("Watermark wait"); //$NON-NLS-1$
+			ZAdviserWatermarks.acquire(key, logger);
+			watermarkKey = key;
 
 			assert launcher != null;
 			VirtualChannel vChannel = launcher.getChannel();
 
+			// Prepare the agent (CLI version, workspace, JCL file and persist data) in a single round trip, reusing cached agent facts
+			assert vChannel != null;
+			timer.begin("Agent preparation"); //$NON-NLS-1$
+			String cliLocation = globalConfig.getTopazCLILocation(launcher);
+			AgentFactsCache agentFactsCache = AgentFactsCache.get();
+			RemoteBuildPreparation.Result preparation = agentFactsCache.prepare(vChannel, workspace, cliLocation, getJcl(),
+					env.get("JENKINS_HOME"), watermarkKey); //$NON-NLS-1$
+			jclFile = new FilePath(vChannel, preparation.getJclFilePath());
+
 			// Check CLI compatibility
-			FilePath cliDirectory = new FilePath(vChannel, globalConfig.getTopazCLILocation(launcher));
-			String cliVersion = CLIVersionUtils.getCLIVersion(cliDirectory, ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION);
+			String cliVersion = preparation.getCliVersion();
 			CLIVersionUtils.checkCLICompatibility(cliVersion, ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION);
 
-			assert vChannel != null;
-			Properties remoteProperties = vChannel.call(new RemoteSystemProperties());
-			String remoteFileSeparator = remoteProperties.getProperty(CommonConstants.FILE_SEPARATOR_PROPERTY_KEY);
+			String remoteFileSeparator = preparation.getFileSeparator();
 			boolean isShell = launcher.isUnix();
 			String osFile = isShell ? ZAdviserUtilitiesConstants.ZADVISER_CLI_SH : ZAdviserUtilitiesConstants.ZADVISER_CLI_BAT;
 
-			String cliScriptFile = globalConfig.getTopazCLILocation(launcher) + remoteFileSeparator + osFile;
+			String cliScriptFile = cliLocation + remoteFileSeparator + osFile;
 			logger.println("cliScriptFile: " + cliScriptFile); //$NON-NLS-1$
 			String cliScriptFileRemote = new FilePath(vChannel, cliScriptFile).getRemote();
 			logger.println("cliScriptFileRemote: " + cliScriptFileRemote); //$NON-NLS-1$
@@ -501,89 +571,366 @@ public class ZAdviserDownloadData extends Builder implements SimpleBuildStep {
 			ArgumentListBuilder args = globalConfig.getArgumentBuilder(cliScriptFile, cliVersion, run.getParent(), getCredentialsId(), getConnectionId());
 
 			// Get workspace configuration
-			String topazCliWorkspace = workspace.getRemote() + remoteFileSeparator + CommonConstants.TOPAZ_CLI_WORKSPACE
-					+ UUID.randomUUID().toString();
+			cliWorkspace = CliWorkspaces.get().lease(workspace, remoteFileSeparator, logger);
+			String topazCliWorkspace = cliWorkspace.getPath();
 			logger.println("topazCliWorkspace: " + topazCliWorkspace); //$NON-NLS-1$
 			args.add(CommonConstants.DATA_PARM, topazCliWorkspace);
 
-			// Get download configuration
-			args.add(ZAdviserUtilitiesConstants.BUILD_STEP_PARAM, ZAdviserUtilitiesConstants.DOWNLOAD_STEP);
-			ZAdviserGlobalConfiguration zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.get();
-
-			jclFile = workspace.createTextTempFile("jcl", ".txt", getJcl()); //$NON-NLS-1$ //$NON-NLS-2$
 			String escapedJclFileName = ArgumentUtils.escapeForScript(jclFile.getRemote());
 			logger.println("JCL file path: " + escapedJclFileName); //$NON-NLS-1$
-			args.add(ZAdviserUtilitiesConstants.JCL_FILE_PATH_PARM, escapedJclFileName);
+			addDownloadArguments(args, jclFile.getRemote(), zAdviserGlobalConfiguration, preparation.getPersistDataPath());
+
+			FilePath workDir = new FilePath(vChannel, workspace.getRemote());
 
-			String unencryptedDataFileStr = getUnencryptedDataFile();
-			if (StringUtils.isNotBlank(unencryptedDataFileStr)) {
-				args.add(ZAdviserUtilitiesConstants.UNENCRYPTED_DATA_FILE_PARM, ArgumentUtils.escapeForScript(unencryptedDataFileStr));
+			// limit the extraction jobs submitted to the host at the same time
+			timer.begin("Extraction slot wait"); //$NON-NLS-1$
+			String host = ExtractionScheduler.hostOf(getConnectionId());
+			ExtractionScheduler.get().acquire(host, ExtractionScheduler.getLimit(), run.getQueueId(), logger);
+			extractionHost = host;
+
+			// remember the data file to upload, to tell a failed upload from a failed collection
+			FilePath uploadFile = isUploadData() && !isBackgroundUpload() && StringUtils.isNotBlank(getUploadedDataFile())
+					? workDir.child(getUploadedDataFile())
+					: null;
+			long uploadFileModified = uploadFile != null && uploadFile.exists() ? uploadFile.lastModified() : 0;
+
+			// the collection continues where the previous one ended, or starts the initial date range before today
+			long windowStart = new FilePath(vChannel, preparation.getPersistDataPath())
+					.child(StringUtils.removeStart(ZAdviserUtilitiesConstants.ZADVISER_LAST_RUN_FILE, "/")).lastModified(); //$NON-NLS-1$
+			int initialDateRange = NumberUtils.toInt(StringUtils.trim(zAdviserGlobalConfiguration.getInitialDateRange()));
+			if (windowStart == 0 && initialDateRange > 0) {
+				windowStart = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(initialDateRange);
 			}
 
-			String initialDateRangeStr = zAdviserGlobalConfiguration.getInitialDateRange();
-			if (StringUtils.isNotBlank(initialDateRangeStr)) {
-				args.add(ZAdviserUtilitiesConstants.INITIAL_DATE_RANGE_PARM, initialDateRangeStr);
+			// invoke the CLI (execute the batch/shell script)
+			timer.begin("CLI launch"); //$NON-NLS-1$
+			int exitValue = launcher.launch().cmds(args).envs(env).stdout(logger).pwd(workDir).join();
+			result.setWindow(windowStart, System.currentTimeMillis());
+			ExtractionScheduler.get().release(extractionHost);
+			extractionHost = null;
+
+			if (exitValue != 0 && isEncryptData() && uploadFile != null && uploadFile.exists()
+					&& uploadFile.lastModified() != uploadFileModified) {
+				// the CLI only encrypts the data once it is collected completely, so a freshly written encrypted file means the
+				// CLI failed after the collection; retry the upload alone instead of submitting another extraction job. An
+				// unencrypted data file is written while it is collected, so a failure then fails the build step as before.
+				logger.println("Call " + osFile + " exited with value = " + exitValue //$NON-NLS-1$ //$NON-NLS-2$
+						+ " after writing the encrypted zAdviser data file; retrying the upload"); //$NON-NLS-1$
+				timer.begin("Upload retry"); //$NON-NLS-1$
+				ArgumentListBuilder uploadArgs = new ArgumentListBuilder(cliScriptFileRemote);
+				uploadArgs.add(CommonConstants.HOST_PARM,
+						ArgumentUtils.escapeForScript(globalConfig.getHostConnection(getConnectionId()).getHost()));
+				uploadArgs.add(CommonConstants.DATA_PARM, topazCliWorkspace);
+				ZAdviserUploadData.addUploadArguments(uploadArgs, zAdviserGlobalConfiguration, getUploadedDataFile(),
+						preparation.getPersistDataPath());
+				result.setUploadedBytes(UploadRetry.upload(launcher, uploadArgs, env, workDir, uploadFile, getConnectionId(), 1, logger)
+						.getUploadedBytes());
+				exitValue = 0;
+			} else if (exitValue == 0 && uploadFile != null) {
+				// the upload done by the CLI call counts against the upload pacing rates
+				long uploaded = uploadFile.length();
+				UploadPacer.get().charge(getConnectionId(), uploaded);
+				result.setUploadedBytes(uploaded);
 			}
 
-			if (isEncryptData() || isUploadData()) {
-				// we need the access key for encryption in order to obtain the security rules
-				// we need the access key for upload in order to send data via SFTP
-				Secret accessKey = zAdviserGlobalConfiguration.getAccessKey();
-				if (accessKey != null && StringUtils.isNotBlank(accessKey.getPlainText())) {
-					args.add(ZAdviserUtilitiesConstants.ACCESS_KEY_PARM);
-					args.add(accessKey.getPlainText(), true);
+			if (exitValue != 0) {
+				throw new AbortException("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
+			} else {
+				logger.println("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
+				if (isSuppressDuplicates()) {
+					timer.begin("Duplicate suppression"); //$NON-NLS-1$
+					suppressDuplicates(workspace, preparation.getPersistDataPath(), zAdviserGlobalConfiguration, logger);
 				}
 
-				String customerId = zAdviserGlobalConfiguration.getCustomerId();
-				if (StringUtils.isNotEmpty(customerId)) {
-					args.add(ZAdviserUtilitiesConstants.CUSTOMER_ID_PARM, customerId);
+				if (isUploadData() && isBackgroundUpload()) {
+					timer.begin("Outbox queueing"); //$NON-NLS-1$
+					UploadOutbox.get().enqueue(run, getConnectionId(), workspace.child(getUploadedDataFile()), getUploadPriority(),
+							logger);
 				}
-			}
 
-			if (isEncryptData()) {
-				Secret encryptionKey = zAdviserGlobalConfiguration.getEncryptionKey();
-				if (encryptionKey != null && StringUtils.isNotBlank(encryptionKey.getPlainText())) {
-					args.add(ZAdviserUtilitiesConstants.ENCRYPTION_KEY_PARM);
-					args.add(encryptionKey.getPlainText(), true);
-				}
+				timer.begin("Result summary"); //$NON-NLS-1$
+				summarize(result, workspace);
 
-				String encryptedDataFileStr = getEncryptedDataFile();
-				if (StringUtils.isNotBlank(encryptedDataFileStr)) {
-					args.add(ZAdviserUtilitiesConstants.ENCRYPTED_DATA_FILE_PARM, ArgumentUtils.escapeForScript(encryptedDataFileStr));
+				if (lease.isWanted()) {
+					timer.begin("Coalesced copy"); //$NON-NLS-1$
+					lease.complete(storeExtraction(lease, workspace, logger));
+				} else {
+					lease.complete(false);
 				}
+
+				result.setSuccessful(true);
+			}
+		} finally {
+			// release what other builds wait for first; deleting the CLI workspace can be interrupted by a second abort
+			if (lease != null) {
+				lease.close();
 			}
 
-			if (isUploadData()) {
-				String uploadDataFileStr;
-				if (isEncryptData()) {
-					uploadDataFileStr = getEncryptedDataFile();
-				} else {
-					uploadDataFileStr = getUnencryptedDataFile();
+			if (extractionHost != null) {
+				ExtractionScheduler.get().release(extractionHost);
+			}
+
+			if (watermarkKey != null) {
+				ZAdviserWatermarks.release(watermarkKey);
+			}
+
+			try {
+				if (cliWorkspace != null) {
+					// failed CLI calls must not leave their CLI workspace behind either
+					timer.begin("Workspace cleanup"); //$NON-NLS-1$
+					cliWorkspace.close();
 				}
+			} finally {
+				try {
+					cleanUp();
+				} finally {
+					result.setTiming(timer.attach(run, logger));
+					ZAdviserResultAction.record(run, result);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add the size, record count and checksum of the data files of this build step to its result.
+	 *
+	 * @param result
+	 *            the result of this build step
+	 * @param workspace
+	 *            the workspace holding the data files
+	 *
+	 * @throws IOException
+	 *             if a data file cannot be read
+	 * @throws InterruptedException
+	 *             if the build is aborted
+	 */
+	private void summarize(ZAdviserResultAction.StepResult result, FilePath workspace) throws IOException, InterruptedException {
+		if (StringUtils.isNotBlank(getUnencryptedDataFile())) {
+			RemoteDataFileStats.Result stats = workspace.child(getUnencryptedDataFile()).act(new RemoteDataFileStats());
+			if (stats != null) {
+				result.setDataFile(stats);
+			}
+		}
 
-				if (StringUtils.isNotBlank(uploadDataFileStr)) {
-					args.add(ZAdviserUtilitiesConstants.UPLOAD_DATA_FILE_PARM, ArgumentUtils.escapeForScript(uploadDataFileStr));
+		if (isEncryptData() && StringUtils.isNotBlank(getEncryptedDataFile())) {
+			RemoteDataFileStats.Result stats = workspace.child(getEncryptedDataFile()).act(new RemoteDataFileStats());
+			if (stats != null) {
+				result.setEncryptedDataFile(stats);
+			}
+		}
+	}
+
+	/**
+	 * Returns the data file the CLI uploads when the data is uploaded by this build step.
+	 *
+	 * @return the encrypted data file if the data is encrypted, otherwise the unencrypted data file
+	 */
+	private String getUploadedDataFile() {
+		return isEncryptData() ? getEncryptedDataFile() : getUnencryptedDataFile();
+	}
+
+	/**
+	 * Returns the output options of this build step that change the output files of an extraction.
+	 *
+	 * @return the output options, part of the key of identical extractions
+	 */
+	String getOutputOptions() {
+		return "encrypt=" + isEncryptData() + ",upload=" + isUploadData() + ",backgroundUpload=" + isBackgroundUpload() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ",suppressDuplicates=" + isSuppressDuplicates(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the output files of this build step, by the name of their copy.
+	 *
+	 * @return the output file paths relative to the workspace
+	 */
+	private Map<String, String> getOutputFiles() {
+		Map<String, String> outputFiles = new LinkedHashMap<>();
+		if (StringUtils.isNotBlank(getUnencryptedDataFile())) {
+			outputFiles.put("unencrypted", getUnencryptedDataFile()); //$NON-NLS-1$
+		}
+		if (isEncryptData() && StringUtils.isNotBlank(getEncryptedDataFile())) {
+			outputFiles.put("encrypted", getEncryptedDataFile()); //$NON-NLS-1$
+		}
+
+		return outputFiles;
+	}
+
+	/**
+	 * Copy the output files of the extraction run by this build to the controller, for the builds requesting the same
+	 * extraction.
+	 *
+	 * @param lease
+	 *            the leader lease of the extraction
+	 * @param workspace
+	 *            the workspace holding the output files
+	 * @param logger
+	 *            the build log
+	 *
+	 * @return TRUE if the output files were copied
+	 *
+	 * @throws InterruptedException
+	 *             if the build is aborted while copying
+	 */
+	private boolean storeExtraction(ExtractionCoalescer.Lease lease, FilePath workspace, PrintStream logger)
+			throws InterruptedException {
+		try {
+			for (Map.Entry<String, String> outputFile : getOutputFiles().entrySet()) {
+				FilePath source = workspace.child(outputFile.getValue());
+				if (source.exists()) {
+					source.copyTo(new FilePath(lease.getFile(outputFile.getKey())));
 				}
 			}
 
-			// create the CLI workspace (in case it doesn't already exist)
-			EnvVars env = run.getEnvironment(listener);
-			args.add(ZAdviserUtilitiesConstants.PERSIST_DATA_PARM, ArgumentUtils.escapeForScript(env.get("JENKINS_HOME"))); //$NON-NLS-1$
-			FilePath workDir = new FilePath(vChannel, workspace.getRemote());
-			workDir.mkdirs();
+			return true;
+		} catch (IOException e) {
+			logger.println("Unable to keep the zAdviser data for identical extractions: " + e.getMessage()); //$NON-NLS-1$
+			return false;
+		}
+	}
 
-			// invoke the CLI (execute the batch/shell script)
-			int exitValue = launcher.launch().cmds(args).envs(env).stdout(logger).pwd(workDir).join();
-			if (exitValue != 0) {
-				throw new AbortException("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
-			} else {
-				logger.println("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
-				FilePath topazDataDir = new FilePath(vChannel, topazCliWorkspace);
-				topazDataDir.deleteRecursive();
+	/**
+	 * Copy the output files of an identical extraction run by another build to the workspace.
+	 *
+	 * @param extraction
+	 *            the identical extraction
+	 * @param workspace
+	 *            the workspace receiving the output files
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws IOException
+	 *             if the output files cannot be copied
+	 * @throws InterruptedException
+	 *             if the build is aborted while copying
+	 */
+	private void copyExtraction(ExtractionCoalescer.Extraction extraction, FilePath workspace, PrintStream logger)
+			throws IOException, InterruptedException {
+		for (Map.Entry<String, String> outputFile : getOutputFiles().entrySet()) {
+			FilePath copy = new FilePath(extraction.getFile(outputFile.getKey()));
+			if (copy.exists()) {
+				copy.copyTo(workspace.child(outputFile.getValue()));
 			}
-		} finally {
-			cleanUp();
 		}
+
+		logger.println("Using the zAdviser data of the identical extraction of " + extraction.getOwner() //$NON-NLS-1$
+				+ " instead of submitting another extraction job"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Add the collection arguments of this build step to the CLI arguments.
+	 *
+	 * @param args
+	 *            the CLI arguments holding the host connection and credentials arguments
+	 * @param jclFilePath
+	 *            the remote path of the temporary JCL file
+	 * @param zAdviserGlobalConfiguration
+	 *            the zAdviser global configuration settings
+	 * @param persistDataPath
+	 *            the persist data directory of the host connection and customer ID
+	 */
+	void addDownloadArguments(ArgumentListBuilder args, String jclFilePath, ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration,
+			String persistDataPath) {
+		// Get download configuration
+		args.add(ZAdviserUtilitiesConstants.BUILD_STEP_PARAM, ZAdviserUtilitiesConstants.DOWNLOAD_STEP);
+		args.add(ZAdviserUtilitiesConstants.JCL_FILE_PATH_PARM, ArgumentUtils.escapeForScript(jclFilePath));
+
+		String unencryptedDataFileStr = getUnencryptedDataFile();
+		if (StringUtils.isNotBlank(unencryptedDataFileStr)) {
+			args.add(ZAdviserUtilitiesConstants.UNENCRYPTED_DATA_FILE_PARM, ArgumentUtils.escapeForScript(unencryptedDataFileStr));
+		}
+
+		String initialDateRangeStr = zAdviserGlobalConfiguration.getInitialDateRange();
+		if (StringUtils.isNotBlank(initialDateRangeStr)) {
+			args.add(ZAdviserUtilitiesConstants.INITIAL_DATE_RANGE_PARM, initialDateRangeStr);
+		}
+
+		if (isEncryptData() || isUploadData()) {
+			// we need the access key for encryption in order to obtain the security rules
+			// we need the access key for upload in order to send data via SFTP
+			String accessKey = zAdviserGlobalConfiguration.getAccessKeyText();
+			if (StringUtils.isNotBlank(accessKey)) {
+				args.add(ZAdviserUtilitiesConstants.ACCESS_KEY_PARM);
+				args.add(accessKey, true);
+			}
+
+			String customerId = zAdviserGlobalConfiguration.getCustomerId();
+			if (StringUtils.isNotEmpty(customerId)) {
+				args.add(ZAdviserUtilitiesConstants.CUSTOMER_ID_PARM, customerId);
+			}
+		}
+
+		if (isEncryptData()) {
+			String encryptionKey = zAdviserGlobalConfiguration.getEncryptionKeyText();
+			if (StringUtils.isNotBlank(encryptionKey)) {
+				args.add(ZAdviserUtilitiesConstants.ENCRYPTION_KEY_PARM);
+				args.add(encryptionKey, true);
+			}
+
+			String encryptedDataFileStr = getEncryptedDataFile();
+			if (StringUtils.isNotBlank(encryptedDataFileStr)) {
+				args.add(ZAdviserUtilitiesConstants.ENCRYPTED_DATA_FILE_PARM, ArgumentUtils.escapeForScript(encryptedDataFileStr));
+			}
+		}
+
+		// a background upload is run from the outbox on the controller once the data is collected
+		if (isUploadData() && !isBackgroundUpload()) {
+			String uploadDataFileStr = getUploadedDataFile();
+			if (StringUtils.isNotBlank(uploadDataFileStr)) {
+				args.add(ZAdviserUtilitiesConstants.UPLOAD_DATA_FILE_PARM, ArgumentUtils.escapeForScript(uploadDataFileStr));
+			}
+		}
+
+		// the CLI workspace and persist data directory were created (in case they didn't already exist) while preparing the agent
+		args.add(ZAdviserUtilitiesConstants.PERSIST_DATA_PARM, ArgumentUtils.escapeForScript(persistDataPath));
+	}
+
+	/**
+	 * Remove the records of the unencrypted data file that were already uploaded by an earlier run.
+	 * <p>
+	 * Only possible when the CLI did not encrypt or upload the data file itself; the records kept are remembered once the data
+	 * file is uploaded by the zAdviser upload build step.
+	 *
+	 * @param workspace
+	 *            the build workspace
+	 * @param persistDataPath
+	 *            the persist data directory of the host connection and customer ID
+	 * @param zAdviserGlobalConfiguration
+	 *            the zAdviser global configuration settings
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws IOException
+	 *             if the data file could not be filtered
+	 * @throws InterruptedException
+	 *             if the remote call is interrupted
+	 */
+	private void suppressDuplicates(FilePath workspace, String persistDataPath,
+			ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration, PrintStream logger) throws IOException, InterruptedException {
+		if (isEncryptData() || isUploadData()) {
+			logger.println("Duplicate records are only suppressed when the zAdviser data is neither encrypted nor uploaded by this step."); //$NON-NLS-1$
+			return;
+		}
+
+		int retentionDays = getDuplicateRetentionDays(zAdviserGlobalConfiguration);
+		RemoteDuplicateSuppression.Result result = workspace.child(getUnencryptedDataFile())
+				.act(new RemoteDuplicateSuppression(persistDataPath, retentionDays));
+		logger.println("Suppressed " + result.getDuplicates() + " duplicate records of " + result.getRecords() //$NON-NLS-1$ //$NON-NLS-2$
+				+ " records collected (retention: " + retentionDays + " days)"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the configured number of days collected records are remembered for duplicate suppression.
+	 *
+	 * @param zAdviserGlobalConfiguration
+	 *            the zAdviser global configuration settings
+	 *
+	 * @return the retention in days, between 1 and {@link ZAdviserUtilitiesConstants#MAX_DUPLICATE_RETENTION_DAYS}
+	 */
+	static int getDuplicateRetentionDays(ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration) {
+		int retentionDays = NumberUtils.toInt(StringUtils.trim(zAdviserGlobalConfiguration.getDuplicateRetentionDays()),
+				ZAdviserUtilitiesConstants.DEFAULT_DUPLICATE_RETENTION_DAYS);
+		return Math.min(Math.max(retentionDays, 1), ZAdviserUtilitiesConstants.MAX_DUPLICATE_RETENTION_DAYS);
 	}
 
 	/**
@@ -0,0 +1,840 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.verb.POST;
+
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.configuration.HostConnection;
+import com.compuware.jenkins.zadviser.Messages;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.console.LineTransformationOutputStream;
+import hudson.model.AbstractProject;
+import hudson.model.Item;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.tasks.BuildStepDescriptor;
+import hudson.tasks.Builder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import jenkins.model.Jenkins;
+import jenkins.tasks.SimpleBuildStep;
+import net.sf.json.JSONObject;
+
+/**
+ * Captures the configuration information for the zAdviser build step downloading the data of several host connections in
+ * parallel.
+ * <p>
+ * Every host connection is collected by its own {@link ZAdviserDownloadData} with the same JCL, credentials and options,
+ * writing to data files named after the host connection. A failed host connection does not stop the others; the build is
+ * marked unstable unless every host connection failed.
+ */
+public class ZAdviserMultiDownloadData extends Builder implements SimpleBuildStep {
+	// Member Variables
+	private String connectionIds;
+	private String credentialsId;
+	private String jcl;
+	private String unencryptedDataFile;
+	private String encryptedDataFile;
+	private boolean encryptData = false;
+	private boolean uploadData = true;
+	private boolean suppressDuplicates = false;
+	private boolean backgroundUpload = false;
+	private int uploadPriority = 0;
+	private boolean mergeData = false;
+	private int maxParallel = ZAdviserUtilitiesConstants.DEFAULT_MAX_PARALLEL_DOWNLOADS;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param connectionIds
+	 *            the host connection identifiers separated by commas, blanks or new lines; empty for all host connections
+	 * @param credentialsId
+	 *            unique id of the selected credential
+	 * @param jcl
+	 *            the jcl used to instruct zAdviser to collect
+	 * @param encryptedDataFile
+	 *            encrypted data file, the name of the host connection is added to it
+	 * @param unencryptedDataFile
+	 *            unencrypted data file, the name of the host connection is added to it
+	 */
+	@DataBoundConstructor
+	public ZAdviserMultiDownloadData(String connectionIds, String credentialsId, String jcl, String encryptedDataFile,
+			String unencryptedDataFile) {
+		this.connectionIds = StringUtils.trimToEmpty(connectionIds);
+		this.credentialsId = StringUtils.trimToEmpty(credentialsId);
+		this.jcl = StringUtils.trimToEmpty(jcl);
+		this.encryptedDataFile = StringUtils.trimToEmpty(encryptedDataFile);
+		this.unencryptedDataFile = StringUtils.trimToEmpty(unencryptedDataFile);
+	}
+
+	/**
+	 * Gets the value of the connectionIds attribute.
+	 *
+	 * @return <code>String</code> value of connectionIds
+	 */
+	public String getConnectionIds() {
+		return connectionIds;
+	}
+
+	/**
+	 * Gets the value of the credentialsId attribute.
+	 *
+	 * @return <code>String</code> value of credentialsId
+	 */
+	public String getCredentialsId() {
+		return credentialsId;
+	}
+
+	/**
+	 * Gets the value of the jcl attribute.
+	 *
+	 * @return <code>String</code> value of jcl
+	 */
+	public String getJcl() {
+		return jcl;
+	}
+
+	/**
+	 * Gets the value of the encryptedDataFile attribute.
+	 *
+	 * @return <code>String</code> value of encryptedDataFile
+	 */
+	public String getEncryptedDataFile() {
+		return encryptedDataFile;
+	}
+
+	/**
+	 * Gets the value of the unencryptedDataFile attribute.
+	 *
+	 * @return <code>String</code> value of unencryptedDataFile
+	 */
+	public String getUnencryptedDataFile() {
+		return unencryptedDataFile;
+	}
+
+	/**
+	 * Returns the value of the encryptData attribute. Used for databinding.
+	 *
+	 * @return the value of the encryptData attribute
+	 */
+	public boolean isEncryptData() {
+		return encryptData;
+	}
+
+	/**
+	 * Sets the encryptData attribute.
+	 *
+	 * @param encryptData
+	 *            the encrypt data flag
+	 */
+	@DataBoundSetter
+	public void setEncryptData(boolean encryptData) {
+		this.encryptData = encryptData;
+	}
+
+	/**
+	 * Returns the value of the uploadData attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadData attribute
+	 */
+	public boolean isUploadData() {
+		return uploadData;
+	}
+
+	/**
+	 * Sets the uploadData attribute.
+	 *
+	 * @param uploadData
+	 *            the upload data flag
+	 */
+	@DataBoundSetter
+	public void setUploadData(boolean uploadData) {
+		this.uploadData = uploadData;
+	}
+
+	/**
+	 * Returns the value of the suppressDuplicates attribute. Used for databinding.
+	 *
+	 * @return the value of the suppressDuplicates attribute
+	 */
+	public boolean isSuppressDuplicates() {
+		return suppressDuplicates;
+	}
+
+	/**
+	 * Sets the suppressDuplicates attribute.
+	 *
+	 * @param suppressDuplicates
+	 *            the flag to drop records already collected by earlier runs
+	 */
+	@DataBoundSetter
+	public void setSuppressDuplicates(boolean suppressDuplicates) {
+		this.suppressDuplicates = suppressDuplicates;
+	}
+
+	/**
+	 * Returns the value of the backgroundUpload attribute. Used for databinding.
+	 *
+	 * @return the value of the backgroundUpload attribute
+	 */
+	public boolean isBackgroundUpload() {
+		return backgroundUpload;
+	}
+
+	/**
+	 * Sets the backgroundUpload attribute.
+	 *
+	 * @param backgroundUpload
+	 *            the flag to upload the data from the outbox on the controller after the build step finished
+	 */
+	@DataBoundSetter
+	public void setBackgroundUpload(boolean backgroundUpload) {
+		this.backgroundUpload = backgroundUpload;
+	}
+
+	/**
+	 * Returns the value of the uploadPriority attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadPriority attribute
+	 */
+	public int getUploadPriority() {
+		return uploadPriority;
+	}
+
+	/**
+	 * Sets the uploadPriority attribute.
+	 *
+	 * @param uploadPriority
+	 *            the outbox priority of the background uploads, higher first
+	 */
+	@DataBoundSetter
+	public void setUploadPriority(int uploadPriority) {
+		this.uploadPriority = uploadPriority;
+	}
+
+	/**
+	 * Returns the value of the mergeData attribute. Used for databinding.
+	 *
+	 * @return the value of the mergeData attribute
+	 */
+	public boolean isMergeData() {
+		return mergeData;
+	}
+
+	/**
+	 * Sets the mergeData attribute.
+	 *
+	 * @param mergeData
+	 *            the flag to also merge the unencrypted data files of the host connections into the unencrypted data file
+	 */
+	@DataBoundSetter
+	public void setMergeData(boolean mergeData) {
+		this.mergeData = mergeData;
+	}
+
+	/**
+	 * Returns the value of the maxParallel attribute. Used for databinding.
+	 *
+	 * @return the value of the maxParallel attribute
+	 */
+	public int getMaxParallel() {
+		return maxParallel;
+	}
+
+	/**
+	 * Sets the maxParallel attribute.
+	 *
+	 * @param maxParallel
+	 *            the number of host connections collected at the same time
+	 */
+	@DataBoundSetter
+	public void setMaxParallel(int maxParallel) {
+		this.maxParallel = maxParallel;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.tasks.Builder#getDescriptor()
+	 */
+	@Override
+	public DescriptorImpl getDescriptor() {
+		return (DescriptorImpl) super.getDescriptor();
+	}
+
+	/**
+	 * DescriptorImpl is used to create instances of <code>ZAdviserMultiDownloadData</code>. The fields shared with the zAdviser
+	 * download build step are validated by the descriptor of that build step.
+	 */
+	@Symbol("zAdviserMultiDownload")
+	@Extension
+	public static final class DescriptorImpl extends BuildStepDescriptor<Builder> {
+		/**
+		 * Constructor.
+		 * <p>
+		 * In order to load the persisted global configuration, you have to call load() in the constructor.
+		 */
+		public DescriptorImpl() {
+			load();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.tasks.BuildStepDescriptor#isApplicable(java.lang.Class)
+		 */
+		@SuppressWarnings("rawtypes")
+		@Override
+		public boolean isApplicable(Class<? extends AbstractProject> aClass) {
+			// Indicates that this builder can be used with all kinds of project types
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.Descriptor#configure(org.kohsuke.stapler.StaplerRequest, net.sf.json.JSONObject)
+		 */
+		@Override
+		public boolean configure(StaplerRequest req, JSONObject formData) throws FormException {
+			save();
+			return super.configure(req, formData);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.model.Descriptor#getDisplayName()
+		 */
+		@Override
+		public String getDisplayName() {
+			return Messages.zAdviserMultiDownloadDataDescriptorDisplayName();
+		}
+
+		/**
+		 * Returns the descriptor of the zAdviser download build step.
+		 *
+		 * @return the download descriptor
+		 */
+		private ZAdviserDownloadData.DescriptorImpl getDownloadDescriptor() {
+			return Jenkins.get().getDescriptorByType(ZAdviserDownloadData.DescriptorImpl.class);
+		}
+
+		/**
+		 * Validator for the 'Host connections' field.
+		 *
+		 * @param connectionIds
+		 *            the host connection identifiers passed from the config.jelly "connectionIds" field
+		 *
+		 * @return validation message
+		 */
+		@POST
+		public FormValidation doCheckConnectionIds(@QueryParameter String connectionIds) {
+			Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+			for (String connectionId : splitConnectionIds(connectionIds)) {
+				if (globalConfig.getHostConnection(connectionId) == null) {
+					return FormValidation.error(Messages.checkUnknownHostConnectionError(connectionId));
+				}
+			}
+
+			return FormValidation.ok();
+		}
+
+		/**
+		 * Validator for the 'Login credentials' field.
+		 *
+		 * @param credentialsId
+		 *            login credentials passed from the config.jelly "credentialsId" field
+		 *
+		 * @return validation message
+		 */
+		@POST
+		public FormValidation doCheckCredentialsId(@QueryParameter String credentialsId) {
+			return getDownloadDescriptor().doCheckCredentialsId(credentialsId);
+		}
+
+		/**
+		 * Validator for the 'JCL' field.
+		 *
+		 * @param jcl
+		 *            the jcl passed from the config.jelly "jcl" field
+		 *
+		 * @return validation message
+		 */
+		@POST
+		public FormValidation doCheckJcl(@QueryParameter String jcl) {
+			return getDownloadDescriptor().doCheckJcl(jcl);
+		}
+
+		/**
+		 * Validator for the 'Encrypted Data File' field.
+		 *
+		 * @param encryptedDataFile
+		 *            the encrypted data file passed from the config.jelly "encryptedDataFile" field
+		 *
+		 * @return validation message
+		 */
+		@POST
+		public FormValidation doCheckEncryptedDataFile(@QueryParameter String encryptedDataFile) {
+			return getDownloadDescriptor().doCheckEncryptedDataFile(encryptedDataFile);
+		}
+
+		/**
+		 * Validator for the 'Unencrypted Data File' field.
+		 *
+		 * @param unencryptedDataFile
+		 *            the unencrypted data file passed from the config.jelly "unencryptedDataFile" field
+		 *
+		 * @return validation message
+		 */
+		@POST
+		public FormValidation doCheckUnencryptedDataFile(@QueryParameter String unencryptedDataFile) {
+			return getDownloadDescriptor().doCheckUnencryptedDataFile(unencryptedDataFile);
+		}
+
+		/**
+		 * Validator for the 'Parallel collections' field.
+		 *
+		 * @param maxParallel
+		 *            the number of host connections collected at the same time passed from the config.jelly "maxParallel" field
+		 *
+		 * @return validation message
+		 */
+		@POST
+		public FormValidation doCheckMaxParallel(@QueryParameter String maxParallel) {
+			Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+			if (NumberUtils.toInt(StringUtils.trim(maxParallel), 0) < 1) {
+				return FormValidation.error(Messages.checkMaxParallelError());
+			}
+
+			return FormValidation.ok();
+		}
+
+		/**
+		 * Fills in the Login Credentials selection box with applicable connections.
+		 *
+		 * @param context
+		 *            filter for login credentials
+		 * @param credentialsId
+		 *            existing login credentials; can be null
+		 * @param project
+		 *            the Jenkins project
+		 *
+		 * @return login credentials selection
+		 */
+		@POST
+		public ListBoxModel doFillCredentialsIdItems(@AncestorInPath Jenkins context, @QueryParameter String credentialsId,
+				@AncestorInPath Item project) {
+			return getDownloadDescriptor().doFillCredentialsIdItems(context, credentialsId, project);
+		}
+
+		/**
+		 * Get the default JCL.
+		 *
+		 * @return default JCL
+		 */
+		public String getDefaultJcl() {
+			return getDownloadDescriptor().getDefaultJcl();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.tasks.SimpleBuildStep#perform(hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)
+	 */
+	@Override
+	public void perform(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
+			throws IOException, InterruptedException {
+		PrintStream logger = listener.getLogger();
+		List<Collection> collections = getCollections(CpwrGlobalConfiguration.get());
+		if (collections.isEmpty()) {
+			throw new AbortException(Messages.checkHostConnectionError());
+		}
+
+		int parallel = Math.max(1, Math.min(getMaxParallel(), collections.size()));
+		logger.println("Collecting zAdviser data of " + collections.size() + " host connections, " + parallel //$NON-NLS-1$ //$NON-NLS-2$
+				+ " at a time"); //$NON-NLS-1$
+
+		ExecutorService executor = Executors.newFixedThreadPool(parallel,
+				new NamingThreadFactory(new DaemonThreadFactory(), "zAdviser collection " + run.getFullDisplayName())); //$NON-NLS-1$
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (Collection collection : collections) {
+				futures.add(executor.submit(() -> {
+					collection.perform(run, workspace, launcher, logger);
+					return null;
+				}));
+			}
+
+			for (int i = 0; i < futures.size(); i++) {
+				collections.get(i).complete(futures.get(i));
+			}
+		} finally {
+			// an aborted build stops the collections still running
+			executor.shutdownNow();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+
+		int failed = 0;
+		logger.println("zAdviser collection status:"); //$NON-NLS-1$
+		for (Collection collection : collections) {
+			logger.println("  " + collection.getStatus()); //$NON-NLS-1$
+			if (collection.getError() != null) {
+				failed++;
+			}
+		}
+
+		if (failed == collections.size()) {
+			throw new AbortException("The zAdviser data of every host connection failed to download"); //$NON-NLS-1$
+		}
+
+		if (isMergeData() && StringUtils.isNotBlank(getUnencryptedDataFile())) {
+			mergeData(workspace, collections, logger);
+		}
+
+		if (failed > 0) {
+			logger.println("The zAdviser data of " + failed + " of " + collections.size() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " host connections failed to download"); //$NON-NLS-1$
+			run.setResult(Result.UNSTABLE);
+		}
+	}
+
+	/**
+	 * Merge the unencrypted data files of the host connections that were collected into the unencrypted data file.
+	 *
+	 * @param workspace
+	 *            the workspace holding the data files
+	 * @param collections
+	 *            the collections of the host connections
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws IOException
+	 *             if the data files cannot be merged
+	 * @throws InterruptedException
+	 *             if the build is aborted while merging
+	 */
+	private void mergeData(FilePath workspace, List<Collection> collections, PrintStream logger)
+			throws IOException, InterruptedException {
+		List<String> dataFilePaths = new ArrayList<>();
+		for (Collection collection : collections) {
+			FilePath dataFile = workspace.child(collection.getDownload().getUnencryptedDataFile());
+			if (collection.getError() == null && dataFile.exists()) {
+				dataFilePaths.add(dataFile.getRemote());
+			}
+		}
+
+		long length = workspace.child(getUnencryptedDataFile()).act(new RemoteDataMerge(dataFilePaths));
+		logger.println("Merged the zAdviser data of " + dataFilePaths.size() + " host connections into " //$NON-NLS-1$ //$NON-NLS-2$
+				+ getUnencryptedDataFile() + " (" + length + " bytes)"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the collections of the configured host connections, in the configured order.
+	 *
+	 * @param globalConfig
+	 *            the global configuration holding the host connections
+	 *
+	 * @return the collections, one per host connection
+	 */
+	List<Collection> getCollections(CpwrGlobalConfiguration globalConfig) {
+		List<String> ids = splitConnectionIds(getConnectionIds());
+		if (ids.isEmpty()) {
+			for (HostConnection connection : globalConfig.getHostConnections()) {
+				ids.add(connection.getConnectionId());
+			}
+		}
+
+		List<Collection> collections = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		for (String id : ids) {
+			HostConnection connection = globalConfig.getHostConnection(id);
+			String name = nameOf(connection != null ? connection.getDescription() : null, id);
+			String uniqueName = name;
+			for (int i = 2; !names.add(uniqueName.toLowerCase(Locale.ROOT)); i++) {
+				uniqueName = name + '_' + i;
+			}
+
+			String label = connection != null ? connection.getDescription() + " [" + connection.getHostPort() + ']' : id; //$NON-NLS-1$
+			collections.add(new Collection(label, connection != null ? createDownload(id, uniqueName) : null));
+		}
+
+		return collections;
+	}
+
+	/**
+	 * Create the download build step collecting a single host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param name
+	 *            the name of the host connection added to the data files
+	 *
+	 * @return the download build step
+	 */
+	private ZAdviserDownloadData createDownload(String connectionId, String name) {
+		ZAdviserDownloadData download = new ZAdviserDownloadData(connectionId, getCredentialsId(), getJcl(),
+				dataFileOf(getEncryptedDataFile(), name), dataFileOf(getUnencryptedDataFile(), name));
+		download.setEncryptData(isEncryptData());
+		download.setUploadData(isUploadData());
+		download.setSuppressDuplicates(isSuppressDuplicates());
+		download.setBackgroundUpload(isBackgroundUpload());
+		download.setUploadPriority(getUploadPriority());
+		return download;
+	}
+
+	/**
+	 * Split the configured host connection identifiers.
+	 *
+	 * @param connectionIds
+	 *            the host connection identifiers separated by commas, blanks or new lines
+	 *
+	 * @return the distinct host connection identifiers, in the given order
+	 */
+	static List<String> splitConnectionIds(String connectionIds) {
+		List<String> ids = new ArrayList<>();
+		for (String id : StringUtils.split(StringUtils.defaultString(connectionIds), ", \t\r\n")) { //$NON-NLS-1$
+			if (!ids.contains(id)) {
+				ids.add(id);
+			}
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Returns the name of a host connection that can be used in a file name.
+	 *
+	 * @param description
+	 *            the description of the host connection; can be null
+	 * @param connectionId
+	 *            the host connection identifier, used when there is no description
+	 *
+	 * @return the name, holding letters, digits, dots, dashes and underscores only
+	 */
+	static String nameOf(String description, String connectionId) {
+		String name = StringUtils.isNotBlank(description) ? description.trim() : connectionId;
+		return name.replaceAll("[^A-Za-z0-9._-]+", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the data file of a host connection, adding the name of the host connection before the file extension.
+	 *
+	 * @param dataFile
+	 *            the configured data file; can be empty
+	 * @param name
+	 *            the name of the host connection
+	 *
+	 * @return the data file of the host connection, or the empty data file
+	 */
+	static String dataFileOf(String dataFile, String name) {
+		if (StringUtils.isBlank(dataFile)) {
+			return dataFile;
+		}
+
+		int nameStart = Math.max(dataFile.lastIndexOf('/'), dataFile.lastIndexOf('\\')) + 1;
+		int extension = dataFile.lastIndexOf('.');
+		if (extension <= nameStart) {
+			return dataFile + '-' + name;
+		}
+
+		return dataFile.substring(0, extension) + '-' + name + dataFile.substring(extension);
+	}
+
+	/**
+	 * The collection of the zAdviser data of a single host connection.
+	 */
+	static class Collection {
+		private final String label;
+		private final ZAdviserDownloadData download;
+		private Throwable error;
+		private long durationMillis;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param label
+		 *            the host connection shown in the build log
+		 * @param download
+		 *            the download build step collecting the host connection; null if the host connection is unknown
+		 */
+		Collection(String label, ZAdviserDownloadData download) {
+			this.label = label;
+			this.download = download;
+		}
+
+		/**
+		 * Gets the download build step collecting the host connection.
+		 *
+		 * @return the download build step; null if the host connection is unknown
+		 */
+		ZAdviserDownloadData getDownload() {
+			return download;
+		}
+
+		/**
+		 * Gets the reason the collection failed.
+		 *
+		 * @return the failure, or null if the data was collected
+		 */
+		Throwable getError() {
+			return error;
+		}
+
+		/**
+		 * Collect the host connection, prefixing its lines in the build log with the host connection.
+		 *
+		 * @param run
+		 *            the run the build step executes in
+		 * @param workspace
+		 *            the build workspace
+		 * @param launcher
+		 *            the launcher of the build
+		 * @param logger
+		 *            the build log shared by all collections
+		 *
+		 * @throws IOException
+		 *             if the collection fails
+		 * @throws InterruptedException
+		 *             if the build is aborted
+		 */
+		void perform(Run<?, ?> run, FilePath workspace, Launcher launcher, PrintStream logger)
+				throws IOException, InterruptedException {
+			if (download == null) {
+				throw new AbortException(Messages.checkUnknownHostConnectionError(label));
+			}
+
+			long start = System.currentTimeMillis();
+			try (PrefixedOutputStream out = new PrefixedOutputStream('[' + label + "] ", logger)) { //$NON-NLS-1$
+				download.perform(run, workspace, launcher, new StreamTaskListener(out, StandardCharsets.UTF_8));
+			} finally {
+				durationMillis = System.currentTimeMillis() - start;
+			}
+		}
+
+		/**
+		 * Wait for the collection to finish and keep its outcome.
+		 *
+		 * @param future
+		 *            the running collection
+		 *
+		 * @throws InterruptedException
+		 *             if the build is aborted while waiting
+		 */
+		void complete(Future<?> future) throws InterruptedException {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				error = e.getCause();
+			}
+		}
+
+		/**
+		 * Returns the status line of the collection.
+		 *
+		 * @return the host connection and the outcome of its collection
+		 */
+		String getStatus() {
+			if (error == null) {
+				return label + ": collected in " + ZAdviserTimingAction.formatSeconds(durationMillis); //$NON-NLS-1$
+			}
+
+			return label + ": failed: " + StringUtils.defaultIfBlank(error.getMessage(), error.toString()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes whole lines to the shared build log, prefixed with the host connection they belong to.
+	 */
+	private static class PrefixedOutputStream extends LineTransformationOutputStream {
+		private final byte[] prefix;
+		private final PrintStream logger;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param prefix
+		 *            the prefix of every line
+		 * @param logger
+		 *            the build log
+		 */
+		PrefixedOutputStream(String prefix, PrintStream logger) {
+			this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+			this.logger = logger;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.console.LineTransformationOutputStream#eol(byte[], int)
+		 */
+		@Override
+		protected void eol(byte[] b, int len) throws IOException {
+			// the lines of parallel collections must not interleave
+			synchronized (logger) {
+				logger.write(prefix, 0, prefix.length);
+				logger.write(b, 0, len);
+				logger.flush();
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see hudson.console.LineTransformationOutputStream#close()
+		 */
+		@Override
+		public void close() throws IOException {
+			// flush a last line without terminator, but leave the build log open
+			forceEol();
+		}
+	}
+}
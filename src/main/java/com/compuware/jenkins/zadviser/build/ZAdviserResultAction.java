@@ -0,0 +1,441 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import com.compuware.jenkins.zadviser.Messages;
+
+import hudson.EnvVars;
+import hudson.Functions;
+import hudson.model.Api;
+import hudson.model.EnvironmentContributingAction;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import net.sf.json.JSONObject;
+
+/**
+ * Records the outcome of the zAdviser build steps of a run: records collected, data file sizes, bytes uploaded, the date
+ * window covered, the data file checksum and the phase durations.
+ * <p>
+ * The results are shown on the build page, exposed through the remote API and, for the last zAdviser build step executed,
+ * added to the build environment as <code>ZADVISER_*</code> variables. <code>ZADVISER_RESULT</code> holds the whole result as
+ * JSON, so later Pipeline stages can act on it without parsing the build log.
+ */
+@ExportedBean
+public class ZAdviserResultAction implements RunAction2, EnvironmentContributingAction {
+	static final String URL_NAME = "zAdviserResult"; //$NON-NLS-1$
+
+	static final String RESULT_VAR = "ZADVISER_RESULT"; //$NON-NLS-1$
+	static final String RECORDS_VAR = "ZADVISER_RECORDS"; //$NON-NLS-1$
+	static final String DATA_BYTES_VAR = "ZADVISER_DATA_BYTES"; //$NON-NLS-1$
+	static final String ENCRYPTED_BYTES_VAR = "ZADVISER_ENCRYPTED_BYTES"; //$NON-NLS-1$
+	static final String UPLOADED_BYTES_VAR = "ZADVISER_UPLOADED_BYTES"; //$NON-NLS-1$
+	static final String CHECKSUM_VAR = "ZADVISER_CHECKSUM"; //$NON-NLS-1$
+	static final String WINDOW_START_VAR = "ZADVISER_WINDOW_START"; //$NON-NLS-1$
+	static final String WINDOW_END_VAR = "ZADVISER_WINDOW_END"; //$NON-NLS-1$
+
+	private final List<StepResult> steps = new CopyOnWriteArrayList<>();
+	private transient Run<?, ?> run;
+
+	/**
+	 * Add the result of a build step to the result action of a run, creating the action if needed.
+	 *
+	 * @param run
+	 *            the run the build step executed in
+	 * @param stepResult
+	 *            the result of the build step
+	 */
+	static void record(Run<?, ?> run, StepResult stepResult) {
+		ZAdviserResultAction action;
+		synchronized (ZAdviserResultAction.class) {
+			action = run.getAction(ZAdviserResultAction.class);
+			if (action == null) {
+				action = new ZAdviserResultAction();
+				run.addAction(action);
+			}
+		}
+
+		action.steps.add(stepResult);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName() {
+		return "notepad.png"; //$NON-NLS-1$
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName() {
+		return Messages.zAdviserResultActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName() {
+		return URL_NAME;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.model.RunAction2#onAttached(hudson.model.Run)
+	 */
+	@Override
+	public void onAttached(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.model.RunAction2#onLoad(hudson.model.Run)
+	 */
+	@Override
+	public void onLoad(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.EnvironmentContributingAction#buildEnvironment(hudson.model.Run, hudson.EnvVars)
+	 */
+	@Override
+	public void buildEnvironment(Run<?, ?> r, EnvVars env) {
+		if (steps.isEmpty()) {
+			return;
+		}
+
+		StepResult last = steps.get(steps.size() - 1);
+		env.put(RESULT_VAR, last.toJSON().toString());
+		env.put(RECORDS_VAR, Long.toString(last.getRecords()));
+		env.put(DATA_BYTES_VAR, Long.toString(last.getDataBytes()));
+		env.put(ENCRYPTED_BYTES_VAR, Long.toString(last.getEncryptedBytes()));
+		env.put(UPLOADED_BYTES_VAR, Long.toString(last.getUploadedBytes()));
+		if (last.getChecksum() != null) {
+			env.put(CHECKSUM_VAR, last.getChecksum());
+		}
+		if (last.getWindowStart() != null) {
+			env.put(WINDOW_START_VAR, last.getWindowStart());
+			env.put(WINDOW_END_VAR, last.getWindowEnd());
+		}
+	}
+
+	/**
+	 * Gets the run this action belongs to.
+	 *
+	 * @return the run
+	 */
+	public Run<?, ?> getRun() {
+		return run;
+	}
+
+	/**
+	 * Gets the results of the zAdviser build steps executed in the run, in execution order.
+	 *
+	 * @return the build step results
+	 */
+	@Exported(inline = true)
+	public List<StepResult> getSteps() {
+		return Collections.unmodifiableList(steps);
+	}
+
+	/**
+	 * Exposes the results through the remote API.
+	 *
+	 * @return the remote API
+	 */
+	public Api getApi() {
+		return new Api(this);
+	}
+
+	/**
+	 * The result of a single zAdviser build step execution.
+	 * <p>
+	 * Counts and sizes that a build step did not determine are -1. The phase timings are the ones recorded in the
+	 * {@link ZAdviserTimingAction} of the run; the run stores them only once.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static class StepResult {
+		private final String name;
+		private final String connectionId;
+		private boolean successful;
+		private long records = -1;
+		private long dataBytes = -1;
+		private long encryptedBytes = -1;
+		private long uploadedBytes;
+		private long windowStartMillis;
+		private long windowEndMillis;
+		private String checksum;
+		private ZAdviserTimingAction.StepTiming timing;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name
+		 *            the build step name
+		 * @param connectionId
+		 *            the host connection identifier of the build step
+		 */
+		public StepResult(String name, String connectionId) {
+			this.name = name;
+			this.connectionId = connectionId;
+		}
+
+		/**
+		 * Gets the build step name.
+		 *
+		 * @return the build step name
+		 */
+		@Exported
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Gets the host connection identifier of the build step.
+		 *
+		 * @return the host connection identifier
+		 */
+		@Exported
+		public String getConnectionId() {
+			return connectionId;
+		}
+
+		/**
+		 * Gets whether the build step completed.
+		 *
+		 * @return TRUE if the build step completed, FALSE if it failed
+		 */
+		@Exported
+		public boolean isSuccessful() {
+			return successful;
+		}
+
+		void setSuccessful(boolean successful) {
+			this.successful = successful;
+		}
+
+		/**
+		 * Gets the number of records in the unencrypted data file.
+		 *
+		 * @return the number of records, or -1 if unknown
+		 */
+		@Exported
+		public long getRecords() {
+			return records;
+		}
+
+		/**
+		 * Gets the size of the unencrypted data file.
+		 *
+		 * @return the size in bytes, or -1 if unknown
+		 */
+		@Exported
+		public long getDataBytes() {
+			return dataBytes;
+		}
+
+		/**
+		 * Record the summary of the unencrypted data file.
+		 *
+		 * @param stats
+		 *            the summary of the unencrypted data file
+		 */
+		void setDataFile(RemoteDataFileStats.Result stats) {
+			this.records = stats.getRecords();
+			this.dataBytes = stats.getBytes();
+			this.checksum = stats.getChecksum();
+		}
+
+		/**
+		 * Gets the size of the encrypted data file.
+		 *
+		 * @return the size in bytes, or -1 if unknown
+		 */
+		@Exported
+		public long getEncryptedBytes() {
+			return encryptedBytes;
+		}
+
+		/**
+		 * Record the summary of the encrypted data file. Its checksum replaces the one of the unencrypted data file, as the
+		 * encrypted data file is the one uploaded.
+		 *
+		 * @param stats
+		 *            the summary of the encrypted data file
+		 */
+		void setEncryptedDataFile(RemoteDataFileStats.Result stats) {
+			this.encryptedBytes = stats.getBytes();
+			this.checksum = stats.getChecksum();
+		}
+
+		/**
+		 * Gets the number of bytes the build step uploaded.
+		 *
+		 * @return the bytes uploaded; 0 if nothing was uploaded or the upload was left to the background outbox
+		 */
+		@Exported
+		public long getUploadedBytes() {
+			return uploadedBytes;
+		}
+
+		void setUploadedBytes(long uploadedBytes) {
+			this.uploadedBytes = uploadedBytes;
+		}
+
+		/**
+		 * Gets the SHA-256 checksum of the data file the build step produced or uploaded.
+		 *
+		 * @return the checksum in hexadecimal, or null if unknown
+		 */
+		@Exported
+		public String getChecksum() {
+			return checksum;
+		}
+
+		void setChecksum(String checksum) {
+			this.checksum = checksum;
+		}
+
+		/**
+		 * Gets the start of the date window covered by the collected data.
+		 *
+		 * @return the ISO-8601 start time, or null if unknown
+		 */
+		@Exported
+		public String getWindowStart() {
+			return windowStartMillis > 0 ? Instant.ofEpochMilli(windowStartMillis).toString() : null;
+		}
+
+		/**
+		 * Gets the end of the date window covered by the collected data.
+		 *
+		 * @return the ISO-8601 end time, or null if unknown
+		 */
+		@Exported
+		public String getWindowEnd() {
+			return windowStartMillis > 0 ? Instant.ofEpochMilli(windowEndMillis).toString() : null;
+		}
+
+		/**
+		 * Record the date window covered by the collected data.
+		 *
+		 * @param startMillis
+		 *            the start of the window
+		 * @param endMillis
+		 *            the end of the window
+		 */
+		void setWindow(long startMillis, long endMillis) {
+			this.windowStartMillis = startMillis;
+			this.windowEndMillis = endMillis;
+		}
+
+		/**
+		 * Gets the phase timings of the build step.
+		 *
+		 * @return the phase timings in execution order
+		 */
+		@Exported(inline = true)
+		public List<ZAdviserTimingAction.PhaseTiming> getPhases() {
+			return timing != null ? timing.getPhases() : Collections.<ZAdviserTimingAction.PhaseTiming> emptyList();
+		}
+
+		void setTiming(ZAdviserTimingAction.StepTiming timing) {
+			this.timing = timing;
+		}
+
+		/**
+		 * Gets the total duration of the build step.
+		 *
+		 * @return the total duration in milliseconds
+		 */
+		@Exported
+		public long getTotalMillis() {
+			return timing != null ? timing.getTotalMillis() : 0;
+		}
+
+		/**
+		 * Gets the total duration of the build step formatted in seconds.
+		 *
+		 * @return the formatted duration
+		 */
+		public String getDurationString() {
+			return ZAdviserTimingAction.formatSeconds(getTotalMillis());
+		}
+
+		/**
+		 * Gets a size formatted for display.
+		 *
+		 * @param bytes
+		 *            the size in bytes, or -1 if unknown
+		 *
+		 * @return the formatted size, empty if unknown
+		 */
+		public String formatBytes(long bytes) {
+			return bytes >= 0 ? Functions.humanReadableByteSize(bytes) : ""; //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns the result as JSON, with the phase durations in milliseconds by phase name.
+		 *
+		 * @return the JSON result
+		 */
+		JSONObject toJSON() {
+			JSONObject phases = new JSONObject();
+			for (ZAdviserTimingAction.PhaseTiming phase : getPhases()) {
+				// a phase can run more than once, for example waiting for a coalesced extraction
+				phases.put(phase.getName(), phases.optLong(phase.getName()) + phase.getDurationMillis());
+			}
+
+			JSONObject json = new JSONObject();
+			json.put("name", name); //$NON-NLS-1$
+			json.put("connectionId", connectionId); //$NON-NLS-1$
+			json.put("successful", successful); //$NON-NLS-1$
+			json.put("records", records); //$NON-NLS-1$
+			json.put("dataBytes", dataBytes); //$NON-NLS-1$
+			json.put("encryptedBytes", encryptedBytes); //$NON-NLS-1$
+			json.put("uploadedBytes", uploadedBytes); //$NON-NLS-1$
+			json.put("checksum", checksum != null ? checksum : ""); //$NON-NLS-1$ //$NON-NLS-2$
+			json.put("windowStart", windowStartMillis > 0 ? getWindowStart() : ""); //$NON-NLS-1$ //$NON-NLS-2$
+			json.put("windowEnd", windowStartMillis > 0 ? getWindowEnd() : ""); //$NON-NLS-1$ //$NON-NLS-2$
+			json.put("totalMillis", getTotalMillis()); //$NON-NLS-1$
+			json.put("phases", phases); //$NON-NLS-1$
+			return json;
+		}
+	}
+}
@@ -0,0 +1,357 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import com.compuware.jenkins.zadviser.Messages;
+
+import hudson.model.Action;
+import hudson.model.Api;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import jenkins.tasks.SimpleBuildStep;
+
+/**
+ * Records how long each phase of the zAdviser build steps of a run took.
+ * <p>
+ * Every zAdviser build step executed in the run adds its phase timings. They are shown as a table on the build page and in
+ * the action page, exposed through the remote API and charted across builds by {@link ZAdviserTimingProjectAction}, which
+ * the action of the last successful build adds to the job.
+ */
+@ExportedBean
+public class ZAdviserTimingAction implements RunAction2, SimpleBuildStep.LastBuildAction {
+	static final String URL_NAME = "zAdviserTimings"; //$NON-NLS-1$
+
+	private final List<StepTiming> steps = new CopyOnWriteArrayList<>();
+	private transient Run<?, ?> run;
+
+	/**
+	 * Add the timings of a build step to the timing action of a run, creating the action if needed.
+	 *
+	 * @param run
+	 *            the run the build step executed in
+	 * @param stepTiming
+	 *            the timings of the build step
+	 */
+	static void record(Run<?, ?> run, StepTiming stepTiming) {
+		ZAdviserTimingAction action;
+		synchronized (ZAdviserTimingAction.class) {
+			action = run.getAction(ZAdviserTimingAction.class);
+			if (action == null) {
+				action = new ZAdviserTimingAction();
+				run.addAction(action);
+			}
+		}
+
+		action.steps.add(stepTiming);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName() {
+		return "clock.png"; //$NON-NLS-1$
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName() {
+		return Messages.zAdviserTimingActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName() {
+		return URL_NAME;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.model.RunAction2#onAttached(hudson.model.Run)
+	 */
+	@Override
+	public void onAttached(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.model.RunAction2#onLoad(hudson.model.Run)
+	 */
+	@Override
+	public void onLoad(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.tasks.SimpleBuildStep.LastBuildAction#getProjectActions()
+	 */
+	@Override
+	public Collection<? extends Action> getProjectActions() {
+		return run != null ? Collections.singleton(new ZAdviserTimingProjectAction(run.getParent()))
+				: Collections.<Action> emptySet();
+	}
+
+	/**
+	 * Gets the run this action belongs to.
+	 *
+	 * @return the run
+	 */
+	public Run<?, ?> getRun() {
+		return run;
+	}
+
+	/**
+	 * Gets the timings of the zAdviser build steps executed in the run, in execution order.
+	 *
+	 * @return the build step timings
+	 */
+	@Exported(inline = true)
+	public List<StepTiming> getSteps() {
+		return Collections.unmodifiableList(steps);
+	}
+
+	/**
+	 * Exposes the timings through the remote API.
+	 *
+	 * @return the remote API
+	 */
+	public Api getApi() {
+		return new Api(this);
+	}
+
+	/**
+	 * The phase timings of a single zAdviser build step execution.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static class StepTiming {
+		private final String name;
+		private final List<PhaseTiming> phases;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name
+		 *            the build step name
+		 * @param phases
+		 *            the phase timings in execution order
+		 */
+		public StepTiming(String name, List<PhaseTiming> phases) {
+			this.name = name;
+			this.phases = new ArrayList<>(phases);
+		}
+
+		/**
+		 * Gets the build step name.
+		 *
+		 * @return the build step name
+		 */
+		@Exported
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Gets the phase timings in execution order.
+		 *
+		 * @return the phase timings
+		 */
+		@Exported(inline = true)
+		public List<PhaseTiming> getPhases() {
+			return Collections.unmodifiableList(phases);
+		}
+
+		/**
+		 * Gets the total duration of all phases.
+		 *
+		 * @return the total duration in milliseconds
+		 */
+		@Exported
+		public long getTotalMillis() {
+			long total = 0;
+			for (PhaseTiming phase : phases) {
+				total += phase.getDurationMillis();
+			}
+
+			return total;
+		}
+	}
+
+	/**
+	 * The duration of a single phase.
+	 */
+	@ExportedBean(defaultVisibility = 3)
+	public static class PhaseTiming {
+		private final String name;
+		private final long durationMillis;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param name
+		 *            the phase name
+		 * @param durationMillis
+		 *            the phase duration in milliseconds
+		 */
+		public PhaseTiming(String name, long durationMillis) {
+			this.name = name;
+			this.durationMillis = durationMillis;
+		}
+
+		/**
+		 * Gets the phase name.
+		 *
+		 * @return the phase name
+		 */
+		@Exported
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Gets the phase duration.
+		 *
+		 * @return the duration in milliseconds
+		 */
+		@Exported
+		public long getDurationMillis() {
+			return durationMillis;
+		}
+
+		/**
+		 * Gets the phase duration formatted in seconds.
+		 *
+		 * @return the formatted duration
+		 */
+		public String getDurationString() {
+			return formatSeconds(durationMillis);
+		}
+	}
+
+	/**
+	 * Measures consecutive phases of a build step.
+	 */
+	public static class Timer {
+		private final String stepName;
+		private final List<PhaseTiming> phases = new ArrayList<>();
+		private String phase;
+		private long phaseStart;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param stepName
+		 *            the build step name
+		 */
+		public Timer(String stepName) {
+			this.stepName = stepName;
+		}
+
+		/**
+		 * End the current phase, if any, and start a new one.
+		 *
+		 * @param name
+		 *            the name of the phase to start
+		 */
+		public void begin(String name) {
+			end();
+			phase = name;
+			phaseStart = System.nanoTime();
+		}
+
+		/**
+		 * End the current phase, if any.
+		 */
+		public void end() {
+			if (phase != null) {
+				phases.add(new PhaseTiming(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStart)));
+				phase = null;
+			}
+		}
+
+		/**
+		 * Returns the timings of the phases ended so far.
+		 *
+		 * @return the build step timings
+		 */
+		public StepTiming getStepTiming() {
+			return new StepTiming(stepName, phases);
+		}
+
+		/**
+		 * End the current phase, print the timings to the build log and add them to the run.
+		 *
+		 * @param run
+		 *            the run the build step executed in
+		 * @param logger
+		 *            the build log
+		 *
+		 * @return the build step timings added to the run
+		 */
+		public StepTiming attach(Run<?, ?> run, PrintStream logger) {
+			end();
+
+			StringBuilder line = new StringBuilder("zAdviser phase timings:"); //$NON-NLS-1$
+			for (PhaseTiming timing : phases) {
+				line.append(' ').append(timing.getName()).append('=').append(timing.getDurationString()).append(';');
+			}
+
+			logger.println(line);
+			StepTiming stepTiming = getStepTiming();
+			record(run, stepTiming);
+			return stepTiming;
+		}
+	}
+
+	/**
+	 * Format a duration in seconds with millisecond precision.
+	 *
+	 * @param millis
+	 *            the duration in milliseconds
+	 *
+	 * @return the formatted duration
+	 */
+	static String formatSeconds(long millis) {
+		return String.format(Locale.ROOT, "%.3f s", millis / 1000.0); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,208 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.data.category.CategoryDataset;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.compuware.jenkins.zadviser.Messages;
+
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.util.ChartUtil;
+import hudson.util.DataSetBuilder;
+import hudson.util.Graph;
+
+/**
+ * Charts the zAdviser phase timings of the recent builds of a job.
+ * <p>
+ * Contributed to the job by the {@link ZAdviserTimingAction} of its last successful build.
+ */
+public class ZAdviserTimingProjectAction implements Action {
+	private static final int MAX_BUILDS = 30;
+	private static final int GRAPH_WIDTH = 500;
+	private static final int GRAPH_HEIGHT = 200;
+
+	/** The last computed durations of each job; project actions are created again for every page. */
+	private static final Map<Job<?, ?>, Trend> TRENDS = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final Job<?, ?> job;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param job
+	 *            the job to chart
+	 */
+	public ZAdviserTimingProjectAction(Job<?, ?> job) {
+		this.job = job;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName() {
+		// only shown as a trend graph on the job page
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName() {
+		return Messages.zAdviserTimingProjectActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName() {
+		return ZAdviserTimingAction.URL_NAME;
+	}
+
+	/**
+	 * Gets the job being charted.
+	 *
+	 * @return the job
+	 */
+	public Job<?, ?> getJob() {
+		return job;
+	}
+
+	/**
+	 * Render the trend graph of the phase durations (in seconds) of the recent builds, one stacked bar per build.
+	 *
+	 * @param req
+	 *            the request
+	 * @param rsp
+	 *            the response
+	 *
+	 * @throws IOException
+	 *             if the graph could not be written
+	 */
+	public void doTrend(StaplerRequest req, StaplerResponse rsp) throws IOException {
+		final CategoryDataset dataSet = getDataSet();
+		new Graph(System.currentTimeMillis(), GRAPH_WIDTH, GRAPH_HEIGHT) {
+			@Override
+			protected JFreeChart createGraph() {
+				return ChartFactory.createStackedBarChart(null, null, "seconds", dataSet, //$NON-NLS-1$
+						PlotOrientation.VERTICAL, true, true, false);
+			}
+		}.doPng(req, rsp);
+	}
+
+	/**
+	 * Returns the phase durations (in seconds) of the recent builds.
+	 * <p>
+	 * A phase run by several build steps of a build, for example by each host connection of a multiple download, is shown
+	 * with the sum of its durations. The durations are only collected again when the job has a new last build, or while one
+	 * of the charted builds is running.
+	 *
+	 * @return the phase durations, by phase and build
+	 */
+	CategoryDataset getDataSet() {
+		Run<?, ?> lastBuild = job.getLastBuild();
+		int lastBuildNumber = lastBuild != null ? lastBuild.getNumber() : 0;
+		Trend trend = TRENDS.get(job);
+		if (trend != null && trend.lastBuild == lastBuildNumber) {
+			// every chart listens to its data set, so each one gets its own
+			return trend.dataSet.build();
+		}
+
+		DataSetBuilder<String, ChartUtil.NumberOnlyBuildLabel> dataSet = new DataSetBuilder<>();
+		boolean complete = true;
+		int builds = 0;
+		for (Run<?, ?> run = lastBuild; run != null && builds < MAX_BUILDS; run = run.getPreviousBuild()) {
+			complete &= !run.isBuilding();
+			ZAdviserTimingAction action = run.getAction(ZAdviserTimingAction.class);
+			if (action != null) {
+				ChartUtil.NumberOnlyBuildLabel label = new ChartUtil.NumberOnlyBuildLabel(run);
+				for (Map.Entry<String, Long> phase : sumPhases(action).entrySet()) {
+					dataSet.add(phase.getValue() / 1000.0, phase.getKey(), label);
+				}
+
+				builds++;
+			}
+		}
+
+		if (complete) {
+			TRENDS.put(job, new Trend(lastBuildNumber, dataSet));
+		}
+
+		return dataSet.build();
+	}
+
+	/**
+	 * Sum the durations of the phases of all build steps of a build by phase name.
+	 *
+	 * @param action
+	 *            the timings of the build
+	 *
+	 * @return the total duration in milliseconds by phase name, in order of first appearance
+	 */
+	static Map<String, Long> sumPhases(ZAdviserTimingAction action) {
+		Map<String, Long> durations = new LinkedHashMap<>();
+		for (ZAdviserTimingAction.StepTiming step : action.getSteps()) {
+			for (ZAdviserTimingAction.PhaseTiming phase : step.getPhases()) {
+				durations.merge(phase.getName(), phase.getDurationMillis(), Long::sum);
+			}
+		}
+
+		return durations;
+	}
+
+	/**
+	 * The phase durations of the recent builds of a job, computed for a last build.
+	 */
+	private static final class Trend {
+		private final int lastBuild;
+		private final DataSetBuilder<String, ChartUtil.NumberOnlyBuildLabel> dataSet;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param lastBuild
+		 *            the number of the last build when the durations were computed
+		 * @param dataSet
+		 *            the phase durations in seconds, by phase and build
+		 */
+		Trend(int lastBuild, DataSetBuilder<String, ChartUtil.NumberOnlyBuildLabel> dataSet) {
+			this.lastBuild = lastBuild;
+			this.dataSet = dataSet;
+		}
+	}
+}
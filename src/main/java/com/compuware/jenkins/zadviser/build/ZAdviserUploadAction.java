@@ -0,0 +1,183 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import com.compuware.jenkins.zadviser.Messages;
+
+import hudson.model.Api;
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+/**
+ * Shows the state of the background uploads queued by the zAdviser build steps of a run, see {@link UploadOutbox}.
+ * <p>
+ * The action only keeps the outbox entry identifiers; the state is read from the outbox, so it stays current after the build
+ * has finished.
+ */
+@ExportedBean
+public class ZAdviserUploadAction implements RunAction2 {
+	static final String URL_NAME = "zAdviserUploads"; //$NON-NLS-1$
+
+	/** Number of bytes shown from the end of an upload log. */
+	private static final int LOG_TAIL = 64 * 1024;
+
+	private final List<String> entryIds = new CopyOnWriteArrayList<>();
+	private transient Run<?, ?> run;
+
+	/**
+	 * Add an outbox entry to the upload action of a run, creating the action if needed.
+	 *
+	 * @param run
+	 *            the run that queued the upload
+	 * @param entryId
+	 *            the outbox entry identifier
+	 */
+	static void record(Run<?, ?> run, String entryId) {
+		ZAdviserUploadAction action;
+		synchronized (ZAdviserUploadAction.class) {
+			action = run.getAction(ZAdviserUploadAction.class);
+			if (action == null) {
+				action = new ZAdviserUploadAction();
+				run.addAction(action);
+			}
+		}
+
+		action.entryIds.add(entryId);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName() {
+		return "up.png"; //$NON-NLS-1$
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName() {
+		return Messages.zAdviserUploadActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName() {
+		return URL_NAME;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.model.RunAction2#onAttached(hudson.model.Run)
+	 */
+	@Override
+	public void onAttached(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see jenkins.model.RunAction2#onLoad(hudson.model.Run)
+	 */
+	@Override
+	public void onLoad(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	/**
+	 * Gets the run this action belongs to.
+	 *
+	 * @return the run
+	 */
+	public Run<?, ?> getRun() {
+		return run;
+	}
+
+	/**
+	 * Gets the uploads queued by the run that the outbox still remembers, in queue order.
+	 *
+	 * @return the outbox entries
+	 */
+	@Exported(inline = true)
+	public List<UploadOutbox.Entry> getUploads() {
+		List<UploadOutbox.Entry> uploads = new ArrayList<>();
+		for (String entryId : entryIds) {
+			UploadOutbox.Entry entry = UploadOutbox.get().getEntry(entryId);
+			if (entry != null) {
+				uploads.add(entry);
+			}
+		}
+
+		return uploads;
+	}
+
+	/**
+	 * Gets the end of the upload log of an outbox entry.
+	 *
+	 * @param entry
+	 *            the outbox entry
+	 *
+	 * @return the log text, empty if the upload has not started
+	 */
+	public String getLog(UploadOutbox.Entry entry) {
+		File logFile = entry.getLogFile();
+		if (!logFile.isFile()) {
+			return ""; //$NON-NLS-1$
+		}
+
+		try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) { //$NON-NLS-1$
+			long start = Math.max(file.length() - LOG_TAIL, 0);
+			byte[] tail = new byte[(int) (file.length() - start)];
+			file.seek(start);
+			file.readFully(tail);
+			return new String(tail, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return e.getMessage();
+		}
+	}
+
+	/**
+	 * Exposes the upload states through the remote API.
+	 *
+	 * @return the remote API
+	 */
+	public Api getApi() {
+		return new Api(this);
+	}
+}
@@ -18,8 +18,6 @@ package com.compuware.jenkins.zadviser.build;
 
 import java.io.IOException;
 import java.io.PrintStream;
-import java.util.Properties;
-import java.util.UUID;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.Symbol;
@@ -39,7 +37,6 @@ import com.compuware.jenkins.zadviser.Messages;
 import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
 import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
 
-import hudson.AbortException;
 import hudson.EnvVars;
 import hudson.Extension;
 import hudson.FilePath;
@@ -54,8 +51,6 @@ import hudson.tasks.Builder;
 import hudson.util.ArgumentListBuilder;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
-import hudson.util.Secret;
-import hudson.util.ListBoxModel.Option;
 import jenkins.model.Jenkins;
 import jenkins.tasks.SimpleBuildStep;
 import net.sf.json.JSONObject;
@@ -193,10 +188,9 @@ public class ZAdviserUploadData extends Builder implements SimpleBuildStep {
 			if (StringUtils.isBlank(uploadDataFile)) {
 				return FormValidation.error(Messages.checkUploadDataFileError());
 			} else {
-				ZAdviserGlobalConfiguration zAdviserGlobalConfig = ZAdviserGlobalConfiguration.get();
+				ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfig = ZAdviserGlobalConfiguration.snapshot();
 
-				Secret accessKey = zAdviserGlobalConfig.getAccessKey();
-				if (accessKey == null || StringUtils.isBlank(accessKey.getPlainText())) {
+				if (StringUtils.isBlank(zAdviserGlobalConfig.getAccessKeyText())) {
 					return FormValidation.error(Messages.checkMissingAccessKeyError());
 				}
 
@@ -235,23 +229,7 @@ public class ZAdviserUploadData extends Builder implements SimpleBuildStep {
 		public ListBoxModel doFillConnectionIdItems(@AncestorInPath Jenkins context, @QueryParameter String connectionId,
 				@AncestorInPath Item project) {
 			Jenkins.get().checkPermission(Jenkins.ADMINISTER);
-			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-			HostConnection[] hostConnections = globalConfig.getHostConnections();
-
-			ListBoxModel model = new ListBoxModel();
-			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
-
-			for (HostConnection connection : hostConnections) {
-				boolean isSelected = false;
-				if (connectionId != null) {
-					isSelected = connectionId.matches(connection.getConnectionId());
-				}
-
-				model.add(new Option(connection.getDescription() + " [" + connection.getHostPort() + ']', //$NON-NLS-1$
-						connection.getConnectionId(), isSelected));
-			}
-
-			return model;
+			return ListBoxModelCache.get().getConnectionIdItems(connectionId);
 		}
 	}
 
@@ -266,49 +244,134 @@ public class ZAdviserUploadData extends Builder implements SimpleBuildStep {
 			throws IOException, InterruptedException {
 		// obtain argument values to pass to the CLI
 		PrintStream logger = listener.getLogger();
-		CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-
-		assert launcher != null;
-		VirtualChannel vChannel = launcher.getChannel();
-
-		// Check CLI compatibility
-		FilePath cliDirectory = new FilePath(vChannel, globalConfig.getTopazCLILocation(launcher));
-		String cliVersion = CLIVersionUtils.getCLIVersion(cliDirectory, ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION);
-		CLIVersionUtils.checkCLICompatibility(cliVersion, ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION);
-
-		ArgumentListBuilder args = new ArgumentListBuilder();
+		ZAdviserTimingAction.Timer timer = new ZAdviserTimingAction.Timer(getDescriptor().getDisplayName());
+		ZAdviserResultAction.StepResult result = new ZAdviserResultAction.StepResult("zAdviserUpload", getConnectionId()); //$NON-NLS-1$
+		CliWorkspaces.Lease cliWorkspace = null;
+		try {
+			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
 
-		assert vChannel != null;
-		Properties remoteProperties = vChannel.call(new RemoteSystemProperties());
-		String remoteFileSeparator = remoteProperties.getProperty(CommonConstants.FILE_SEPARATOR_PROPERTY_KEY);
-		boolean isShell = launcher.isUnix();
-		String osFile = isShell ? ZAdviserUtilitiesConstants.ZADVISER_CLI_SH : ZAdviserUtilitiesConstants.ZADVISER_CLI_BAT;
+			assert launcher != null;
+			VirtualChannel vChannel = launcher.getChannel();
+
+			// Prepare the agent (CLI version, workspace and persist data) in a single round trip, reusing cached agent facts
+			assert vChannel != null;
+			ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.snapshot();
+			EnvVars env = run.getEnvironment(listener);
+			timer.begin("Agent preparation"); //$NON-NLS-1$
+			String cliLocation = globalConfig.getTopazCLILocation(launcher);
+			AgentFactsCache agentFactsCache = AgentFactsCache.get();
+			String watermarkKey = ZAdviserWatermarks.keyOf(getConnectionId(), zAdviserGlobalConfiguration.getCustomerId());
+			RemoteBuildPreparation.Result preparation = agentFactsCache.prepare(vChannel, workspace, cliLocation, null,
+					env.get("JENKINS_HOME"), watermarkKey); //$NON-NLS-1$
+
+			// Check CLI compatibility
+			String cliVersion = preparation.getCliVersion();
+			CLIVersionUtils.checkCLICompatibility(cliVersion, ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION);
+
+			ArgumentListBuilder args = new ArgumentListBuilder();
+
+			String remoteFileSeparator = preparation.getFileSeparator();
+			boolean isShell = launcher.isUnix();
+			String osFile = isShell ? ZAdviserUtilitiesConstants.ZADVISER_CLI_SH : ZAdviserUtilitiesConstants.ZADVISER_CLI_BAT;
+
+			String cliScriptFile = cliLocation + remoteFileSeparator + osFile;
+			logger.println("cliScriptFile: " + cliScriptFile); //$NON-NLS-1$
+			String cliScriptFileRemote = new FilePath(vChannel, cliScriptFile).getRemote();
+			logger.println("cliScriptFileRemote: " + cliScriptFileRemote); //$NON-NLS-1$
+			args.add(cliScriptFileRemote);
+
+			// Get host configuration
+			HostConnection connection = globalConfig.getHostConnection(getConnectionId());
+			String host = ArgumentUtils.escapeForScript(connection.getHost());
+			args.add(CommonConstants.HOST_PARM, host);
+
+			// Get workspace configuration
+			cliWorkspace = CliWorkspaces.get().lease(workspace, remoteFileSeparator, logger);
+			String topazCliWorkspace = cliWorkspace.getPath();
+			logger.println("topazCliWorkspace: " + topazCliWorkspace); //$NON-NLS-1$
+			args.add(CommonConstants.DATA_PARM, topazCliWorkspace);
+
+			addUploadArguments(args, zAdviserGlobalConfiguration, preparation.getPersistDataPath());
+
+			FilePath workDir = new FilePath(vChannel, workspace.getRemote());
+
+			// invoke the CLI (execute the batch/shell script), retrying failed uploads
+			timer.begin("CLI launch"); //$NON-NLS-1$
+			FilePath uploadFile = workDir.child(getUploadDataFile());
+			UploadRetry.Result upload = UploadRetry.upload(launcher, args, env, workDir, uploadFile, getConnectionId(), 0, logger);
+			result.setUploadedBytes(upload.getUploadedBytes());
+
+			// the data file may be encrypted, so only its checksum is reported; it was taken once, before the upload
+			RemoteDataFileStats.Result stats = upload.getStats();
+			result.setChecksum(stats.getChecksum());
+
+			// the uploaded records can now be suppressed by later collections, unless a download is filtering the same files
+			timer.begin("Duplicate commit"); //$NON-NLS-1$
+			ZAdviserWatermarks.acquire(watermarkKey, logger);
+			long remembered;
+			try {
+				remembered = new FilePath(vChannel, preparation.getPersistDataPath()).act(new RemoteDuplicateSuppression.Commit(
+						ZAdviserDownloadData.getDuplicateRetentionDays(zAdviserGlobalConfiguration), uploadFile.getRemote(),
+						stats.getChecksum()));
+			} finally {
+				ZAdviserWatermarks.release(watermarkKey);
+			}
 
-		String cliScriptFile = globalConfig.getTopazCLILocation(launcher) + remoteFileSeparator + osFile;
-		logger.println("cliScriptFile: " + cliScriptFile); //$NON-NLS-1$
-		String cliScriptFileRemote = new FilePath(vChannel, cliScriptFile).getRemote();
-		logger.println("cliScriptFileRemote: " + cliScriptFileRemote); //$NON-NLS-1$
-		args.add(cliScriptFileRemote);
+			if (remembered > 0) {
+				logger.println("Remembered " + remembered + " uploaded records for duplicate suppression"); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (remembered < 0) {
+				logger.println("The records pending duplicate suppression belong to another zAdviser data file; they are not remembered"); //$NON-NLS-1$
+			}
 
-		// Get host configuration
-		HostConnection connection = globalConfig.getHostConnection(getConnectionId());
-		String host = ArgumentUtils.escapeForScript(connection.getHost());
-		args.add(CommonConstants.HOST_PARM, host);
+			result.setSuccessful(true);
+		} finally {
+			try {
+				if (cliWorkspace != null) {
+					// failed CLI calls must not leave their CLI workspace behind either
+					timer.begin("Workspace cleanup"); //$NON-NLS-1$
+					cliWorkspace.close();
+				}
+			} finally {
+				result.setTiming(timer.attach(run, logger));
+				ZAdviserResultAction.record(run, result);
+			}
+		}
+	}
 
-		// Get workspace configuration
-		String topazCliWorkspace = workspace.getRemote() + remoteFileSeparator + CommonConstants.TOPAZ_CLI_WORKSPACE
-				+ UUID.randomUUID().toString();
-		logger.println("topazCliWorkspace: " + topazCliWorkspace); //$NON-NLS-1$
-		args.add(CommonConstants.DATA_PARM, topazCliWorkspace);
+	/**
+	 * Add the upload arguments of this build step to the CLI arguments.
+	 *
+	 * @param args
+	 *            the CLI arguments holding the script, host and workspace arguments
+	 * @param zAdviserGlobalConfiguration
+	 *            the zAdviser global configuration settings
+	 * @param persistDataPath
+	 *            the persist data directory of the host connection and customer ID
+	 */
+	void addUploadArguments(ArgumentListBuilder args, ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration, String persistDataPath) {
+		addUploadArguments(args, zAdviserGlobalConfiguration, getUploadDataFile(), persistDataPath);
+	}
 
+	/**
+	 * Add the upload arguments of a data file to the CLI arguments.
+	 *
+	 * @param args
+	 *            the CLI arguments holding the script, host and workspace arguments
+	 * @param zAdviserGlobalConfiguration
+	 *            the zAdviser global configuration settings
+	 * @param uploadDataFile
+	 *            the data file to upload
+	 * @param persistDataPath
+	 *            the persist data directory of the host connection and customer ID
+	 */
+	static void addUploadArguments(ArgumentListBuilder args, ZAdviserGlobalConfiguration.Snapshot zAdviserGlobalConfiguration,
+			String uploadDataFile, String persistDataPath) {
 		// Get upload configuration
 		args.add(ZAdviserUtilitiesConstants.BUILD_STEP_PARAM, ZAdviserUtilitiesConstants.UPLOAD_STEP);
-		ZAdviserGlobalConfiguration zAdviserGlobalConfiguration = ZAdviserGlobalConfiguration.get();
 
-		Secret accessKey = zAdviserGlobalConfiguration.getAccessKey();
-		if (accessKey != null) {
+		if (zAdviserGlobalConfiguration.getAccessKey() != null) {
 			args.add(ZAdviserUtilitiesConstants.ACCESS_KEY_PARM);
-			args.add(accessKey.getPlainText(), true);
+			args.add(zAdviserGlobalConfiguration.getAccessKeyText(), true);
 		}
 
 		String customerId = zAdviserGlobalConfiguration.getCustomerId();
@@ -316,23 +379,10 @@ public class ZAdviserUploadData extends Builder implements SimpleBuildStep {
 			args.add(ZAdviserUtilitiesConstants.CUSTOMER_ID_PARM, customerId);
 		}
 
-		String uploadDataFileStr = ArgumentUtils.escapeForScript(getUploadDataFile());
+		String uploadDataFileStr = ArgumentUtils.escapeForScript(uploadDataFile);
 		args.add(ZAdviserUtilitiesConstants.UPLOAD_DATA_FILE_PARM, uploadDataFileStr);
 
-		// create the CLI workspace (in case it doesn't already exist)
-		EnvVars env = run.getEnvironment(listener);
-		args.add(ZAdviserUtilitiesConstants.PERSIST_DATA_PARM, ArgumentUtils.escapeForScript(env.get("JENKINS_HOME"))); //$NON-NLS-1$
-		FilePath workDir = new FilePath(vChannel, workspace.getRemote());
-		workDir.mkdirs();
-
-		// invoke the CLI (execute the batch/shell script)
-		int exitValue = launcher.launch().cmds(args).envs(env).stdout(logger).pwd(workDir).join();
-		if (exitValue != 0) {
-			throw new AbortException("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
-		} else {
-			logger.println("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
-			FilePath topazDataDir = new FilePath(vChannel, topazCliWorkspace);
-			topazDataDir.deleteRecursive();
-		}
+		// the CLI workspace and persist data directory were created (in case they didn't already exist) while preparing the agent
+		args.add(ZAdviserUtilitiesConstants.PERSIST_DATA_PARM, ArgumentUtils.escapeForScript(persistDataPath));
 	}
 }
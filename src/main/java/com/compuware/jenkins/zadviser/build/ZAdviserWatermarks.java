@@ -0,0 +1,149 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.Util;
+
+/**
+ * Keeps the zAdviser last run date (the watermark written by the CLI to the <code>-persistData</code> directory) separate
+ * for each host connection and customer ID.
+ * <p>
+ * Each connection and customer ID pair gets its own persist data directory, so builds extracting from different
+ * connections no longer share a single <code>zAdviserLastRun.properties</code> file. Builds for the same pair are run one
+ * at a time, in arrival order, so they cannot extract overlapping date ranges; no lock is shared between different pairs.
+ * The lock of a pair is dropped as soon as no build holds or waits for it.
+ */
+public final class ZAdviserWatermarks {
+	private static final Map<String, Lock> locks = new HashMap<>();
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private ZAdviserWatermarks() {
+		// Do not instantiate
+	}
+
+	/**
+	 * Returns the key of the watermark for a host connection and customer ID.
+	 * <p>
+	 * The key is used as directory name, so it is a digest rather than the raw identifiers.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param customerId
+	 *            the customer ID; can be null
+	 *
+	 * @return the watermark key
+	 */
+	public static String keyOf(String connectionId, String customerId) {
+		return Util.getDigestOf(StringUtils.defaultString(connectionId) + '\n' + StringUtils.defaultString(customerId));
+	}
+
+	/**
+	 * Wait until no other build is advancing the watermark with the given key.
+	 *
+	 * @param key
+	 *            the watermark key
+	 * @param logger
+	 *            the build log
+	 *
+	 * @throws InterruptedException
+	 *             if the build is aborted while waiting
+	 */
+	public static void acquire(String key, PrintStream logger) throws InterruptedException {
+		Lock lock;
+		synchronized (locks) {
+			lock = locks.computeIfAbsent(key, k -> new Lock());
+			lock.users++;
+		}
+
+		if (!lock.semaphore.tryAcquire()) {
+			logger.println("Waiting for another zAdviser build using the same host connection and customer ID to finish..."); //$NON-NLS-1$
+			try {
+				lock.semaphore.acquire();
+			} catch (InterruptedException e) {
+				synchronized (locks) {
+					unuse(key, lock);
+				}
+
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Allow the next build waiting for the watermark with the given key to proceed.
+	 *
+	 * @param key
+	 *            the watermark key
+	 */
+	public static void release(String key) {
+		synchronized (locks) {
+			Lock lock = locks.get(key);
+			if (lock != null) {
+				lock.semaphore.release();
+				unuse(key, lock);
+			}
+		}
+	}
+
+	/**
+	 * Returns TRUE if a build holds or waits for the watermark with the given key.
+	 *
+	 * @param key
+	 *            the watermark key
+	 *
+	 * @return TRUE if the lock of the key is kept
+	 */
+	static boolean isInUse(String key) {
+		synchronized (locks) {
+			return locks.containsKey(key);
+		}
+	}
+
+	/**
+	 * Drop a build from the users of a lock, removing the lock once it has no users left. The caller synchronizes on the
+	 * locks.
+	 *
+	 * @param key
+	 *            the watermark key
+	 * @param lock
+	 *            the lock of the key
+	 */
+	private static void unuse(String key, Lock lock) {
+		if (--lock.users == 0) {
+			locks.remove(key);
+		}
+	}
+
+	/**
+	 * The lock of a watermark key and the number of builds holding or waiting for it.
+	 */
+	private static final class Lock {
+		private final Semaphore semaphore = new Semaphore(1, true);
+		private int users;
+	}
+}
@@ -50,6 +50,19 @@ public class ZAdviserUtilitiesConstants {
 	public static final String ZADVISER_LAST_RUN_FILE = "/zAdviserLastRun.properties";
 	public static final String UPLOAD_DATA_FILE_PARM = "-uploadDataFile";
 	public static final String PERSIST_DATA_PARM = "-persistData";
+	public static final String ZADVISER_WATERMARK_DIR = "zAdviserWatermarks";
+	public static final String ZADVISER_EXTRACTION_CACHE_DIR = "zAdviserExtractions";
+	public static final String ZADVISER_OUTBOX_DIR = "zAdviserOutbox";
+	public static final String ZADVISER_CLI_WORKSPACE_POOL_DIR = "zAdviserCliWorkspaces";
+	public static final String ZADVISER_CLI_WORKSPACE = "ZADVISER_CLI_WORKSPACE";
+	public static final int DEFAULT_DUPLICATE_RETENTION_DAYS = 30;
+	public static final int MAX_DUPLICATE_RETENTION_DAYS = 365;
+	public static final int DEFAULT_MAX_CONCURRENT_EXTRACTIONS = 0;
+	public static final int DEFAULT_EXTRACTION_CACHE_MINUTES = 0;
+	public static final int DEFAULT_UPLOAD_RETRIES = 3;
+	public static final int DEFAULT_OUTBOX_WORKERS = 2;
+	public static final int DEFAULT_MAX_PARALLEL_DOWNLOADS = 4;
+	public static final int DEFAULT_CLI_WORKSPACE_MAX_AGE_HOURS = 24;
 
 	// Build steps
 	public static final String BUILD_STEP_PARAM = "-buildStep";
@@ -16,6 +16,8 @@
  */
 package com.compuware.jenkins.zadviser.common.configuration;
 
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.logging.Logger;
 
 import org.apache.commons.lang3.StringUtils;
@@ -23,6 +25,7 @@ import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 
 import com.compuware.jenkins.zadviser.Messages;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
 
 import hudson.Extension;
 import hudson.init.InitMilestone;
@@ -44,10 +47,27 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 	private String customerId;
 	private Secret encryptionKey;
 	private String initialDateRange;
+	private String duplicateRetentionDays;
+	private String maxConcurrentExtractions;
+	private String extractionCacheMinutes;
+	private String uploadRetries;
+	private boolean resendUploadedDataFiles = false;
+	private String uploadRateLimit;
+	private String uploadConnectionRateLimit;
+	private String uploadRateSchedule;
+	private String outboxWorkers;
+	private String cliWorkspaceMaxAgeHours;
+	private String cliWorkspaceQuota;
+	private boolean reuseCliWorkspaces = false;
 
 	// Used to indicate if the configuration needs saving; used only in the context of migration.
 	protected transient boolean needsSaving = false;
 
+	// The settings builds read, replaced as a whole whenever a setting changes.
+	private static volatile Snapshot current;
+	// Set while a submitted form is bound, so builds never see part of a configuration change.
+	private transient boolean binding = false;
+
 	/**
 	 * Returns the singleton instance.
 	 *
@@ -57,6 +77,24 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 		return GlobalConfiguration.all().get(ZAdviserGlobalConfiguration.class);
 	}
 
+	/**
+	 * Returns the current settings.
+	 * <p>
+	 * Lock free; the settings of the returned snapshot do not change, so a build sees a consistent configuration even if the
+	 * configuration is saved while the build runs.
+	 *
+	 * @return the settings published last
+	 */
+	public static Snapshot snapshot() {
+		Snapshot snapshot = current;
+		if (snapshot == null) {
+			ZAdviserGlobalConfiguration globalConfig = get();
+			snapshot = globalConfig != null ? globalConfig.publish() : new Snapshot(null);
+		}
+
+		return snapshot;
+	}
+
 	/**
 	 * Constructor.
 	 * <p>
@@ -95,12 +133,45 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 	 */
 	@Override
 	public boolean configure(StaplerRequest req, JSONObject json) {
-		req.bindJSON(this, json);
+		synchronized (this) {
+			binding = true;
+			try {
+				req.bindJSON(this, json);
+			} finally {
+				binding = false;
+			}
+
+			publish();
+		}
 		save();
 
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see hudson.model.Descriptor#load()
+	 */
+	@Override
+	public synchronized void load() {
+		super.load();
+		publish();
+	}
+
+	/**
+	 * Replace the settings builds read with the current settings, unless a submitted form is being bound.
+	 *
+	 * @return the settings published last
+	 */
+	private synchronized Snapshot publish() {
+		if (!binding) {
+			current = new Snapshot(this);
+		}
+
+		return current;
+	}
+
 	/**
 	 * Returns the value of the accessKey attribute. Used for databinding.
 	 *
@@ -118,6 +189,7 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 	 */
 	public void setAccessKey(Secret accessKey) {
 		this.accessKey = handleEmpty(accessKey);
+		publish();
 	}
 
 	/**
@@ -137,6 +209,7 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 	 */
 	public void setCustomerId(String customerId) {
 		this.customerId = customerId;
+		publish();
 	}
 
 	/**
@@ -156,6 +229,7 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 	 */
 	public void setEncryptionKey(Secret encryptionKey) {
 		this.encryptionKey = handleEmpty(encryptionKey);
+		publish();
 	}
 
 	/**
@@ -175,6 +249,286 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 	 */
 	public void setInitialDateRange(String initialDateRange) {
 		this.initialDateRange = initialDateRange;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the duplicateRetentionDays attribute. Used for databinding.
+	 *
+	 * @return the value of the duplicateRetentionDays attribute
+	 */
+	public String getDuplicateRetentionDays() {
+		return duplicateRetentionDays;
+	}
+
+	/**
+	 * Sets the value of the duplicateRetentionDays attribute.
+	 *
+	 * @param duplicateRetentionDays
+	 *            the number of days collected records are remembered to suppress duplicates
+	 */
+	public void setDuplicateRetentionDays(String duplicateRetentionDays) {
+		this.duplicateRetentionDays = duplicateRetentionDays;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the maxConcurrentExtractions attribute. Used for databinding.
+	 *
+	 * @return the value of the maxConcurrentExtractions attribute
+	 */
+	public String getMaxConcurrentExtractions() {
+		return maxConcurrentExtractions;
+	}
+
+	/**
+	 * Sets the value of the maxConcurrentExtractions attribute.
+	 *
+	 * @param maxConcurrentExtractions
+	 *            the number of extractions allowed to run against a mainframe host at the same time
+	 */
+	public void setMaxConcurrentExtractions(String maxConcurrentExtractions) {
+		this.maxConcurrentExtractions = maxConcurrentExtractions;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the extractionCacheMinutes attribute. Used for databinding.
+	 *
+	 * @return the value of the extractionCacheMinutes attribute
+	 */
+	public String getExtractionCacheMinutes() {
+		return extractionCacheMinutes;
+	}
+
+	/**
+	 * Sets the value of the extractionCacheMinutes attribute.
+	 *
+	 * @param extractionCacheMinutes
+	 *            the number of minutes the output of a completed extraction is handed to identical extractions
+	 */
+	public void setExtractionCacheMinutes(String extractionCacheMinutes) {
+		this.extractionCacheMinutes = extractionCacheMinutes;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the uploadRetries attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadRetries attribute
+	 */
+	public String getUploadRetries() {
+		return uploadRetries;
+	}
+
+	/**
+	 * Sets the value of the uploadRetries attribute.
+	 *
+	 * @param uploadRetries
+	 *            the number of times a failed upload is retried
+	 */
+	public void setUploadRetries(String uploadRetries) {
+		this.uploadRetries = uploadRetries;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the resendUploadedDataFiles attribute. Used for databinding.
+	 *
+	 * @return the value of the resendUploadedDataFiles attribute
+	 */
+	public boolean isResendUploadedDataFiles() {
+		return resendUploadedDataFiles;
+	}
+
+	/**
+	 * Sets the value of the resendUploadedDataFiles attribute.
+	 *
+	 * @param resendUploadedDataFiles
+	 *            the flag to upload a data file again even though the same content was uploaded before
+	 */
+	public void setResendUploadedDataFiles(boolean resendUploadedDataFiles) {
+		this.resendUploadedDataFiles = resendUploadedDataFiles;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the uploadRateLimit attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadRateLimit attribute
+	 */
+	public String getUploadRateLimit() {
+		return uploadRateLimit;
+	}
+
+	/**
+	 * Sets the value of the uploadRateLimit attribute.
+	 *
+	 * @param uploadRateLimit
+	 *            the pacing rate of all zAdviser uploads together in KB per second
+	 */
+	public void setUploadRateLimit(String uploadRateLimit) {
+		this.uploadRateLimit = uploadRateLimit;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the uploadConnectionRateLimit attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadConnectionRateLimit attribute
+	 */
+	public String getUploadConnectionRateLimit() {
+		return uploadConnectionRateLimit;
+	}
+
+	/**
+	 * Sets the value of the uploadConnectionRateLimit attribute.
+	 *
+	 * @param uploadConnectionRateLimit
+	 *            the pacing rate of the zAdviser uploads of each host connection in KB per second
+	 */
+	public void setUploadConnectionRateLimit(String uploadConnectionRateLimit) {
+		this.uploadConnectionRateLimit = uploadConnectionRateLimit;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the uploadRateSchedule attribute. Used for databinding.
+	 *
+	 * @return the value of the uploadRateSchedule attribute
+	 */
+	public String getUploadRateSchedule() {
+		return uploadRateSchedule;
+	}
+
+	/**
+	 * Sets the value of the uploadRateSchedule attribute.
+	 *
+	 * @param uploadRateSchedule
+	 *            the times of day the upload pacing applies, for example <code>08:00-18:00</code>
+	 */
+	public void setUploadRateSchedule(String uploadRateSchedule) {
+		this.uploadRateSchedule = uploadRateSchedule;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the outboxWorkers attribute. Used for databinding.
+	 *
+	 * @return the value of the outboxWorkers attribute
+	 */
+	public String getOutboxWorkers() {
+		return outboxWorkers;
+	}
+
+	/**
+	 * Sets the value of the outboxWorkers attribute.
+	 *
+	 * @param outboxWorkers
+	 *            the number of background uploads run at the same time
+	 */
+	public void setOutboxWorkers(String outboxWorkers) {
+		this.outboxWorkers = outboxWorkers;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the cliWorkspaceMaxAgeHours attribute. Used for databinding.
+	 *
+	 * @return the value of the cliWorkspaceMaxAgeHours attribute
+	 */
+	public String getCliWorkspaceMaxAgeHours() {
+		return cliWorkspaceMaxAgeHours;
+	}
+
+	/**
+	 * Sets the value of the cliWorkspaceMaxAgeHours attribute.
+	 *
+	 * @param cliWorkspaceMaxAgeHours
+	 *            the number of hours after which an unused CLI workspace is deleted
+	 */
+	public void setCliWorkspaceMaxAgeHours(String cliWorkspaceMaxAgeHours) {
+		this.cliWorkspaceMaxAgeHours = cliWorkspaceMaxAgeHours;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the cliWorkspaceQuota attribute. Used for databinding.
+	 *
+	 * @return the value of the cliWorkspaceQuota attribute
+	 */
+	public String getCliWorkspaceQuota() {
+		return cliWorkspaceQuota;
+	}
+
+	/**
+	 * Sets the value of the cliWorkspaceQuota attribute.
+	 *
+	 * @param cliWorkspaceQuota
+	 *            the size in MB the unused CLI workspaces of a node may take up
+	 */
+	public void setCliWorkspaceQuota(String cliWorkspaceQuota) {
+		this.cliWorkspaceQuota = cliWorkspaceQuota;
+		publish();
+	}
+
+	/**
+	 * Returns the value of the reuseCliWorkspaces attribute. Used for databinding.
+	 *
+	 * @return the value of the reuseCliWorkspaces attribute
+	 */
+	public boolean isReuseCliWorkspaces() {
+		return reuseCliWorkspaces;
+	}
+
+	/**
+	 * Sets the value of the reuseCliWorkspaces attribute.
+	 *
+	 * @param reuseCliWorkspaces
+	 *            the flag to lease pooled CLI workspaces instead of creating one for every CLI call
+	 */
+	public void setReuseCliWorkspaces(boolean reuseCliWorkspaces) {
+		this.reuseCliWorkspaces = reuseCliWorkspaces;
+		publish();
+	}
+
+	/**
+	 * Returns whether a time of day is within a schedule.
+	 *
+	 * @param schedule
+	 *            comma separated time ranges (<code>HH:mm-HH:mm</code>), a range may span midnight; blank for all day
+	 * @param time
+	 *            the time of day
+	 *
+	 * @return TRUE if the time is within one of the ranges of the schedule
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the schedule is not valid
+	 */
+	public static boolean isInSchedule(String schedule, LocalTime time) {
+		if (StringUtils.isBlank(schedule)) {
+			return true;
+		}
+
+		boolean inSchedule = false;
+		for (String range : StringUtils.split(schedule, ',')) {
+			String[] times = StringUtils.split(range, '-');
+			if (times.length != 2) {
+				throw new IllegalArgumentException(range);
+			}
+
+			try {
+				LocalTime start = LocalTime.parse(StringUtils.trim(times[0]));
+				LocalTime end = LocalTime.parse(StringUtils.trim(times[1]));
+				if (start.isAfter(end) ? !time.isBefore(start) || time.isBefore(end) : !time.isBefore(start) && time.isBefore(end)) {
+					inSchedule = true;
+				}
+			} catch (DateTimeParseException e) {
+				throw new IllegalArgumentException(range, e);
+			}
+		}
+
+		return inSchedule;
 	}
 
 	/**
@@ -197,6 +551,217 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
 		return FormValidation.ok();
 	}
 
+	/**
+	 * Validation for the duplicate retention days text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Days to remember collected records" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckDuplicateRetentionDays(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				int retentionDays = Integer.parseUnsignedInt(StringUtils.trim(value));
+				if (retentionDays < 1 || retentionDays > ZAdviserUtilitiesConstants.MAX_DUPLICATE_RETENTION_DAYS) {
+					return FormValidation
+							.error(Messages.checkDuplicateRetentionDaysError(ZAdviserUtilitiesConstants.MAX_DUPLICATE_RETENTION_DAYS));
+				}
+			} catch (NumberFormatException e) {
+				return FormValidation
+						.error(Messages.checkDuplicateRetentionDaysError(ZAdviserUtilitiesConstants.MAX_DUPLICATE_RETENTION_DAYS));
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the maximum concurrent extractions text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Concurrent extractions per host" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckMaxConcurrentExtractions(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				Integer.parseUnsignedInt(StringUtils.trim(value));
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkMaxConcurrentExtractionsError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the extraction cache minutes text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Minutes to reuse completed extractions" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckExtractionCacheMinutes(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				Integer.parseUnsignedInt(StringUtils.trim(value));
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkExtractionCacheMinutesError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the upload retries text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Upload retries" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckUploadRetries(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				Integer.parseUnsignedInt(StringUtils.trim(value));
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkUploadRetriesError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the upload pacing rate text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Upload pacing rate (KB/s)" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckUploadRateLimit(@QueryParameter String value) {
+		return checkUploadRateLimit(value);
+	}
+
+	/**
+	 * Validation for the upload pacing rate per host connection text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Upload pacing rate per host connection (KB/s)" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckUploadConnectionRateLimit(@QueryParameter String value) {
+		return checkUploadRateLimit(value);
+	}
+
+	/**
+	 * Validation for the upload pacing schedule text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Upload pacing schedule" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckUploadRateSchedule(@QueryParameter String value) {
+		try {
+			isInSchedule(value, LocalTime.MIDNIGHT);
+		} catch (IllegalArgumentException e) {
+			return FormValidation.error(Messages.checkUploadRateScheduleError());
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the background upload workers text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Concurrent background uploads" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckOutboxWorkers(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				if (Integer.parseUnsignedInt(StringUtils.trim(value)) < 1) {
+					return FormValidation.error(Messages.checkOutboxWorkersError());
+				}
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkOutboxWorkersError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the CLI workspace maximum age text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Hours to keep unused CLI workspaces" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckCliWorkspaceMaxAgeHours(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				if (Integer.parseUnsignedInt(StringUtils.trim(value)) < 1) {
+					return FormValidation.error(Messages.checkCliWorkspaceMaxAgeHoursError());
+				}
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkCliWorkspaceMaxAgeHoursError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for the CLI workspace quota text field.
+	 *
+	 * @param value
+	 *            value passed from the config.jelly "Unused CLI workspace quota per node (MB)" field
+	 *
+	 * @return validation message
+	 */
+	public FormValidation doCheckCliWorkspaceQuota(@QueryParameter String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				Integer.parseUnsignedInt(StringUtils.trim(value));
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkCliWorkspaceQuotaError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
+	/**
+	 * Validation for an upload pacing rate.
+	 *
+	 * @param value
+	 *            the limit in KB per second
+	 *
+	 * @return validation message
+	 */
+	private static FormValidation checkUploadRateLimit(String value) {
+		if (StringUtils.isNotBlank(value)) {
+			try {
+				Integer.parseUnsignedInt(StringUtils.trim(value));
+			} catch (NumberFormatException e) {
+				return FormValidation.error(Messages.checkUploadRateLimitError());
+			}
+		}
+
+		return FormValidation.ok();
+	}
+
 	/**
 	 * Handles an empty Secret so it does not appear masked.
 	 *
@@ -208,4 +773,220 @@ public class ZAdviserGlobalConfiguration extends GlobalConfiguration {
     private static Secret handleEmpty(Secret secret) {
 		return (secret == null || StringUtils.isBlank(secret.getPlainText())) ? null : secret;
     }
+
+	/**
+	 * An immutable copy of the zAdviser global configuration settings.
+	 * <p>
+	 * The plain text of the access and encryption keys is obtained once, when the snapshot is taken.
+	 */
+	public static final class Snapshot {
+		private final Secret accessKey;
+		private final String accessKeyText;
+		private final String customerId;
+		private final Secret encryptionKey;
+		private final String encryptionKeyText;
+		private final String initialDateRange;
+		private final String duplicateRetentionDays;
+		private final String maxConcurrentExtractions;
+		private final String extractionCacheMinutes;
+		private final String uploadRetries;
+		private final boolean resendUploadedDataFiles;
+		private final String uploadRateLimit;
+		private final String uploadConnectionRateLimit;
+		private final String uploadRateSchedule;
+		private final String outboxWorkers;
+		private final String cliWorkspaceMaxAgeHours;
+		private final String cliWorkspaceQuota;
+		private final boolean reuseCliWorkspaces;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param globalConfig
+		 *            the configuration to copy; null for the default settings
+		 */
+		Snapshot(ZAdviserGlobalConfiguration globalConfig) {
+			boolean configured = globalConfig != null;
+			accessKey = configured ? globalConfig.accessKey : null;
+			accessKeyText = accessKey != null ? accessKey.getPlainText() : StringUtils.EMPTY;
+			customerId = configured ? globalConfig.customerId : null;
+			encryptionKey = configured ? globalConfig.encryptionKey : null;
+			encryptionKeyText = encryptionKey != null ? encryptionKey.getPlainText() : StringUtils.EMPTY;
+			initialDateRange = configured ? globalConfig.initialDateRange : null;
+			duplicateRetentionDays = configured ? globalConfig.duplicateRetentionDays : null;
+			maxConcurrentExtractions = configured ? globalConfig.maxConcurrentExtractions : null;
+			extractionCacheMinutes = configured ? globalConfig.extractionCacheMinutes : null;
+			uploadRetries = configured ? globalConfig.uploadRetries : null;
+			resendUploadedDataFiles = configured && globalConfig.resendUploadedDataFiles;
+			uploadRateLimit = configured ? globalConfig.uploadRateLimit : null;
+			uploadConnectionRateLimit = configured ? globalConfig.uploadConnectionRateLimit : null;
+			uploadRateSchedule = configured ? globalConfig.uploadRateSchedule : null;
+			outboxWorkers = configured ? globalConfig.outboxWorkers : null;
+			cliWorkspaceMaxAgeHours = configured ? globalConfig.cliWorkspaceMaxAgeHours : null;
+			cliWorkspaceQuota = configured ? globalConfig.cliWorkspaceQuota : null;
+			reuseCliWorkspaces = configured && globalConfig.reuseCliWorkspaces;
+		}
+
+		/**
+		 * Gets the access key.
+		 *
+		 * @return the access key; can be null
+		 */
+		public Secret getAccessKey() {
+			return accessKey;
+		}
+
+		/**
+		 * Gets the plain text of the access key.
+		 *
+		 * @return the access key, empty if not set
+		 */
+		public String getAccessKeyText() {
+			return accessKeyText;
+		}
+
+		/**
+		 * Gets the customer ID.
+		 *
+		 * @return the customer ID; can be null
+		 */
+		public String getCustomerId() {
+			return customerId;
+		}
+
+		/**
+		 * Gets the encryption key.
+		 *
+		 * @return the encryption key; can be null
+		 */
+		public Secret getEncryptionKey() {
+			return encryptionKey;
+		}
+
+		/**
+		 * Gets the plain text of the encryption key.
+		 *
+		 * @return the encryption key, empty if not set
+		 */
+		public String getEncryptionKeyText() {
+			return encryptionKeyText;
+		}
+
+		/**
+		 * Gets the number of days in the past to start collecting data.
+		 *
+		 * @return the initial date range; can be null
+		 */
+		public String getInitialDateRange() {
+			return initialDateRange;
+		}
+
+		/**
+		 * Gets the number of days collected records are remembered.
+		 *
+		 * @return the duplicate retention days; can be null
+		 */
+		public String getDuplicateRetentionDays() {
+			return duplicateRetentionDays;
+		}
+
+		/**
+		 * Gets the number of extractions allowed to run against a host at the same time.
+		 *
+		 * @return the extraction limit; can be null
+		 */
+		public String getMaxConcurrentExtractions() {
+			return maxConcurrentExtractions;
+		}
+
+		/**
+		 * Gets the number of minutes the output of a completed extraction is reused.
+		 *
+		 * @return the extraction cache minutes; can be null
+		 */
+		public String getExtractionCacheMinutes() {
+			return extractionCacheMinutes;
+		}
+
+		/**
+		 * Gets the number of times a failed upload is retried.
+		 *
+		 * @return the upload retries; can be null
+		 */
+		public String getUploadRetries() {
+			return uploadRetries;
+		}
+
+		/**
+		 * Returns whether data files are uploaded again even though the same content was uploaded before.
+		 *
+		 * @return true if uploaded data files are sent again
+		 */
+		public boolean isResendUploadedDataFiles() {
+			return resendUploadedDataFiles;
+		}
+
+		/**
+		 * Gets the upload pacing rate of all uploads.
+		 *
+		 * @return the limit in KB per second; can be null
+		 */
+		public String getUploadRateLimit() {
+			return uploadRateLimit;
+		}
+
+		/**
+		 * Gets the upload pacing rate of the uploads of a host connection.
+		 *
+		 * @return the limit in KB per second; can be null
+		 */
+		public String getUploadConnectionRateLimit() {
+			return uploadConnectionRateLimit;
+		}
+
+		/**
+		 * Gets the times of day the upload pacing applies.
+		 *
+		 * @return the schedule; can be null
+		 */
+		public String getUploadRateSchedule() {
+			return uploadRateSchedule;
+		}
+
+		/**
+		 * Gets the number of background uploads run at the same time.
+		 *
+		 * @return the outbox workers; can be null
+		 */
+		public String getOutboxWorkers() {
+			return outboxWorkers;
+		}
+
+		/**
+		 * Gets the number of hours after which an unused CLI workspace is deleted.
+		 *
+		 * @return the maximum age; can be null
+		 */
+		public String getCliWorkspaceMaxAgeHours() {
+			return cliWorkspaceMaxAgeHours;
+		}
+
+		/**
+		 * Gets the size in MB the unused CLI workspaces of a node may take up.
+		 *
+		 * @return the quota; can be null
+		 */
+		public String getCliWorkspaceQuota() {
+			return cliWorkspaceQuota;
+		}
+
+		/**
+		 * Returns whether CLI calls lease pooled CLI workspaces.
+		 *
+		 * @return true if CLI workspaces are reused
+		 */
+		public boolean isReuseCliWorkspaces() {
+			return reuseCliWorkspaces;
+		}
+	}
 }
@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link AgentFactsCache}.
+ */
+@SuppressWarnings("nls")
+public class AgentFactsCacheTest {
+	private static final String AGENT = "agent1";
+	private static final String CLI_LOCATION = "/opt/Compuware/TopazCLI";
+	private static final String CLI_VERSION = "20.4.1";
+	private static final long CLI_MODIFIED = 1234L;
+
+	private AgentFactsCache cache;
+
+	@Before
+	public void setUp() {
+		cache = new AgentFactsCache();
+	}
+
+	@Test
+	public void testMissPopulatesCache() {
+		RemoteBuildPreparation.Result result = cache.update(AGENT, CLI_LOCATION, null,
+				new RemoteBuildPreparation.Result("/", "Linux", CLI_VERSION, CLI_MODIFIED, "/ws/jcl1.txt", null));
+
+		assertEquals(CLI_VERSION, result.getCliVersion());
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		RemoteBuildPreparation.Result cached = cache.lookup(AGENT, CLI_LOCATION);
+		assertNotNull(cached);
+		assertEquals(CLI_MODIFIED, cached.getCliModified());
+		assertNull("The JCL file must not be cached.", cached.getJclFilePath());
+	}
+
+	@Test
+	public void testHitReusesCachedVersion() {
+		cache.update(AGENT, CLI_LOCATION, null, new RemoteBuildPreparation.Result("/", "Linux", CLI_VERSION, CLI_MODIFIED, null, null));
+		RemoteBuildPreparation.Result cached = cache.lookup(AGENT, CLI_LOCATION);
+
+		RemoteBuildPreparation.Result result = cache.update(AGENT, CLI_LOCATION, cached,
+				new RemoteBuildPreparation.Result("/", "Linux", null, CLI_MODIFIED, "/ws/jcl2.txt", null));
+
+		assertEquals(CLI_VERSION, result.getCliVersion());
+		assertEquals("/ws/jcl2.txt", result.getJclFilePath());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testChangedCliDirectoryReplacesEntry() {
+		cache.update(AGENT, CLI_LOCATION, null, new RemoteBuildPreparation.Result("/", "Linux", CLI_VERSION, CLI_MODIFIED, null, null));
+		RemoteBuildPreparation.Result cached = cache.lookup(AGENT, CLI_LOCATION);
+
+		cache.update(AGENT, CLI_LOCATION, cached, new RemoteBuildPreparation.Result("/", "Linux", "21.1.1", CLI_MODIFIED + 1, null, null));
+
+		assertEquals("21.1.1", cache.lookup(AGENT, CLI_LOCATION).getCliVersion());
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	public void testInvalidate() {
+		cache.update(AGENT, CLI_LOCATION, null, new RemoteBuildPreparation.Result("/", "Linux", CLI_VERSION, CLI_MODIFIED, null, null));
+		cache.invalidate(AGENT);
+
+		assertNull(cache.lookup(AGENT, CLI_LOCATION));
+	}
+
+	@Test
+	public void testUnknownAgentIsNotCached() {
+		cache.update(null, CLI_LOCATION, null, new RemoteBuildPreparation.Result("/", "Linux", CLI_VERSION, CLI_MODIFIED, null, null));
+
+		assertNull(cache.lookup(null, CLI_LOCATION));
+		assertEquals(1, cache.getMisses());
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+/**
+ * Benchmarks preparing an agent for a CLI invocation: writing the JCL to a temporary file in the workspace and creating the
+ * persist data directory. The CLI version is known, as it is for every build but the first on an agent.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("nls")
+public class AgentPreparationBenchmark {
+	private File root;
+	private String cliLocation;
+	private long cliModified;
+	private String workspace;
+	private String persistDataRoot;
+	private String jcl;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("zAdviserBenchmark").toFile();
+		File cliDir = new File(root, "TopazCLI");
+		cliDir.mkdirs();
+		cliLocation = cliDir.getPath();
+		cliModified = cliDir.lastModified();
+		workspace = new File(root, "workspace").getPath();
+		persistDataRoot = new File(root, "jenkinsHome").getPath();
+
+		try (InputStream in = ZAdviserDownloadData.class.getClassLoader().getResourceAsStream("defaultJcl.jcl");
+				ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			IOUtils.copy(in, out);
+			jcl = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(root);
+	}
+
+	@Benchmark
+	public RemoteBuildPreparation.Result prepareAgent() throws IOException {
+		RemoteBuildPreparation.Result result = new RemoteBuildPreparation(cliLocation,
+				ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION, workspace, jcl, cliModified, persistDataRoot,
+				"0cc175b9c0f1b6a831c399e269772661").call();
+
+		// the build step deletes the JCL file once the CLI is done
+		Files.delete(Paths.get(result.getJclFilePath()));
+
+		return result;
+	}
+}
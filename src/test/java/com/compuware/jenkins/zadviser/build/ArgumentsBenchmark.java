@@ -0,0 +1,61 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.compuware.jenkins.common.configuration.HostConnection;
+import com.compuware.jenkins.common.utils.ArgumentUtils;
+import com.compuware.jenkins.common.utils.CommonConstants;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * Benchmarks building the CLI arguments of the zAdviser build steps.
+ */
+@SuppressWarnings("nls")
+public class ArgumentsBenchmark {
+	private static final String CLI_SCRIPT = "/opt/Compuware/TopazCLI/ZAdviserCLI.sh";
+	private static final String TOPAZ_CLI_WORKSPACE = "/var/jenkins/workspace/benchmark/TopazCliWkspc0f8fad5b";
+	private static final String JCL_FILE = "/var/jenkins/workspace/benchmark/jcl4711.txt";
+	private static final String PERSIST_DATA = "/var/jenkins/zAdviserWatermarks/0cc175b9c0f1b6a831c399e269772661";
+
+	@Benchmark
+	public String[] downloadArguments(JenkinsBenchmarkState state) throws Exception {
+		ArgumentListBuilder args = state.globalConfig.getArgumentBuilder(CLI_SCRIPT, ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION,
+				state.project, state.credentialsId, state.connectionId);
+		args.add(CommonConstants.DATA_PARM, TOPAZ_CLI_WORKSPACE);
+		state.download.addDownloadArguments(args, JCL_FILE, ZAdviserGlobalConfiguration.snapshot(), PERSIST_DATA);
+
+		return args.toCommandArray();
+	}
+
+	@Benchmark
+	public String[] uploadArguments(JenkinsBenchmarkState state) {
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		args.add(CLI_SCRIPT);
+
+		HostConnection connection = state.globalConfig.getHostConnection(state.connectionId);
+		args.add(CommonConstants.HOST_PARM, ArgumentUtils.escapeForScript(connection.getHost()));
+		args.add(CommonConstants.DATA_PARM, TOPAZ_CLI_WORKSPACE);
+		state.upload.addUploadArguments(args, ZAdviserGlobalConfiguration.snapshot(), PERSIST_DATA);
+
+		return args.toCommandArray();
+	}
+}
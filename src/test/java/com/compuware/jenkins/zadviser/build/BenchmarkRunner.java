@@ -0,0 +1,152 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Runs the JMH benchmarks of the plugin and compares them with the baseline results.
+ * <p>
+ * Only run by the <code>benchmark</code> Maven profile (<code>mvn test -Pbenchmark</code>). The build fails when the average
+ * time of a benchmark exceeds its baseline by more than <code>benchmark.threshold</code> (a fraction, 0.20 by default).
+ * While no baseline is recorded, benchmarks are only reported. Once a baseline exists, a benchmark missing from it fails the
+ * build as well, so a new or renamed benchmark cannot slip through unchecked.
+ * <p>
+ * To record a new baseline, run <code>mvn test -Pbenchmark -Dbenchmark.record=true</code> on the reference build agent; the
+ * results replace <code>src/test/resources/jmh-baseline.json</code> and nothing is checked. The numbers are only comparable
+ * on the machine that recorded them.
+ */
+@SuppressWarnings("nls")
+public class BenchmarkRunner {
+
+	@Test
+	public void runBenchmarks() throws Exception {
+		String results = System.getProperty("benchmark.results", "target/jmh-results.json");
+		Options options = new OptionsBuilder() //
+				.include(System.getProperty("benchmark.include", "com.compuware.jenkins.zadviser.build.*Benchmark")) //
+				.mode(Mode.AverageTime) //
+				.timeUnit(TimeUnit.MICROSECONDS) //
+				.warmupIterations(3) //
+				.warmupTime(TimeValue.seconds(2)) //
+				.measurementIterations(5) //
+				.measurementTime(TimeValue.seconds(2)) //
+				.forks(1) //
+				.shouldFailOnError(true) //
+				.resultFormat(ResultFormatType.JSON) //
+				.result(results) //
+				.build();
+
+		Collection<RunResult> runResults = new Runner(options).run();
+
+		File baselineFile = new File(System.getProperty("benchmark.baseline", "src/test/resources/jmh-baseline.json"));
+		if (Boolean.getBoolean("benchmark.record")) {
+			Files.copy(new File(results).toPath(), baselineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("Recorded the benchmark baseline " + baselineFile);
+			return;
+		}
+
+		Map<String, Double> baseline = readBaseline(baselineFile);
+		double threshold = Double.parseDouble(System.getProperty("benchmark.threshold", "0.20"));
+
+		List<String> regressions = new ArrayList<>();
+		for (RunResult runResult : runResults) {
+			String key = keyOf(runResult.getParams());
+			double score = runResult.getPrimaryResult().getScore();
+			Double baselineScore = baseline.get(key);
+			if (baselineScore == null && baseline.isEmpty()) {
+				System.out.println("No baseline for " + key + ": " + score);
+			} else if (baselineScore == null) {
+				regressions.add(String.format("%s: %.3f, no baseline (record one with -Dbenchmark.record=true)", key, score));
+			} else if (score > baselineScore * (1 + threshold)) {
+				regressions.add(String.format("%s: %.3f, baseline %.3f (+%.0f%%)", key, score, baselineScore,
+						(score / baselineScore - 1) * 100));
+			}
+		}
+
+		assertTrue("Benchmark regressions beyond " + (int) (threshold * 100) + "% or missing baselines:\n" + String.join("\n", regressions),
+				regressions.isEmpty());
+	}
+
+	/**
+	 * Read the average times of a JMH JSON results file.
+	 *
+	 * @param file
+	 *            the results file
+	 *
+	 * @return the scores by benchmark and parameters
+	 *
+	 * @throws IOException
+	 *             if the file could not be read
+	 */
+	private static Map<String, Double> readBaseline(File file) throws IOException {
+		Map<String, Double> scores = new HashMap<>();
+		if (!file.isFile()) {
+			return scores;
+		}
+
+		JSONArray results = JSONArray.fromObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+		for (Object result : results) {
+			JSONObject json = (JSONObject) result;
+			Map<String, String> params = new TreeMap<>();
+			JSONObject jsonParams = json.optJSONObject("params");
+			if (jsonParams != null && !jsonParams.isNullObject()) {
+				for (Object name : jsonParams.keySet()) {
+					params.put((String) name, jsonParams.getString((String) name));
+				}
+			}
+
+			scores.put(json.getString("benchmark") + params, json.getJSONObject("primaryMetric").getDouble("score"));
+		}
+
+		return scores;
+	}
+
+	private static String keyOf(BenchmarkParams params) {
+		Map<String, String> sorted = new TreeMap<>();
+		for (String name : params.getParamsKeys()) {
+			sorted.put(name, params.getParam(name));
+		}
+
+		return params.getBenchmark() + sorted;
+	}
+}
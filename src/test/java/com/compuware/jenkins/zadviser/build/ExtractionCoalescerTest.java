@@ -0,0 +1,146 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link ExtractionCoalescer}.
+ */
+@SuppressWarnings("nls")
+public class ExtractionCoalescerTest {
+	private static final LocalDate DAY = LocalDate.of(2026, 10, 17);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File root;
+	private ExtractionCoalescer coalescer;
+
+	@Before
+	public void setup() throws Exception {
+		root = folder.newFolder("extractions");
+		coalescer = new ExtractionCoalescer(root);
+	}
+
+	@Test
+	public void testKeyOf() {
+		String key = ExtractionCoalescer.keyOf("conn", "creds", "customer", "JCL", "30", "encrypt=false", DAY);
+
+		assertEquals(key, ExtractionCoalescer.keyOf("conn", "creds", "customer", "JCL", " 30 ", "encrypt=false", DAY));
+		assertNotEquals(key, ExtractionCoalescer.keyOf("conn", "creds", "customer", "JCL2", "30", "encrypt=false", DAY));
+		assertNotEquals(key, ExtractionCoalescer.keyOf("conn", "creds", "customer", "JCL", "30", "encrypt=true", DAY));
+		assertNotEquals(key, ExtractionCoalescer.keyOf("conn", "creds", "customer", "JCL", "30", "encrypt=false", DAY.plusDays(1)));
+	}
+
+	@Test
+	public void testFollowerReceivesCopyOfLeader() throws Exception {
+		ExtractionCoalescer.Lease leader = coalescer.join("key", "job #1", 0);
+		ExtractionCoalescer.Lease follower = coalescer.join("key", "job #2", 0);
+		assertTrue(leader.isLeader());
+		assertFalse(follower.isLeader());
+		assertEquals("job #1", follower.getOwner());
+		assertTrue(leader.isWanted());
+
+		CompletableFuture<String> copy = CompletableFuture.supplyAsync(() -> {
+			try (ExtractionCoalescer.Lease lease = follower) {
+				ExtractionCoalescer.Extraction extraction = lease.await();
+				return new String(Files.readAllBytes(extraction.getFile("unencrypted").toPath()), StandardCharsets.UTF_8);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		File output = leader.getFile("unencrypted");
+		output.getParentFile().mkdirs();
+		Files.write(output.toPath(), "records".getBytes(StandardCharsets.UTF_8));
+		leader.complete(true);
+		leader.close();
+
+		assertEquals("records", copy.get(10, TimeUnit.SECONDS));
+		assertEquals(1, coalescer.getCoalesced());
+		assertEquals(0, coalescer.getRunning());
+		assertEquals(0, coalescer.getKept());
+		assertFalse("copies are deleted once the follower is done", output.exists());
+	}
+
+	@Test
+	public void testFailedLeaderHandsOverToFollower() throws Exception {
+		ExtractionCoalescer.Lease leader = coalescer.join("key", "job #1", 0);
+		ExtractionCoalescer.Lease follower = coalescer.join("key", "job #2", 0);
+
+		leader.close();
+		assertNull(follower.await());
+		follower.close();
+
+		try (ExtractionCoalescer.Lease retry = coalescer.join("key", "job #2", 0)) {
+			assertTrue(retry.isLeader());
+		}
+	}
+
+	@Test
+	public void testNotWantedWithoutFollowersOrTtl() throws Exception {
+		try (ExtractionCoalescer.Lease leader = coalescer.join("key", "job #1", 0)) {
+			assertFalse(leader.isWanted());
+			leader.complete(false);
+		}
+
+		try (ExtractionCoalescer.Lease next = coalescer.join("key", "job #2", 0)) {
+			assertTrue(next.isLeader());
+		}
+	}
+
+	@Test
+	public void testCompletedExtractionKeptForTtl() throws Exception {
+		try (ExtractionCoalescer.Lease leader = coalescer.join("key", "job #1", 200)) {
+			assertTrue(leader.isWanted());
+			File output = leader.getFile("unencrypted");
+			output.getParentFile().mkdirs();
+			Files.write(output.toPath(), "records".getBytes(StandardCharsets.UTF_8));
+			leader.complete(true);
+		}
+		assertEquals(1, coalescer.getKept());
+
+		try (ExtractionCoalescer.Lease later = coalescer.join("key", "job #2", 200)) {
+			assertFalse(later.isLeader());
+			assertTrue(later.await().getFile("unencrypted").exists());
+		}
+
+		Thread.sleep(300);
+		assertEquals(0, coalescer.getKept());
+		assertEquals(0, root.list().length);
+		try (ExtractionCoalescer.Lease expired = coalescer.join("key", "job #3", 200)) {
+			assertTrue(expired.isLeader());
+		}
+	}
+}
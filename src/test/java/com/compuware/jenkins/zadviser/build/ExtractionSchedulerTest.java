@@ -0,0 +1,223 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ExtractionScheduler}.
+ */
+@SuppressWarnings("nls")
+public class ExtractionSchedulerTest {
+	private final ExtractionScheduler scheduler = ExtractionScheduler.get();
+	private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+	private final PrintStream logger = new PrintStream(log, true);
+
+	@Test
+	public void testAcquireWithinLimitDoesNotWait() throws Exception {
+		String host = "withinLimit";
+		scheduler.acquire(host, 2, -1, logger);
+		scheduler.acquire(host, 2, -1, logger);
+
+		assertEquals(2, scheduler.getRunning(host));
+		assertFalse(scheduler.hasCapacity(host, 2));
+		assertFalse(log.toString().contains("Waiting"));
+
+		scheduler.release(host);
+		scheduler.release(host);
+		assertEquals(0, scheduler.getRunning(host));
+		assertTrue(scheduler.hasCapacity(host, 2));
+	}
+
+	@Test
+	public void testWaitsBeyondLimit() throws Exception {
+		String host = "beyondLimit";
+		scheduler.acquire(host, 1, -1, logger);
+
+		CountDownLatch acquired = new CountDownLatch(1);
+		Thread waiter = start(() -> {
+			scheduler.acquire(host, 1, -1, logger);
+			acquired.countDown();
+			scheduler.release(host);
+		});
+
+		assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+		assertEquals(1, scheduler.getQueued(host));
+		assertTrue(log.toString()
+				.contains("Waiting for a zAdviser extraction slot on host beyondLimit: 1 running, 0 reserved, 0 queued ahead, limit 1"));
+
+		scheduler.release(host);
+		assertTrue(acquired.await(10, TimeUnit.SECONDS));
+		waiter.join();
+		assertEquals(0, scheduler.getRunning(host));
+	}
+
+	@Test
+	public void testWaitersRunInArrivalOrder() throws Exception {
+		String host = "fifo";
+		scheduler.acquire(host, 1, -1, logger);
+
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> waiters = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			int id = i;
+			waiters.add(start(() -> {
+				scheduler.acquire(host, 1, -1, logger);
+				order.add(id);
+				scheduler.release(host);
+			}));
+			awaitQueued(host, i + 1);
+		}
+
+		scheduler.release(host);
+		for (Thread waiter : waiters) {
+			waiter.join(10000);
+		}
+
+		assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+	}
+
+	@Test
+	public void testNoLimitDoesNotWait() throws Exception {
+		String host = "noLimit";
+		for (int i = 0; i < 5; i++) {
+			scheduler.acquire(host, 0, -1, logger);
+		}
+
+		assertEquals(5, scheduler.getRunning(host));
+		assertTrue(scheduler.hasCapacity(host, 0));
+		assertFalse(log.toString().contains("Waiting"));
+
+		for (int i = 0; i < 5; i++) {
+			scheduler.release(host);
+		}
+	}
+
+	@Test
+	public void testReservationsCountAgainstLimit() throws Exception {
+		String host = "reserved";
+		scheduler.reserve(4711, host);
+
+		CountDownLatch acquired = new CountDownLatch(1);
+		Thread waiter = start(() -> {
+			scheduler.acquire(host, 1, -1, logger);
+			acquired.countDown();
+			scheduler.release(host);
+		});
+
+		assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+		assertTrue(log.toString().contains("0 running, 1 reserved, 0 queued ahead, limit 1"));
+
+		// the build holding the reservation ended without reaching its download step
+		scheduler.unreserve(4711);
+		assertTrue(acquired.await(10, TimeUnit.SECONDS));
+		waiter.join();
+		assertTrue(scheduler.hasCapacity(host, 1));
+	}
+
+	@Test
+	public void testHostsDoNotShareSlots() throws Exception {
+		scheduler.acquire("hostA", 1, -1, logger);
+		assertTrue(scheduler.hasCapacity("hostB", 1));
+		scheduler.acquire("hostB", 1, -1, logger);
+
+		scheduler.release("hostA");
+		scheduler.release("hostB");
+	}
+
+	@Test
+	public void testQueuedBuildBlocksNewArrivals() throws Exception {
+		String host = "queued";
+		scheduler.acquire(host, 2, -1, logger);
+		scheduler.acquire(host, 2, -1, logger);
+		Thread waiter = start(() -> {
+			scheduler.acquire(host, 2, -1, logger);
+			scheduler.release(host);
+		});
+		awaitQueued(host, 1);
+
+		// a build waiting in a build step comes first, even when the limit is raised
+		assertFalse(scheduler.hasCapacity(host, 3));
+
+		scheduler.release(host);
+		waiter.join(10000);
+		assertTrue(scheduler.hasCapacity(host, 2));
+		scheduler.release(host);
+	}
+
+	@Test
+	public void testInterruptedWaiterLeavesQueue() throws Exception {
+		String host = "interrupted";
+		scheduler.acquire(host, 1, -1, logger);
+
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			try {
+				scheduler.acquire(host, 1, -1, logger);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+		});
+		waiter.start();
+		awaitQueued(host, 1);
+
+		waiter.interrupt();
+		assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+		assertEquals(0, scheduler.getQueued(host));
+
+		scheduler.release(host);
+		assertTrue(scheduler.hasCapacity(host, 1));
+	}
+
+	private interface Body {
+		void run() throws InterruptedException;
+	}
+
+	private static Thread start(Body body) {
+		Thread thread = new Thread(() -> {
+			try {
+				body.run();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+	private void awaitQueued(String host, int queued) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (scheduler.getQueued(host) < queued && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		assertEquals(queued, scheduler.getQueued(host));
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.server.subsystem.sftp.SftpSubsystemFactory;
+
+/**
+ * A local SFTP server standing in for the zAdviser upload server.
+ * <p>
+ * Accepts a single user (the customer ID) with a single password (the access key) and stores the uploaded files in a local
+ * directory.
+ */
+public class FakeSftpServer {
+	private final File root;
+	private final String user;
+	private final String password;
+	private SshServer server;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param root
+	 *            the directory receiving the uploaded files
+	 * @param user
+	 *            the user name to accept
+	 * @param password
+	 *            the password to accept
+	 */
+	public FakeSftpServer(File root, String user, String password) {
+		this.root = root;
+		this.user = user;
+		this.password = password;
+	}
+
+	/**
+	 * Start listening on a free local port.
+	 *
+	 * @return the port
+	 *
+	 * @throws IOException
+	 *             if the server could not be started
+	 */
+	public int start() throws IOException {
+		server = SshServer.setUpDefaultServer();
+		server.setHost("localhost"); //$NON-NLS-1$
+		server.setPort(0);
+		server.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(new File(root.getParentFile(), "hostkey.ser").toPath())); //$NON-NLS-1$
+		server.setPasswordAuthenticator((u, p, session) -> user.equals(u) && password.equals(p));
+		server.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+		server.setFileSystemFactory(new VirtualFileSystemFactory(root.toPath()));
+		server.start();
+
+		return server.getPort();
+	}
+
+	/**
+	 * Stop the server.
+	 *
+	 * @throws IOException
+	 *             if the server could not be stopped
+	 */
+	public void stop() throws IOException {
+		if (server != null) {
+			server.stop(true);
+		}
+	}
+
+	/**
+	 * Returns the files uploaded so far.
+	 *
+	 * @return the uploaded files
+	 */
+	public File[] getUploadedFiles() {
+		File[] files = root.listFiles(File::isFile);
+		return files != null ? files : new File[0];
+	}
+}
@@ -0,0 +1,227 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.client.subsystem.sftp.SftpClient;
+import org.apache.sshd.client.subsystem.sftp.SftpClientFactory;
+
+import com.compuware.jenkins.common.utils.CommonConstants;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+/**
+ * A stand-in for the zAdviser CLI used to exercise the build steps without a mainframe.
+ * <p>
+ * The download step waits for the configured latency (the extraction job on the mainframe) and writes the configured number
+ * of synthetic SMF type 241 CSV records from {@link SmfRecordGenerator} to the unencrypted data file. The upload step, and the download step when asked to
+ * upload, sends the data file to a {@link FakeSftpServer} with the customer ID and access key as credentials.
+ * <p>
+ * A download from a host whose name starts with <code>fail</code> fails without writing any data. Every download records how
+ * many downloads of the same CLI directory were running, see {@link #getMaxConcurrentDownloads(File)}.
+ * <p>
+ * Installed by {@link #install(File, int, long, int)} as the <code>ZAdviserCLI.sh</code> of a CLI directory, which runs this
+ * class in a new JVM with the test class path, as the real CLI does.
+ */
+@SuppressWarnings("nls")
+public class FakeZAdviserCli {
+	private static final String RECORDS_PROPERTY = "fake.zadviser.records";
+	private static final String LATENCY_PROPERTY = "fake.zadviser.latency";
+	private static final String SFTP_PORT_PROPERTY = "fake.zadviser.sftpPort";
+	private static final String CLI_DIR_PROPERTY = "fake.zadviser.cliDir";
+	private static final String RUNNING_DIR = "running";
+	private static final String CONCURRENCY_FILE = "concurrency.log";
+	private static final String FAILING_HOST_PREFIX = "fail";
+	private static final long SFTP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private FakeZAdviserCli() {
+	}
+
+	/**
+	 * Write a <code>ZAdviserCLI.sh</code> running the fake CLI into a CLI directory.
+	 *
+	 * @param cliDir
+	 *            the CLI directory
+	 * @param records
+	 *            the number of records a download produces
+	 * @param latencyMillis
+	 *            how long a download waits before producing the records
+	 * @param sftpPort
+	 *            the local port of the SFTP server receiving uploads
+	 *
+	 * @throws IOException
+	 *             if the script could not be written
+	 */
+	public static void install(File cliDir, int records, long latencyMillis, int sftpPort) throws IOException {
+		String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+		File script = new File(cliDir, ZAdviserUtilitiesConstants.ZADVISER_CLI_SH);
+		try (Writer writer = Files.newBufferedWriter(script.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("#!/bin/sh\n");
+			writer.write("exec \"" + java + "\" -Xmx64m -D" + RECORDS_PROPERTY + '=' + records + " -D" + LATENCY_PROPERTY + '='
+					+ latencyMillis + " -D" + SFTP_PORT_PROPERTY + '=' + sftpPort + " -D" + CLI_DIR_PROPERTY + "=\"" + cliDir.getPath()
+					+ "\" -cp \"" + System.getProperty("java.class.path")
+					+ "\" " + FakeZAdviserCli.class.getName() + " \"$@\"\n");
+		}
+
+		if (!script.setExecutable(true)) {
+			throw new IOException("Unable to make executable: " + script);
+		}
+	}
+
+	/**
+	 * Returns the largest number of downloads of a CLI directory that were running at the same time.
+	 *
+	 * @param cliDir
+	 *            the CLI directory
+	 *
+	 * @return the number of downloads, 0 if none ran
+	 *
+	 * @throws IOException
+	 *             if the recorded numbers could not be read
+	 */
+	public static int getMaxConcurrentDownloads(File cliDir) throws IOException {
+		File file = new File(cliDir, CONCURRENCY_FILE);
+		if (!file.exists()) {
+			return 0;
+		}
+
+		return Files.readAllLines(file.toPath(), StandardCharsets.US_ASCII).stream().mapToInt(Integer::parseInt).max().orElse(0);
+	}
+
+	public static void main(String[] args) {
+		try {
+			run(parse(args));
+			System.exit(0);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+
+	private static void run(Map<String, String> args) throws IOException, InterruptedException {
+		String buildStep = args.get(ZAdviserUtilitiesConstants.BUILD_STEP_PARAM);
+		if (ZAdviserUtilitiesConstants.DOWNLOAD_STEP.equals(buildStep)) {
+			File dataFile = new File(required(args, ZAdviserUtilitiesConstants.UNENCRYPTED_DATA_FILE_PARM));
+			int records = Integer.getInteger(RECORDS_PROPERTY, 10000);
+			extract(args.getOrDefault(CommonConstants.HOST_PARM, ""));
+			new SmfRecordGenerator().setSeed(dataFile.getAbsolutePath().hashCode()).writeRecords(dataFile.toPath(), records);
+			System.out.println("Downloaded " + records + " records to " + dataFile);
+
+			String encryptedDataFile = args.get(ZAdviserUtilitiesConstants.ENCRYPTED_DATA_FILE_PARM);
+			if (encryptedDataFile != null) {
+				// no real encryption, the upload only needs a file
+				Files.copy(dataFile.toPath(), new File(encryptedDataFile).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			String persistData = args.get(ZAdviserUtilitiesConstants.PERSIST_DATA_PARM);
+			if (persistData != null) {
+				Files.write(new File(persistData, ZAdviserUtilitiesConstants.ZADVISER_LAST_RUN_FILE).toPath(),
+						("lastRun=" + System.currentTimeMillis() + '\n').getBytes(StandardCharsets.UTF_8));
+			}
+		} else if (!ZAdviserUtilitiesConstants.UPLOAD_STEP.equals(buildStep)) {
+			throw new IllegalArgumentException("Unknown build step: " + buildStep);
+		}
+
+		String uploadDataFile = args.get(ZAdviserUtilitiesConstants.UPLOAD_DATA_FILE_PARM);
+		if (uploadDataFile != null) {
+			upload(new File(uploadDataFile), required(args, ZAdviserUtilitiesConstants.CUSTOMER_ID_PARM),
+					required(args, ZAdviserUtilitiesConstants.ACCESS_KEY_PARM));
+		}
+	}
+
+	private static void extract(String host) throws IOException, InterruptedException {
+		File running = new File(System.getProperty(CLI_DIR_PROPERTY), RUNNING_DIR);
+		Files.createDirectories(running.toPath());
+		File marker = File.createTempFile("download", ".run", running);
+		try {
+			String[] downloads = running.list();
+			Files.write(new File(running.getParentFile(), CONCURRENCY_FILE).toPath(),
+					((downloads != null ? downloads.length : 1) + "\n").getBytes(StandardCharsets.US_ASCII), StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+
+			Thread.sleep(Long.getLong(LATENCY_PROPERTY, 0));
+			if (host.startsWith(FAILING_HOST_PREFIX)) {
+				throw new IOException("Unable to connect to host " + host);
+			}
+		} finally {
+			Files.delete(marker.toPath());
+		}
+	}
+
+	private static void upload(File dataFile, String customerId, String accessKey) throws IOException {
+		try (SshClient client = SshClient.setUpDefaultClient()) {
+			client.setServerKeyVerifier(AcceptAllServerKeyVerifier.INSTANCE);
+			client.start();
+
+			try (ClientSession session = client.connect(customerId, "localhost", Integer.getInteger(SFTP_PORT_PROPERTY)) //$NON-NLS-1$
+					.verify(SFTP_TIMEOUT_MILLIS).getSession()) {
+				session.addPasswordIdentity(accessKey);
+				session.auth().verify(SFTP_TIMEOUT_MILLIS);
+
+				String remoteName = UUID.randomUUID() + "_" + dataFile.getName();
+				try (SftpClient sftp = SftpClientFactory.instance().createSftpClient(session);
+						OutputStream out = sftp.write(remoteName)) {
+					Files.copy(dataFile.toPath(), out);
+				}
+
+				System.out.println("Uploaded " + dataFile + " as " + remoteName);
+			}
+		}
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> parsed = new HashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].startsWith("-") && i + 1 < args.length && !args[i + 1].startsWith("-")) {
+				parsed.put(args[i], unquote(args[++i]));
+			}
+		}
+
+		return parsed;
+	}
+
+	private static String unquote(String value) {
+		if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+			return value.substring(1, value.length() - 1);
+		}
+
+		return value;
+	}
+
+	private static String required(Map<String, String> args, String name) {
+		String value = args.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing argument: " + name);
+		}
+
+		return value;
+	}
+}
@@ -0,0 +1,42 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import hudson.util.ListBoxModel;
+
+/**
+ * Benchmarks filling the host connection and login credentials selection boxes of the zAdviser build steps.
+ */
+public class FillItemsBenchmark {
+
+	@Benchmark
+	public ListBoxModel downloadConnectionIdItems(JenkinsBenchmarkState state) {
+		return state.download.getDescriptor().doFillConnectionIdItems(null, state.connectionId, state.project);
+	}
+
+	@Benchmark
+	public ListBoxModel downloadCredentialsIdItems(JenkinsBenchmarkState state) {
+		return state.download.getDescriptor().doFillCredentialsIdItems(null, state.credentialsId, state.project);
+	}
+
+	@Benchmark
+	public ListBoxModel uploadConnectionIdItems(JenkinsBenchmarkState state) {
+		return state.upload.getDescriptor().doFillConnectionIdItems(null, state.connectionId, state.project);
+	}
+}
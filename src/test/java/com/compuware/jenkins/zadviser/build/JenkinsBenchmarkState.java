@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.model.FreeStyleProject;
+import hudson.util.Secret;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * A Jenkins instance with a configurable number of host connections and login credentials for benchmarks.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("nls")
+public class JenkinsBenchmarkState {
+	@Param({ "100", "5000" })
+	public int size;
+
+	JenkinsRule jenkinsRule;
+	CpwrGlobalConfiguration globalConfig;
+	ZAdviserGlobalConfiguration zAdviserGlobalConfig;
+	FreeStyleProject project;
+	ZAdviserDownloadData download;
+	ZAdviserUploadData upload;
+	String connectionId;
+	String credentialsId;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Throwable {
+		jenkinsRule = new JenkinsRule();
+		jenkinsRule.apply(new Statement() {
+			@Override
+			public void evaluate() {
+				// the benchmark drives the rule itself
+			}
+		}, Description.createTestDescription(JenkinsBenchmarkState.class, "benchmark"));
+		jenkinsRule.before();
+
+		JSONArray hostConnections = new JSONArray();
+		for (int i = 0; i < size; i++) {
+			JSONObject hostConnection = new JSONObject();
+			hostConnection.put("description", "Connection " + i);
+			hostConnection.put("hostPort", "host" + i + ":30947");
+			hostConnection.put("protocol", "TLSv1.2");
+			hostConnection.put("codePage", "1047");
+			hostConnection.put("timeout", "123");
+			hostConnection.put("connectionId", "connection" + i);
+			hostConnection.put("cesUrl", "https://ces" + i + "/");
+			hostConnections.add(hostConnection);
+		}
+
+		JSONObject json = new JSONObject();
+		json.put("hostConn", hostConnections);
+		json.put("topazCLILocationLinux", "/opt/Compuware/TopazCLI");
+		json.put("topazCLILocationWindows", "C:\\Program Files\\Compuware\\Topaz Workbench CLI");
+		globalConfig = CpwrGlobalConfiguration.get();
+		globalConfig.configure(null, json);
+
+		for (int i = 0; i < size; i++) {
+			SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL,
+					"credentials" + i, "Credentials " + i, "user" + i, "password" + i));
+		}
+		SystemCredentialsProvider.getInstance().save();
+
+		zAdviserGlobalConfig = ZAdviserGlobalConfiguration.get();
+		zAdviserGlobalConfig.setAccessKey(Secret.fromString("accessKey"));
+		zAdviserGlobalConfig.setEncryptionKey(Secret.fromString("encryptionKey"));
+		zAdviserGlobalConfig.setCustomerId("customer");
+		zAdviserGlobalConfig.setInitialDateRange("30");
+
+		project = jenkinsRule.createFreeStyleProject("benchmark");
+
+		// the last entries are the worst case for lookups and selection
+		connectionId = "connection" + (size - 1);
+		credentialsId = "credentials" + (size - 1);
+
+		download = new ZAdviserDownloadData(connectionId, credentialsId, "some jcl", "/test/encrypted.csv", "/test/unencrypted.csv");
+		download.setEncryptData(true);
+		download.setUploadData(true);
+		upload = new ZAdviserUploadData(connectionId, "/test/encrypted.csv");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		jenkinsRule.after();
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import hudson.util.ListBoxModel;
+
+/**
+ * Test cases for {@link ListBoxModelCache}.
+ */
+@SuppressWarnings("nls")
+public class ListBoxModelCacheTest {
+	private final ListBoxModelCache.Choices choices = new ListBoxModelCache.Choices(
+			Arrays.asList(new String[] { "LPAR1 [cw01:16196]", "a.c" }, new String[] { "LPAR2 [cw02:16196]", "abc" }), 0);
+
+	@Test
+	public void testEmptyChoiceComesFirst() {
+		ListBoxModel model = choices.toModel(null);
+
+		assertEquals(3, model.size());
+		assertEquals("", model.get(0).value);
+		assertEquals("LPAR1 [cw01:16196]", model.get(1).name);
+		assertEquals("abc", model.get(2).value);
+		assertFalse(model.get(1).selected || model.get(2).selected);
+	}
+
+	@Test
+	public void testSelectionMatchesTheValueExactly() {
+		ListBoxModel model = choices.toModel("abc");
+		assertFalse(model.get(1).selected);
+		assertTrue(model.get(2).selected);
+
+		// the selected value is not a regular expression
+		model = choices.toModel("a.c");
+		assertTrue(model.get(1).selected);
+		assertFalse(model.get(2).selected);
+	}
+
+	@Test
+	public void testEveryModelIsNew() {
+		ListBoxModel first = choices.toModel("abc");
+		ListBoxModel second = choices.toModel("a.c");
+
+		assertNotSame(first.get(1), second.get(1));
+		assertTrue(first.get(2).selected);
+	}
+
+	@Test
+	public void testChoicesExpire() {
+		assertFalse(choices.isExpired(ListBoxModelCache.EXPIRY_MILLIS - 1));
+		assertTrue(choices.isExpired(ListBoxModelCache.EXPIRY_MILLIS));
+	}
+}
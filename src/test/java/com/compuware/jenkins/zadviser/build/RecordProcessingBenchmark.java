@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+/**
+ * Benchmarks the plugin side processing of the CSV records produced by ROICOPY: reading and fingerprinting every record to
+ * suppress duplicates. Encryption and compression are done by the CLI and are not part of the plugin.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@SuppressWarnings("nls")
+public class RecordProcessingBenchmark {
+	@Param({ "100000" })
+	public int records;
+
+	private File root;
+	private File dataFile;
+	private String persistData;
+	private byte[] data;
+	private int[] recordStarts;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("zAdviserBenchmark").toFile();
+		dataFile = new File(root, "unencrypted.csv");
+		persistData = new File(root, "persistData").getPath();
+
+		new SmfRecordGenerator().writeRecords(dataFile.toPath(), records);
+
+		data = Files.readAllBytes(dataFile.toPath());
+		recordStarts = new int[records + 1];
+		int record = 0;
+		for (int i = 0; i < data.length && record < recordStarts.length; i++) {
+			if (data[i] == '\n') {
+				recordStarts[record++] = i + 1;
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(root);
+	}
+
+	/**
+	 * Nothing is committed, so every record is kept and the data file is rewritten unchanged.
+	 */
+	@Benchmark
+	public RemoteDuplicateSuppression.Result suppressDuplicates() throws IOException {
+		return new RemoteDuplicateSuppression(persistData, ZAdviserUtilitiesConstants.DEFAULT_DUPLICATE_RETENTION_DAYS)
+				.invoke(dataFile, null);
+	}
+
+	@Benchmark
+	public long fingerprintRecords() {
+		RecordFingerprints fingerprints = new RecordFingerprints();
+		long result = 0;
+		for (int i = 0; i < records; i++) {
+			int start = recordStarts[i];
+			fingerprints.compute(data, start, recordStarts[i + 1] - start);
+			result ^= fingerprints.getH1() ^ fingerprints.getH2();
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+
+/**
+ * Test cases for {@link RemoteCliWorkspaceReaper}.
+ */
+@SuppressWarnings("nls")
+public class RemoteCliWorkspaceReaperTest {
+	private static final String PREFIX = ZAdviserUtilitiesConstants.ZADVISER_CLI_WORKSPACE;
+	private static final long MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File workspaceRoot;
+	private File workspace;
+
+	@Before
+	public void setUp() throws IOException {
+		workspaceRoot = folder.newFolder("workspace");
+		workspace = new File(workspaceRoot, "job");
+		assertTrue(workspace.mkdir());
+	}
+
+	@Test
+	public void testExpiredCliWorkspacesAreDeleted() throws IOException {
+		File expired = cliWorkspace("1", 100, TimeUnit.HOURS.toMillis(48));
+		File recent = cliWorkspace("2", 100, TimeUnit.HOURS.toMillis(1));
+		File other = cliWorkspace("", 100, TimeUnit.HOURS.toMillis(48));
+		File renamed = new File(workspace, "data");
+		assertTrue(other.renameTo(renamed));
+		File otherPlugin = new File(workspace, "TOPAZ_CLI_WORKSPACE1");
+		assertTrue(cliWorkspace("3", 100, TimeUnit.HOURS.toMillis(48)).renameTo(otherPlugin));
+
+		RemoteCliWorkspaceReaper.Result result = reap(Collections.<String>emptyList(), 0);
+
+		assertFalse(expired.exists());
+		assertTrue(recent.exists());
+		assertTrue(renamed.exists());
+		assertTrue(otherPlugin.exists());
+		assertEquals(2, result.getFound());
+		assertEquals(1, result.getDeleted());
+		assertEquals(100, result.getReclaimedBytes());
+		assertEquals(100, result.getRemainingBytes());
+	}
+
+	@Test
+	public void testActiveCliWorkspacesAreKept() throws IOException {
+		File active = cliWorkspace("1", 100, TimeUnit.HOURS.toMillis(48));
+
+		RemoteCliWorkspaceReaper.Result result = reap(Collections.singletonList(active.getPath()), 0);
+
+		assertTrue(active.exists());
+		assertEquals(0, result.getFound());
+		assertEquals(0, result.getDeleted());
+	}
+
+	@Test
+	public void testQuotaDeletesOldestFirst() throws IOException {
+		File oldest = cliWorkspace("1", 300, TimeUnit.HOURS.toMillis(3));
+		File older = cliWorkspace("2", 300, TimeUnit.HOURS.toMillis(2));
+		File newest = cliWorkspace("3", 300, TimeUnit.HOURS.toMillis(1));
+		File changing = cliWorkspace("4", 300, TimeUnit.MINUTES.toMillis(1));
+
+		RemoteCliWorkspaceReaper.Result result = reap(Collections.<String>emptyList(), 500);
+
+		assertFalse(oldest.exists());
+		assertFalse(older.exists());
+		assertFalse(newest.exists());
+		assertTrue(changing.exists());
+		assertEquals(3, result.getDeleted());
+		assertEquals(900, result.getReclaimedBytes());
+		assertEquals(300, result.getRemainingBytes());
+	}
+
+	@Test
+	public void testQuotaKeepsCliWorkspacesThatFit() throws IOException {
+		File oldest = cliWorkspace("1", 300, TimeUnit.HOURS.toMillis(3));
+		File newest = cliWorkspace("2", 300, TimeUnit.HOURS.toMillis(1));
+
+		RemoteCliWorkspaceReaper.Result result = reap(Collections.<String>emptyList(), 400);
+
+		assertFalse(oldest.exists());
+		assertTrue(newest.exists());
+		assertEquals(300, result.getReclaimedBytes());
+	}
+
+	private RemoteCliWorkspaceReaper.Result reap(List<String> active, long quotaBytes) throws IOException {
+		return new RemoteCliWorkspaceReaper(Collections.singletonList(workspaceRoot.getPath()), PREFIX, active,
+				MAX_AGE_MILLIS, quotaBytes).call();
+	}
+
+	private File cliWorkspace(String suffix, int bytes, long ageMillis) throws IOException {
+		File directory = new File(workspace, PREFIX + suffix);
+		File metadata = new File(directory, ".metadata");
+		assertTrue(metadata.mkdirs());
+		File log = new File(metadata, ".log");
+		Files.write(log.toPath(), new byte[bytes]);
+
+		long lastModified = System.currentTimeMillis() - ageMillis;
+		assertTrue(log.setLastModified(lastModified));
+		assertTrue(metadata.setLastModified(lastModified));
+		assertTrue(directory.setLastModified(lastModified));
+		return directory;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link RemoteDataFileStats}.
+ */
+@SuppressWarnings("nls")
+public class RemoteDataFileStatsTest {
+	private static final String HEADER = "DATE,TIME,JOB,PROGRAM,USER\r\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRecordsExcludeHeader() throws IOException {
+		String content = HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n2026-10-01,10:01,JOB2,PGM2,USER2\r\n";
+		File file = write("data.csv", content);
+
+		RemoteDataFileStats.Result stats = new RemoteDataFileStats().invoke(file, null);
+
+		assertEquals(2, stats.getRecords());
+		assertEquals(content.length(), stats.getBytes());
+	}
+
+	@Test
+	public void testChecksum() throws IOException {
+		assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+				new RemoteDataFileStats().invoke(write("data.csv", "abc"), null).getChecksum());
+	}
+
+	@Test
+	public void testLastRecordWithoutLineTerminator() throws IOException {
+		File file = write("data.csv", HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n2026-10-01,10:01,JOB2,PGM2,USER2");
+
+		assertEquals(2, new RemoteDataFileStats().invoke(file, null).getRecords());
+	}
+
+	@Test
+	public void testHeaderOnlyAndEmptyFilesHaveNoRecords() throws IOException {
+		assertEquals(0, new RemoteDataFileStats().invoke(write("header.csv", HEADER), null).getRecords());
+
+		RemoteDataFileStats.Result stats = new RemoteDataFileStats().invoke(write("empty.csv", ""), null);
+		assertEquals(0, stats.getRecords());
+		assertEquals(0, stats.getBytes());
+	}
+
+	@Test
+	public void testMissingFile() throws IOException {
+		assertNull(new RemoteDataFileStats().invoke(new File(folder.getRoot(), "missing.csv"), null));
+	}
+
+	private File write(String name, String content) throws IOException {
+		File file = new File(folder.getRoot(), name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link RemoteDataMerge}.
+ */
+@SuppressWarnings("nls")
+public class RemoteDataMergeTest {
+	private static final String HEADER = "DATE,TIME,JOB,PROGRAM,USER\r\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testHeaderIsKeptOnce() throws IOException {
+		File first = write("first.csv", HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n");
+		File second = write("second.csv", HEADER + "2026-10-01,10:01,JOB2,PGM2,USER2\r\n2026-10-01,10:02,JOB3,PGM3,USER3\r\n");
+		File merged = new File(folder.getRoot(), "merged.csv");
+
+		Long length = new RemoteDataMerge(Arrays.asList(first.getPath(), second.getPath())).invoke(merged, null);
+
+		String expected = HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n2026-10-01,10:01,JOB2,PGM2,USER2\r\n"
+				+ "2026-10-01,10:02,JOB3,PGM3,USER3\r\n";
+		assertEquals(expected, read(merged));
+		assertEquals(expected.length(), length.longValue());
+	}
+
+	@Test
+	public void testMissingLineTerminatorIsAdded() throws IOException {
+		File first = write("first.csv", HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1");
+		File second = write("second.csv", HEADER + "2026-10-01,10:01,JOB2,PGM2,USER2\r\n");
+		File merged = new File(folder.getRoot(), "merged.csv");
+
+		new RemoteDataMerge(Arrays.asList(first.getPath(), second.getPath())).invoke(merged, null);
+
+		assertEquals(HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\n2026-10-01,10:01,JOB2,PGM2,USER2\r\n", read(merged));
+	}
+
+	@Test
+	public void testHeaderOnlyFilesAddNothing() throws IOException {
+		File first = write("first.csv", HEADER);
+		File second = write("second.csv", HEADER);
+		File third = write("third.csv", HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n");
+		File merged = new File(folder.getRoot(), "merged.csv");
+
+		new RemoteDataMerge(Arrays.asList(first.getPath(), second.getPath(), third.getPath())).invoke(merged, null);
+
+		assertEquals(HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n", read(merged));
+	}
+
+	@Test
+	public void testNoDataFilesLeaveAnEmptyFile() throws IOException {
+		File merged = write("merged.csv", "earlier data\r\n");
+
+		new RemoteDataMerge(Collections.<String>emptyList()).invoke(merged, null);
+
+		assertEquals("", read(merged));
+	}
+
+	private File write(String name, String content) throws IOException {
+		File file = new File(folder.getRoot(), name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
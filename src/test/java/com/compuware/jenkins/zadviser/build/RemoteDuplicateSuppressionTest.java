@@ -0,0 +1,227 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link RemoteDuplicateSuppression} and {@link RecordFingerprintFilter}.
+ */
+@SuppressWarnings("nls")
+public class RemoteDuplicateSuppressionTest {
+	private static final String HEADER = "DATE,TIME,JOB,PROGRAM,USER\r\n";
+	private static final int RETENTION_DAYS = 30;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File persistData;
+
+	@Before
+	public void setUp() throws IOException {
+		persistData = folder.newFolder("persistData");
+	}
+
+	@Test
+	public void testFirstRunKeepsAllRecords() throws IOException {
+		File dataFile = write("first.csv", HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n2026-10-01,10:01,JOB2,PGM2,USER2\r\n");
+
+		RemoteDuplicateSuppression.Result result = new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS)
+				.invoke(dataFile, null);
+
+		assertEquals(2, result.getRecords());
+		assertEquals(0, result.getDuplicates());
+		assertEquals(HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n2026-10-01,10:01,JOB2,PGM2,USER2\r\n", read(dataFile));
+	}
+
+	@Test
+	public void testCommittedRecordsAreSuppressed() throws IOException {
+		File first = write("first.csv", HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\r\n2026-10-01,10:01,JOB2,PGM2,USER2\r\n");
+		new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS).invoke(first, null);
+		assertEquals(Long.valueOf(2), commit(first).invoke(persistData, null));
+
+		File second = write("second.csv", HEADER + "2026-10-01,10:01,JOB2,PGM2,USER2\r\n2026-10-02,09:00,JOB3,PGM3,USER3\r\n");
+		RemoteDuplicateSuppression.Result result = new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS)
+				.invoke(second, null);
+
+		assertEquals(2, result.getRecords());
+		assertEquals(1, result.getDuplicates());
+		assertEquals(HEADER + "2026-10-02,09:00,JOB3,PGM3,USER3\r\n", read(second));
+	}
+
+	@Test
+	public void testUncommittedRecordsAreNotSuppressed() throws IOException {
+		String content = HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\n";
+		new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS).invoke(write("first.csv", content), null);
+
+		File retry = write("retry.csv", content);
+		RemoteDuplicateSuppression.Result result = new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS)
+				.invoke(retry, null);
+
+		assertEquals(0, result.getDuplicates());
+		assertEquals(content, read(retry));
+	}
+
+	@Test
+	public void testCommitWithoutPendingRecords() throws IOException {
+		File other = write("other.csv", HEADER);
+		assertEquals(Long.valueOf(0), commit(other).invoke(persistData, null));
+	}
+
+	@Test
+	public void testOtherUploadDoesNotCommit() throws IOException {
+		String content = HEADER + "2026-10-01,10:00,JOB1,PGM1,USER1\n";
+		File filtered = write("first.csv", content);
+		new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS).invoke(filtered, null);
+
+		File other = write("other.csv", HEADER + "2026-10-01,11:00,JOB9,PGM9,USER9\n");
+		assertEquals(Long.valueOf(-1), commit(other).invoke(persistData, null));
+
+		// same path, changed content
+		write("first.csv", content + "2026-10-01,10:05,JOB2,PGM2,USER2\n");
+		assertEquals(Long.valueOf(-1), commit(filtered).invoke(persistData, null));
+
+		File retry = write("retry.csv", content);
+		assertEquals(0, new RemoteDuplicateSuppression(persistData.getPath(), RETENTION_DAYS).invoke(retry, null).getDuplicates());
+	}
+
+	@Test
+	public void testFingerprintsDifferingInSecondHalf() throws IOException {
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 2000, TimeUnit.DAYS.toMillis(1), 0)) {
+			for (long h2 = 0; h2 < 1000; h2 += 2) {
+				filter.add(42, h2);
+			}
+		}
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 2000, TimeUnit.DAYS.toMillis(1), 0)) {
+			for (long h2 = 0; h2 < 1000; h2++) {
+				assertEquals(h2 % 2 == 0, filter.wasSeen(42, h2));
+			}
+		}
+	}
+
+	@Test
+	public void testSortOrdersPairs() {
+		long[] pairs = { 3, 1, -5, 7, 3, 0, -5, -2, 9, 9 };
+		RecordFingerprintFilter.sort(pairs, 5);
+
+		assertArrayEquals(new long[] { -5, -2, -5, 7, 3, 0, 3, 1, 9, 9 }, pairs);
+	}
+
+	@Test
+	public void testFilterHasNoFalsePositives() throws IOException {
+		RecordFingerprints fingerprints = new RecordFingerprints();
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 2000, TimeUnit.DAYS.toMillis(1), 0)) {
+			for (int i = 0; i < 1000; i++) {
+				byte[] record = ("record" + i).getBytes(StandardCharsets.UTF_8);
+				fingerprints.compute(record, 0, record.length);
+				filter.add(fingerprints.getH1(), fingerprints.getH2());
+			}
+		}
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 2000, TimeUnit.DAYS.toMillis(1), 0)) {
+			for (int i = 0; i < 1000; i++) {
+				byte[] seen = ("record" + i).getBytes(StandardCharsets.UTF_8);
+				fingerprints.compute(seen, 0, seen.length);
+				assertTrue(filter.wasSeen(fingerprints.getH1(), fingerprints.getH2()));
+
+				byte[] unseen = ("other" + i).getBytes(StandardCharsets.UTF_8);
+				fingerprints.compute(unseen, 0, unseen.length);
+				assertFalse(filter.wasSeen(fingerprints.getH1(), fingerprints.getH2()));
+			}
+		}
+	}
+
+	@Test
+	public void testExpiredGenerationIsReset() throws IOException {
+		RecordFingerprints fingerprints = new RecordFingerprints();
+		byte[] record = "record".getBytes(StandardCharsets.UTF_8);
+		fingerprints.compute(record, 0, record.length);
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 10, TimeUnit.DAYS.toMillis(1), 0)) {
+			filter.add(fingerprints.getH1(), fingerprints.getH2());
+		}
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 10, TimeUnit.DAYS.toMillis(1),
+				TimeUnit.DAYS.toMillis(2))) {
+			assertFalse(filter.wasSeen(fingerprints.getH1(), fingerprints.getH2()));
+			assertEquals(0, filter.getCount());
+		}
+	}
+
+	@Test
+	public void testOldestSegmentExpiresAlone() throws IOException {
+		long day = TimeUnit.DAYS.toMillis(1);
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 40, 4 * day, 0)) {
+			filter.add(1, 1);
+		}
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 40, 4 * day, 2 * day)) {
+			assertTrue(filter.wasSeen(1, 1));
+			filter.add(2, 2);
+		}
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 40, 4 * day, 4 * day)) {
+			assertTrue(filter.wasSeen(1, 1));
+			assertTrue(filter.wasSeen(2, 2));
+		}
+
+		try (RecordFingerprintFilter filter = RecordFingerprintFilter.open(persistData, 40, 4 * day, 5 * day)) {
+			assertFalse(filter.wasSeen(1, 1));
+			assertTrue(filter.wasSeen(2, 2));
+			assertEquals(1, filter.getCount());
+		}
+	}
+
+	@Test
+	public void testFingerprintMatchesMurmur3() {
+		RecordFingerprints fingerprints = new RecordFingerprints();
+		byte[] data = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+		fingerprints.compute(data, 0, data.length);
+
+		assertEquals(0xe34bbc7bbc071b6cL, fingerprints.getH1());
+		assertEquals(0x7a433ca9c49a9347L, fingerprints.getH2());
+	}
+
+	private static RemoteDuplicateSuppression.Commit commit(File uploaded) throws IOException {
+		return new RemoteDuplicateSuppression.Commit(RETENTION_DAYS, uploaded.getPath(), new RemoteDataFileStats().invoke(uploaded, null).getChecksum());
+	}
+
+	private File write(String name, String content) throws IOException {
+		File file = new File(folder.getRoot(), name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
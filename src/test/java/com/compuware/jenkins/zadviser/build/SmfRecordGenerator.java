@@ -0,0 +1,427 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates synthetic SMF type 241 records in the CSV shape written by ROICOPY.
+ * <p>
+ * Every record is padded to the ROICOPY record length (LRECL 1184 in <code>defaultJcl.jcl</code>) and terminated by CRLF;
+ * the file starts with a header line. Job, step, program, user and system names are drawn from configurable cardinalities
+ * and the timestamps are spread evenly over a time window with an optional random skew, so records arrive slightly out of
+ * order as they do from several LPARs.
+ * <p>
+ * Records are formatted into a single reusable buffer and streamed, so files of tens of GB are written at disk speed without
+ * holding records in memory. The output only depends on the settings and the seed.
+ * <p>
+ * Can also be run from the command line to size agents:
+ * <code>java -cp ... SmfRecordGenerator &lt;file&gt; &lt;size&gt;[K|M|G]</code>.
+ */
+@SuppressWarnings("nls")
+public class SmfRecordGenerator {
+	/** Record length of the ROICOPY CSV output. */
+	public static final int ROICOPY_LRECL = 1184;
+
+	static final byte[] HEADER = "SMFTYPE,DATE,TIME,SYSTEM,JOBNAME,STEPNAME,PROGRAM,USERID,PRODUCT,FUNCTION,CPUTIME,ELAPSED,DETAIL\r\n"
+			.getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[][] PRODUCTS = { ascii("TPZ"), ascii("XPD"), ascii("FAI"), ascii("STR"), ascii("AAD"),
+			ascii("ISP") };
+	private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private long seed = 1;
+	private int systems = 4;
+	private int jobs = 5000;
+	private int steps = 20;
+	private int programs = 2000;
+	private int users = 500;
+	private long startMillis = LocalDate.of(2026, 10, 1).toEpochDay() * MILLIS_PER_DAY;
+	private long spanMillis = MILLIS_PER_DAY;
+	private long skewMillis;
+	private int recordLength = ROICOPY_LRECL;
+
+	/**
+	 * Sets the random seed.
+	 *
+	 * @param seed
+	 *            the seed
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Sets the number of distinct systems (LPARs), 1 to 999.
+	 *
+	 * @param systems
+	 *            the number of systems
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setSystems(int systems) {
+		this.systems = checkCardinality(systems, 999);
+		return this;
+	}
+
+	/**
+	 * Sets the number of distinct job names, 1 to 99999.
+	 *
+	 * @param jobs
+	 *            the number of jobs
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setJobs(int jobs) {
+		this.jobs = checkCardinality(jobs, 99999);
+		return this;
+	}
+
+	/**
+	 * Sets the number of distinct step names, 1 to 9999.
+	 *
+	 * @param steps
+	 *            the number of steps
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setSteps(int steps) {
+		this.steps = checkCardinality(steps, 9999);
+		return this;
+	}
+
+	/**
+	 * Sets the number of distinct program names, 1 to 99999.
+	 *
+	 * @param programs
+	 *            the number of programs
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setPrograms(int programs) {
+		this.programs = checkCardinality(programs, 99999);
+		return this;
+	}
+
+	/**
+	 * Sets the number of distinct user IDs, 1 to 99999.
+	 *
+	 * @param users
+	 *            the number of users
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setUsers(int users) {
+		this.users = checkCardinality(users, 99999);
+		return this;
+	}
+
+	/**
+	 * Sets the time window the record timestamps are spread over.
+	 *
+	 * @param startMillis
+	 *            the start of the window, in milliseconds since the epoch
+	 * @param spanMillis
+	 *            the length of the window in milliseconds
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setTimeWindow(long startMillis, long spanMillis) {
+		if (spanMillis < 0) {
+			throw new IllegalArgumentException("Negative time span: " + spanMillis);
+		}
+
+		this.startMillis = startMillis;
+		this.spanMillis = spanMillis;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum random offset added to or subtracted from each record timestamp.
+	 *
+	 * @param skewMillis
+	 *            the maximum skew in milliseconds
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setTimeSkew(long skewMillis) {
+		if (skewMillis < 0) {
+			throw new IllegalArgumentException("Negative time skew: " + skewMillis);
+		}
+
+		this.skewMillis = skewMillis;
+		return this;
+	}
+
+	/**
+	 * Sets the record length, excluding the line terminator.
+	 *
+	 * @param recordLength
+	 *            the record length, {@link #ROICOPY_LRECL} by default
+	 *
+	 * @return this generator
+	 */
+	public SmfRecordGenerator setRecordLength(int recordLength) {
+		if (recordLength < prefixLength()) {
+			throw new IllegalArgumentException("Record length must be at least " + prefixLength() + ": " + recordLength);
+		}
+
+		this.recordLength = recordLength;
+		return this;
+	}
+
+	/**
+	 * Returns the length of a record including its line terminator.
+	 *
+	 * @return the length in bytes
+	 */
+	public int getLineLength() {
+		return recordLength + 2;
+	}
+
+	/**
+	 * Write the header and as many records as fit in a file of the given size.
+	 *
+	 * @param file
+	 *            the file to write
+	 * @param maxBytes
+	 *            the maximum file size
+	 *
+	 * @return the number of records written
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public long writeFile(Path file, long maxBytes) throws IOException {
+		long records = Math.max(0, (maxBytes - HEADER.length) / getLineLength());
+		try (OutputStream out = Files.newOutputStream(file)) {
+			write(out, records);
+		}
+
+		return records;
+	}
+
+	/**
+	 * Write the header and the given number of records to a file.
+	 *
+	 * @param file
+	 *            the file to write
+	 * @param records
+	 *            the number of records
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public void writeRecords(Path file, long records) throws IOException {
+		try (OutputStream out = Files.newOutputStream(file)) {
+			write(out, records);
+		}
+	}
+
+	/**
+	 * Write the header and the given number of records to a stream. The stream is not closed.
+	 *
+	 * @param out
+	 *            the stream to write to
+	 * @param records
+	 *            the number of records
+	 *
+	 * @throws IOException
+	 *             if the stream could not be written
+	 */
+	public void write(OutputStream out, long records) throws IOException {
+		SplittableRandom random = new SplittableRandom(seed);
+		byte[] buffer = new byte[Math.max(BUFFER_SIZE, getLineLength())];
+		int lineLength = getLineLength();
+
+		System.arraycopy(HEADER, 0, buffer, 0, HEADER.length);
+		int position = HEADER.length;
+
+		byte[] date = new byte[10];
+		long cachedDay = Long.MIN_VALUE;
+
+		for (long i = 0; i < records; i++) {
+			if (position + lineLength > buffer.length) {
+				out.write(buffer, 0, position);
+				position = 0;
+			}
+
+			long timestamp = startMillis + (records > 1 ? (long) ((double) spanMillis * i / records) : 0);
+			if (skewMillis > 0) {
+				timestamp += random.nextLong(-skewMillis, skewMillis + 1);
+			}
+
+			long day = Math.floorDiv(timestamp, MILLIS_PER_DAY);
+			if (day != cachedDay) {
+				cachedDay = day;
+				LocalDate localDate = LocalDate.ofEpochDay(day);
+				putDigits(date, 0, localDate.getYear(), 4);
+				date[4] = '-';
+				putDigits(date, 5, localDate.getMonthValue(), 2);
+				date[7] = '-';
+				putDigits(date, 8, localDate.getDayOfMonth(), 2);
+			}
+
+			int p = position;
+			p = putAscii(buffer, p, "241,");
+			System.arraycopy(date, 0, buffer, p, date.length);
+			p += date.length;
+			buffer[p++] = ',';
+
+			long timeOfDay = Math.floorMod(timestamp, MILLIS_PER_DAY);
+			p = putDigits(buffer, p, (int) (timeOfDay / 3600000), 2);
+			buffer[p++] = ':';
+			p = putDigits(buffer, p, (int) (timeOfDay / 60000 % 60), 2);
+			buffer[p++] = ':';
+			p = putDigits(buffer, p, (int) (timeOfDay / 1000 % 60), 2);
+			buffer[p++] = '.';
+			p = putDigits(buffer, p, (int) (timeOfDay % 1000 / 10), 2);
+			buffer[p++] = ',';
+
+			p = putName(buffer, p, "S", random.nextInt(systems), 3);
+			p = putName(buffer, p, "JOB", random.nextInt(jobs), 5);
+			p = putName(buffer, p, "STEP", random.nextInt(steps), 4);
+			p = putName(buffer, p, "PGM", random.nextInt(programs), 5);
+			p = putName(buffer, p, "USR", random.nextInt(users), 5);
+
+			byte[] product = PRODUCTS[random.nextInt(PRODUCTS.length)];
+			System.arraycopy(product, 0, buffer, p, product.length);
+			p += product.length;
+			buffer[p++] = ',';
+
+			p = putName(buffer, p, "F", random.nextInt(100), 2);
+			p = putDigits(buffer, p, random.nextInt(1000000000), 9);
+			buffer[p++] = ',';
+			p = putDigits(buffer, p, random.nextInt(1000000000), 10);
+			buffer[p++] = ',';
+
+			// pad the detail column to the record length
+			int end = position + recordLength;
+			while (p < end) {
+				buffer[p++] = ' ';
+			}
+			buffer[p++] = '\r';
+			buffer[p++] = '\n';
+
+			position = p;
+		}
+
+		out.write(buffer, 0, position);
+		out.flush();
+	}
+
+	/**
+	 * Returns the length of the fixed width columns preceding the detail column.
+	 *
+	 * @return the length in bytes
+	 */
+	private static int prefixLength() {
+		// 241,YYYY-MM-DD,HH:MM:SS.HH,Snnn,JOBnnnnn,STEPnnnn,PGMnnnnn,USRnnnnn,PPP,Fnn,nnnnnnnnn,nnnnnnnnnn,
+		return 4 + 11 + 12 + 5 + 9 + 9 + 9 + 9 + 4 + 4 + 10 + 11;
+	}
+
+	private static int putName(byte[] buffer, int position, String prefix, int value, int width) {
+		int p = putAscii(buffer, position, prefix);
+		p = putDigits(buffer, p, value, width);
+		buffer[p++] = ',';
+		return p;
+	}
+
+	private static int putAscii(byte[] buffer, int position, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			buffer[position + i] = (byte) value.charAt(i);
+		}
+
+		return position + value.length();
+	}
+
+	private static int putDigits(byte[] buffer, int position, int value, int width) {
+		int remaining = value;
+		for (int i = position + width - 1; i >= position; i--) {
+			buffer[i] = (byte) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+
+		return position + width;
+	}
+
+	private static int checkCardinality(int value, int max) {
+		if (value < 1 || value > max) {
+			throw new IllegalArgumentException("Cardinality must be between 1 and " + max + ": " + value);
+		}
+
+		return value;
+	}
+
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Write a file of synthetic records.
+	 *
+	 * @param args
+	 *            the file and its maximum size with an optional K, M or G suffix
+	 *
+	 * @throws IOException
+	 *             if the file could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: SmfRecordGenerator <file> <size>[K|M|G]");
+			System.exit(2);
+		}
+
+		File file = new File(args[0]);
+		long start = System.nanoTime();
+		long records = new SmfRecordGenerator().writeFile(file.toPath(), parseSize(args[1]));
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format(Locale.ROOT, "Wrote %d records (%d bytes) to %s in %.1f s (%.0f MB/s)", records,
+				file.length(), file, seconds, file.length() / 1048576.0 / Math.max(seconds, 1e-9)));
+	}
+
+	static long parseSize(String size) {
+		String value = size.trim().toUpperCase(Locale.ROOT);
+		long multiplier = 1;
+		if (value.endsWith("K")) {
+			multiplier = 1L << 10;
+		} else if (value.endsWith("M")) {
+			multiplier = 1L << 20;
+		} else if (value.endsWith("G")) {
+			multiplier = 1L << 30;
+		}
+
+		if (multiplier > 1) {
+			value = value.substring(0, value.length() - 1);
+		}
+
+		return Long.parseLong(value) * multiplier;
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link SmfRecordGenerator}.
+ */
+@SuppressWarnings("nls")
+public class SmfRecordGeneratorTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRecordsHaveRoicopyLength() throws IOException {
+		String[] lines = generate(new SmfRecordGenerator(), 100).split("\r\n");
+
+		assertEquals(101, lines.length);
+		assertEquals(new String(SmfRecordGenerator.HEADER, StandardCharsets.US_ASCII).trim(), lines[0]);
+		for (int i = 1; i < lines.length; i++) {
+			assertEquals(SmfRecordGenerator.ROICOPY_LRECL, lines[i].length());
+			assertEquals(13, lines[i].split(",", -1).length);
+			assertTrue(lines[i].startsWith("241,"));
+		}
+	}
+
+	@Test
+	public void testSameSeedSameOutput() throws IOException {
+		assertEquals(generate(new SmfRecordGenerator().setSeed(7), 500), generate(new SmfRecordGenerator().setSeed(7), 500));
+		assertFalse(generate(new SmfRecordGenerator().setSeed(7), 500).equals(generate(new SmfRecordGenerator().setSeed(8), 500)));
+	}
+
+	@Test
+	public void testCardinalities() throws IOException {
+		SmfRecordGenerator generator = new SmfRecordGenerator().setSystems(2).setJobs(3).setSteps(1).setPrograms(4).setUsers(5);
+		String[] lines = generate(generator, 2000).split("\r\n");
+
+		int[] expected = { 2, 3, 1, 4, 5 };
+		for (int column = 0; column < expected.length; column++) {
+			Set<String> values = new HashSet<>();
+			for (int i = 1; i < lines.length; i++) {
+				values.add(lines[i].split(",")[3 + column]);
+			}
+
+			assertEquals(expected[column], values.size());
+		}
+	}
+
+	@Test
+	public void testTimestampsStayInSkewedWindow() throws IOException {
+		long start = LocalDateTime.of(2026, 10, 1, 23, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+		long span = TimeUnit.HOURS.toMillis(2);
+		long skew = TimeUnit.MINUTES.toMillis(5);
+		String[] lines = generate(new SmfRecordGenerator().setTimeWindow(start, span).setTimeSkew(skew), 1000).split("\r\n");
+
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd,HH:mm:ss.SS");
+		boolean outOfOrder = false;
+		long previous = Long.MIN_VALUE;
+		for (int i = 1; i < lines.length; i++) {
+			long timestamp = LocalDateTime.parse(lines[i].substring(4, 26), formatter).toInstant(ZoneOffset.UTC).toEpochMilli();
+			assertTrue(lines[i], timestamp >= start - skew && timestamp <= start + span + skew);
+			outOfOrder |= timestamp < previous;
+			previous = timestamp;
+		}
+
+		// the window crosses midnight and the skew shuffles neighbouring records
+		assertTrue(outOfOrder);
+		assertTrue(lines[1].startsWith("241,2026-10-01,") || lines[1].startsWith("241,2026-10-02,"));
+		assertTrue(lines[lines.length - 1].startsWith("241,2026-10-02,"));
+	}
+
+	@Test
+	public void testWriteFileStaysWithinSize() throws IOException {
+		File file = folder.newFile("data.csv");
+		SmfRecordGenerator generator = new SmfRecordGenerator();
+		long maxBytes = 5 * 1024 * 1024 + 17;
+
+		long records = generator.writeFile(file.toPath(), maxBytes);
+
+		assertTrue(file.length() <= maxBytes);
+		assertTrue(file.length() > maxBytes - generator.getLineLength());
+		assertEquals(SmfRecordGenerator.HEADER.length + records * generator.getLineLength(), file.length());
+	}
+
+	@Test
+	public void testWriteRecordsMatchesStream() throws IOException {
+		File file = folder.newFile("data.csv");
+		new SmfRecordGenerator().writeRecords(file.toPath(), 3000);
+
+		assertArrayEquals(generate(new SmfRecordGenerator(), 3000).getBytes(StandardCharsets.US_ASCII),
+				Files.readAllBytes(file.toPath()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRecordLengthTooShort() {
+		new SmfRecordGenerator().setRecordLength(50);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCardinalityTooLarge() {
+		new SmfRecordGenerator().setJobs(100000);
+	}
+
+	@Test
+	public void testParseSize() {
+		assertEquals(10, SmfRecordGenerator.parseSize("10"));
+		assertEquals(2048, SmfRecordGenerator.parseSize("2k"));
+		assertEquals(3L << 20, SmfRecordGenerator.parseSize("3M"));
+		assertEquals(20L << 30, SmfRecordGenerator.parseSize("20G"));
+	}
+
+	private static String generate(SmfRecordGenerator generator, long records) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		generator.write(out, records);
+		return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import hudson.AbortException;
+import hudson.FilePath;
+
+/**
+ * Test cases for {@link UploadOutbox}.
+ */
+@SuppressWarnings("nls")
+public class UploadOutboxTest {
+	@Rule
+	public JenkinsRule jenkinsRule = new JenkinsRule();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testOrderByPriorityThenArrival() {
+		UploadOutbox.Entry low = entry("low", 0, 1);
+		UploadOutbox.Entry high = entry("high", 5, 2);
+		UploadOutbox.Entry lowLater = entry("lowLater", 0, 3);
+		UploadOutbox.Entry highLater = entry("highLater", 5, 4);
+
+		List<UploadOutbox.Entry> entries = new ArrayList<>(Arrays.asList(lowLater, low, highLater, high));
+		entries.sort(UploadOutbox.ORDER);
+
+		assertEquals(Arrays.asList(high, highLater, low, lowLater), entries);
+	}
+
+	@Test(expected = AbortException.class)
+	public void testQueueingNeedsFreeSpace() throws Exception {
+		UploadOutbox.checkFreeSpace(Long.MAX_VALUE / 2);
+	}
+
+	@Test(expected = AbortException.class)
+	public void testQueueingNeedsControllerCli() throws Exception {
+		// no CLI is installed where the test controller looks for it
+		UploadOutbox.checkControllerCli();
+	}
+
+	@Test
+	public void testEntriesSurviveRestart() throws Exception {
+		FilePath dataFile = dataFile();
+		UploadOutbox outbox = new UploadOutbox();
+		UploadOutbox.Entry queued = outbox.add("job#1", "connection", dataFile, 5);
+		UploadOutbox.Entry failed = outbox.add("job#2", "connection", dataFile, 0);
+		outbox.update(failed, UploadOutbox.State.FAILED, "failed");
+		assertTrue(new File(UploadOutbox.getRoot(), UploadOutbox.OUTBOX_FILE).exists());
+
+		UploadOutbox restarted = new UploadOutbox();
+		UploadOutbox.Entry reloaded = restarted.getEntry(queued.getId());
+		assertEquals(UploadOutbox.State.QUEUED, reloaded.getState());
+		assertEquals("job#1", reloaded.getRun());
+		assertEquals(5, reloaded.getPriority());
+		assertEquals(queued.getSequence(), reloaded.getSequence());
+		assertTrue(reloaded.getDataFile().exists());
+
+		reloaded = restarted.getEntry(failed.getId());
+		assertEquals(UploadOutbox.State.FAILED, reloaded.getState());
+		assertEquals("failed", reloaded.getMessage());
+
+		// the numbering continues after the restart, so later entries keep their place within a priority
+		UploadOutbox.Entry later = restarted.add("job#3", "connection", dataFile, 0);
+		assertTrue(later.getSequence() > failed.getSequence());
+	}
+
+	@Test
+	public void testResumeRequeuesPendingEntries() throws Exception {
+		FilePath dataFile = dataFile();
+		UploadOutbox outbox = new UploadOutbox();
+		UploadOutbox.Entry queued = outbox.add("job#1", "connection", dataFile, 0);
+		UploadOutbox.Entry uploading = outbox.add("job#2", "connection", dataFile, 0);
+		UploadOutbox.Entry uploaded = outbox.add("job#3", "connection", dataFile, 0);
+		UploadOutbox.Entry failed = outbox.add("job#4", "connection", dataFile, 0);
+		outbox.update(uploading, UploadOutbox.State.UPLOADING, null);
+		outbox.update(uploaded, UploadOutbox.State.UPLOADED, null);
+		outbox.update(failed, UploadOutbox.State.FAILED, "failed");
+
+		List<String> pending = new ArrayList<>();
+		for (UploadOutbox.Entry entry : new UploadOutbox().requeue()) {
+			assertEquals(UploadOutbox.State.QUEUED, entry.getState());
+			pending.add(entry.getId());
+		}
+		assertEquals(Arrays.asList(queued.getId(), uploading.getId()), pending);
+
+		// the interrupted upload is saved as queued again
+		UploadOutbox restarted = new UploadOutbox();
+		assertEquals(UploadOutbox.State.QUEUED, restarted.getEntry(uploading.getId()).getState());
+		assertEquals(UploadOutbox.State.UPLOADED, restarted.getEntry(uploaded.getId()).getState());
+		assertEquals(UploadOutbox.State.FAILED, restarted.getEntry(failed.getId()).getState());
+	}
+
+	private FilePath dataFile() throws Exception {
+		File file = folder.newFile("data.csv");
+		Files.write(file.toPath(), "header\nrecord\n".getBytes(StandardCharsets.US_ASCII));
+		return new FilePath(file);
+	}
+
+	private static UploadOutbox.Entry entry(String id, int priority, long sequence) {
+		return new UploadOutbox.Entry(id, "job#1", "connection", id + ".csv", priority, sequence);
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link UploadPacer}.
+ */
+@SuppressWarnings("nls")
+public class UploadPacerTest {
+	private static final long MB = 1024 * 1024;
+	private static final long MAX_WAIT_NANOS = TimeUnit.MINUTES.toNanos(UploadPacer.MAX_WAIT_MINUTES);
+
+	private final UploadPacer pacer = new UploadPacer();
+	private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+	private final PrintStream logger = new PrintStream(log, true);
+
+	@Test
+	public void testNoLimitDoesNotWait() throws Exception {
+		long millis = timed(() -> pacer.acquire("conn", 100 * MB, 0, 0, MAX_WAIT_NANOS, logger));
+
+		assertTrue(millis < 100);
+		assertEquals(0, log.size());
+	}
+
+	@Test
+	public void testDebtIsPaidOffBeforeNextUpload() throws Exception {
+		// the idle bucket holds 10 seconds of bandwidth; the first upload is larger and puts it half a second in debt
+		long first = timed(() -> pacer.acquire("conn", 10 * MB + MB / 2, MB, 0, MAX_WAIT_NANOS, logger));
+		long second = timed(() -> pacer.acquire("conn", MB, MB, 0, MAX_WAIT_NANOS, logger));
+
+		assertTrue(first < 100);
+		assertTrue("waited " + second, second >= 400 && second < 5000);
+		assertTrue(log.toString().contains("to start the zAdviser upload (pacing 1024 KB/s in total, none per host connection)"));
+	}
+
+	@Test
+	public void testConnectionLimitIsPerConnection() throws Exception {
+		pacer.acquire("conn1", 11 * MB, 0, MB, MAX_WAIT_NANOS, logger);
+
+		long other = timed(() -> pacer.acquire("conn2", MB, 0, MB, MAX_WAIT_NANOS, logger));
+		assertTrue(other < 100);
+		assertFalse(log.toString().contains("Waiting"));
+
+		long same = timed(() -> pacer.acquire("conn1", MB, 0, MB, MAX_WAIT_NANOS, logger));
+		assertTrue("waited " + same, same >= 800);
+	}
+
+	@Test
+	public void testWaitIsBounded() throws Exception {
+		pacer.acquire("conn", 20 * MB, MB, 0, MAX_WAIT_NANOS, logger);
+
+		// ten seconds of debt, but the upload waits half a second at most
+		long millis = timed(() -> pacer.acquire("conn", MB, MB, 0, TimeUnit.MILLISECONDS.toNanos(500), logger));
+		assertTrue("waited " + millis, millis >= 400 && millis < 5000);
+		assertTrue(log.toString().contains("Starting the zAdviser upload after waiting"));
+	}
+
+	@Test
+	public void testWaitingUploadsStartInArrivalOrder() throws Exception {
+		pacer.acquire("conn", 10 * MB + MB / 4, MB, 0, MAX_WAIT_NANOS, logger);
+
+		List<String> started = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			String name = "upload" + i;
+			Thread thread = new Thread(() -> {
+				try {
+					pacer.acquire("conn", MB / 4, MB, 0, MAX_WAIT_NANOS, logger);
+					started.add(name);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			thread.start();
+			threads.add(thread);
+			// let the upload queue before the next one arrives
+			Thread.sleep(50);
+		}
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(10));
+		}
+
+		assertEquals(Arrays.asList("upload0", "upload1", "upload2"), started);
+	}
+
+	@Test
+	public void testRecord() {
+		assertEquals(MB, pacer.record(4 * MB, 4000));
+		assertEquals(2 * MB, pacer.record(4 * MB, 2000));
+		assertEquals(8 * MB, pacer.getUploadedBytes());
+		assertEquals(8 * MB * 1000 / 6000, pacer.getBytesPerSecond());
+		assertEquals(2 * MB, pacer.getLastBytesPerSecond());
+	}
+
+	@Test
+	public void testToBytesPerSecond() {
+		assertEquals(0, UploadPacer.toBytesPerSecond(null));
+		assertEquals(0, UploadPacer.toBytesPerSecond("-5"));
+		assertEquals(2048, UploadPacer.toBytesPerSecond(" 2 "));
+	}
+
+	private static long timed(Acquisition acquisition) throws InterruptedException {
+		long start = System.nanoTime();
+		acquisition.run();
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	@FunctionalInterface
+	private interface Acquisition {
+		void run() throws InterruptedException;
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link UploadRetry}.
+ */
+@SuppressWarnings("nls")
+public class UploadRetryTest {
+	@Test
+	public void testBackoffGrowsWithJitter() {
+		Random random = new Random(42);
+		for (int retry = 1; retry <= 5; retry++) {
+			long exponential = 1000L << (retry - 1);
+			for (int i = 0; i < 100; i++) {
+				long delay = UploadRetry.backoffMillis(retry, 1000, 60000, random);
+				assertTrue("retry " + retry + ": " + delay, delay >= exponential / 2 && delay <= exponential);
+			}
+		}
+	}
+
+	@Test
+	public void testBackoffIsCapped() {
+		Random random = new Random(42);
+		for (int retry : new int[] { 7, 30, 64, Integer.MAX_VALUE }) {
+			long delay = UploadRetry.backoffMillis(retry, 1000, 60000, random);
+			assertTrue("retry " + retry + ": " + delay, delay >= 30000 && delay <= 60000);
+		}
+	}
+}
@@ -17,6 +17,7 @@
 package com.compuware.jenkins.zadviser.build;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -31,8 +32,10 @@ import org.kohsuke.stapler.StaplerRequest;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
 import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
 
+import hudson.util.ArgumentListBuilder;
 import hudson.util.FormValidation;
 import hudson.util.Secret;
 
@@ -161,4 +164,22 @@ public class ZAdviserDownloadDataTest {
 	public void testValidDefaultJcl() {
 		assertTrue(descriptor.getDefaultJcl().contains("//ZADVISER JOB"));
 	}
+
+	@Test
+	public void testBackgroundUploadIsNotPassedToCli() {
+		ZAdviserDownloadData download = new ZAdviserDownloadData("connectionId", "credentialsId", EXPECTED_JCL,
+				EXPECTED_ENCRYPTED_DATA_FILE, EXPECTED_UNENCRYPTED_DATA_FILE);
+		download.setUploadData(true);
+
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		download.addDownloadArguments(args, "/test/jcl.txt", ZAdviserGlobalConfiguration.snapshot(), "/test/persist");
+		assertTrue(args.toList().contains(ZAdviserUtilitiesConstants.UPLOAD_DATA_FILE_PARM));
+
+		download.setBackgroundUpload(true);
+		download.setUploadPriority(5);
+		args = new ArgumentListBuilder();
+		download.addDownloadArguments(args, "/test/jcl.txt", ZAdviserGlobalConfiguration.snapshot(), "/test/persist");
+		assertFalse(args.toList().contains(ZAdviserUtilitiesConstants.UPLOAD_DATA_FILE_PARM));
+		assertEquals(5, download.getUploadPriority());
+	}
 }
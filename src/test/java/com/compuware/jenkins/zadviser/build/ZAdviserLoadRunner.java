@@ -0,0 +1,195 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.Functions;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.queue.QueueTaskFuture;
+import hudson.util.Secret;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Load test of concurrent zAdviser builds against {@link FakeZAdviserCli} and {@link FakeSftpServer}.
+ * <p>
+ * Every build collects from its own host connection, so the builds are not serialized by the last run date lock. Throughput,
+ * build duration percentiles and heap growth are printed and checked against generous budgets that only catch regressions
+ * such as builds serializing or records being held in memory.
+ * <p>
+ * The class name does not end in <code>Test</code>, so the default build skips it; run it with <code>mvn test -Pload</code>.
+ */
+@SuppressWarnings("nls")
+public class ZAdviserLoadRunner {
+	private static final int BUILDS = 8;
+	private static final int RECORDS = 20000;
+	private static final long LATENCY_MILLIS = 500;
+	private static final long P95_BUDGET_MILLIS = TimeUnit.SECONDS.toMillis(60);
+	private static final long HEAP_GROWTH_BUDGET_BYTES = 64L * 1024 * 1024;
+
+	private static final String CREDENTIALS_ID = "67890";
+	private static final String CUSTOMER_ID = "customer";
+	private static final String ACCESS_KEY = "accessKey";
+
+	@Rule
+	public JenkinsRule jenkinsRule = new JenkinsRule();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FakeSftpServer sftpServer;
+
+	@Before
+	public void setUp() throws Exception {
+		assumeFalse("The fake CLI is a shell script", Functions.isWindows());
+
+		sftpServer = new FakeSftpServer(folder.newFolder("sftp"), CUSTOMER_ID, ACCESS_KEY);
+		int sftpPort = sftpServer.start();
+
+		File cliDir = folder.newFolder("TopazCLI");
+		FakeZAdviserCli.install(cliDir, RECORDS, LATENCY_MILLIS, sftpPort);
+
+		JSONArray hostConnections = new JSONArray();
+		for (int i = 0; i < BUILDS; i++) {
+			JSONObject hostConnection = new JSONObject();
+			hostConnection.put("description", "Connection " + i);
+			hostConnection.put("hostPort", "lpar" + i + ":30947");
+			hostConnection.put("protocol", "TLSv1.2");
+			hostConnection.put("codePage", "1047");
+			hostConnection.put("timeout", "123");
+			hostConnection.put("connectionId", "connection" + i);
+			hostConnection.put("cesUrl", "https://ces/");
+			hostConnections.add(hostConnection);
+		}
+
+		JSONObject json = new JSONObject();
+		json.put("hostConn", hostConnections);
+		json.put("topazCLILocationLinux", cliDir.getPath());
+		json.put("topazCLILocationWindows", cliDir.getPath());
+		CpwrGlobalConfiguration.get().configure(null, json);
+
+		SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL,
+				CREDENTIALS_ID, null, "xdevreg", "password"));
+		SystemCredentialsProvider.getInstance().save();
+
+		ZAdviserGlobalConfiguration zAdviserGlobalConfig = ZAdviserGlobalConfiguration.get();
+		zAdviserGlobalConfig.setCustomerId(CUSTOMER_ID);
+		zAdviserGlobalConfig.setAccessKey(Secret.fromString(ACCESS_KEY));
+
+		// the fake CLI has no version file; let the builds reuse a known version as they do after the first build on an agent
+		AgentFactsCache.get().update(jenkinsRule.jenkins.toComputer().getName(), cliDir.getPath(), null,
+				new RemoteBuildPreparation.Result(File.separator, System.getProperty("os.name"),
+						ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION, cliDir.lastModified(), null, null));
+
+		jenkinsRule.jenkins.setNumExecutors(BUILDS);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		if (sftpServer != null) {
+			sftpServer.stop();
+		}
+	}
+
+	@Test
+	public void testConcurrentDownloadAndUpload() throws Exception {
+		List<FreeStyleProject> projects = new ArrayList<>();
+		for (int i = 0; i < BUILDS; i++) {
+			FreeStyleProject project = jenkinsRule.createFreeStyleProject("zAdviser" + i);
+			ZAdviserDownloadData download = new ZAdviserDownloadData("connection" + i, CREDENTIALS_ID, "some jcl", "encrypted.csv",
+					"unencrypted.csv");
+			// the upload step uploads the data, so exactly one file per build reaches the SFTP server
+			download.setUploadData(false);
+			project.getBuildersList().add(download);
+			project.getBuildersList().add(new ZAdviserUploadData("connection" + i, "unencrypted.csv"));
+			projects.add(project);
+		}
+
+		long heapBefore = usedHeapAfterGc();
+		long start = System.nanoTime();
+
+		List<QueueTaskFuture<FreeStyleBuild>> futures = new ArrayList<>();
+		for (FreeStyleProject project : projects) {
+			futures.add(project.scheduleBuild2(0));
+		}
+
+		List<Long> durations = new ArrayList<>();
+		for (QueueTaskFuture<FreeStyleBuild> future : futures) {
+			durations.add(jenkinsRule.assertBuildStatusSuccess(future).getDuration());
+		}
+
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		long heapGrowth = usedHeapAfterGc() - heapBefore;
+
+		File[] uploaded = sftpServer.getUploadedFiles();
+		assertEquals(BUILDS, uploaded.length);
+		for (File file : uploaded) {
+			try (Stream<String> lines = Files.lines(file.toPath(), StandardCharsets.US_ASCII)) {
+				assertEquals(RECORDS + 1, lines.count());
+			}
+		}
+
+		Collections.sort(durations);
+		long p50 = percentile(durations, 50);
+		long p95 = percentile(durations, 95);
+		System.out.println(String.format("zAdviser load: builds=%d, records/build=%d, throughput=%.0f records/s, p50=%d ms, "
+				+ "p95=%d ms, max=%d ms, heap growth=%d KB", BUILDS, RECORDS, BUILDS * RECORDS * 1000.0 / Math.max(elapsedMillis, 1),
+				p50, p95, durations.get(durations.size() - 1), heapGrowth / 1024));
+
+		assertTrue("p95 build duration " + p95 + " ms exceeds " + P95_BUDGET_MILLIS + " ms", p95 <= P95_BUDGET_MILLIS);
+		assertTrue("heap grew by " + heapGrowth + " bytes", heapGrowth <= HEAP_GROWTH_BUDGET_BYTES);
+	}
+
+	private static long percentile(List<Long> sorted, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(index, 0));
+	}
+
+	private static long usedHeapAfterGc() {
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.zadviser.Messages;
+import com.compuware.jenkins.zadviser.build.utils.ZAdviserUtilitiesConstants;
+import com.compuware.jenkins.zadviser.common.configuration.ZAdviserGlobalConfiguration;
+
+import hudson.Functions;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+import hudson.util.Secret;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Test cases for {@link ZAdviserMultiDownloadData}.
+ * <p>
+ * The builds collect with {@link FakeZAdviserCli}, which fails the host connections whose host name starts with
+ * <code>fail</code>.
+ */
+@SuppressWarnings("nls")
+public class ZAdviserMultiDownloadDataTest {
+	private static final int RECORDS = 100;
+	private static final long LATENCY_MILLIS = 1000;
+
+	private static final String CREDENTIALS_ID = "67890";
+	private static final String DATA_FILE = "unencrypted.csv";
+
+	@Rule
+	public JenkinsRule jenkinsRule = new JenkinsRule();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File cliDir;
+
+	@Before
+	public void setUp() throws Exception {
+		assumeFalse("The fake CLI is a shell script", Functions.isWindows());
+
+		cliDir = folder.newFolder("TopazCLI");
+		FakeZAdviserCli.install(cliDir, RECORDS, LATENCY_MILLIS, 0);
+
+		JSONArray hostConnections = new JSONArray();
+		for (String host : Arrays.asList("lpar1", "lpar2", "lpar3", "lpar4", "fail1", "fail2")) {
+			JSONObject hostConnection = new JSONObject();
+			hostConnection.put("description", "Connection " + host);
+			hostConnection.put("hostPort", host + ":30947");
+			hostConnection.put("protocol", "TLSv1.2");
+			hostConnection.put("codePage", "1047");
+			hostConnection.put("timeout", "123");
+			hostConnection.put("connectionId", host);
+			hostConnection.put("cesUrl", "https://ces/");
+			hostConnections.add(hostConnection);
+		}
+
+		JSONObject json = new JSONObject();
+		json.put("hostConn", hostConnections);
+		json.put("topazCLILocationLinux", cliDir.getPath());
+		json.put("topazCLILocationWindows", cliDir.getPath());
+		CpwrGlobalConfiguration.get().configure(null, json);
+
+		SystemCredentialsProvider.getInstance().getCredentials().add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL,
+				CREDENTIALS_ID, null, "xdevreg", "password"));
+		SystemCredentialsProvider.getInstance().save();
+
+		ZAdviserGlobalConfiguration zAdviserGlobalConfig = ZAdviserGlobalConfiguration.get();
+		zAdviserGlobalConfig.setCustomerId("customer");
+		zAdviserGlobalConfig.setAccessKey(Secret.fromString("accessKey"));
+
+		// the fake CLI has no version file; let the builds reuse a known version as they do after the first build on an agent
+		AgentFactsCache.get().update(jenkinsRule.jenkins.toComputer().getName(), cliDir.getPath(), null,
+				new RemoteBuildPreparation.Result(File.separator, System.getProperty("os.name"),
+						ZAdviserUtilitiesConstants.ZADVISER_MINIMUM_CLI_VERSION, cliDir.lastModified(), null, null));
+	}
+
+	@Test
+	public void testSplitConnectionIds() {
+		assertEquals(Arrays.asList("a", "b", "c"), ZAdviserMultiDownloadData.splitConnectionIds("a, b\nc\r\n a"));
+		assertTrue(ZAdviserMultiDownloadData.splitConnectionIds(" ").isEmpty());
+		assertTrue(ZAdviserMultiDownloadData.splitConnectionIds(null).isEmpty());
+	}
+
+	@Test
+	public void testNameOf() {
+		assertEquals("LPAR_1", ZAdviserMultiDownloadData.nameOf(" LPAR 1 ", "id"));
+		assertEquals("cw01.host.com_16196_", ZAdviserMultiDownloadData.nameOf("cw01.host.com [16196]", "id"));
+		assertEquals("id-1", ZAdviserMultiDownloadData.nameOf(null, "id-1"));
+	}
+
+	@Test
+	public void testDataFileOf() {
+		assertEquals("zadviser-LPAR1.csv", ZAdviserMultiDownloadData.dataFileOf("zadviser.csv", "LPAR1"));
+		assertEquals("out/data.v2/zadviser-LPAR1.csv", ZAdviserMultiDownloadData.dataFileOf("out/data.v2/zadviser.csv", "LPAR1"));
+		assertEquals("out.d\\zadviser-LPAR1", ZAdviserMultiDownloadData.dataFileOf("out.d\\zadviser", "LPAR1"));
+		assertEquals("", ZAdviserMultiDownloadData.dataFileOf("", "LPAR1"));
+	}
+
+	@Test
+	public void testPartialFailureIsUnstable() throws Exception {
+		FreeStyleBuild build = jenkinsRule.assertBuildStatus(Result.UNSTABLE, project("lpar1 fail1", 2).scheduleBuild2(0));
+
+		jenkinsRule.assertLogContains("The zAdviser data of 1 of 2 host connections failed to download", build);
+		assertTrue(build.getWorkspace().child("unencrypted-Connection_lpar1.csv").exists());
+		assertFalse(build.getWorkspace().child("unencrypted-Connection_fail1.csv").exists());
+	}
+
+	@Test
+	public void testAllFailuresFailTheBuild() throws Exception {
+		FreeStyleBuild build = jenkinsRule.assertBuildStatus(Result.FAILURE, project("fail1 fail2", 2).scheduleBuild2(0));
+
+		jenkinsRule.assertLogContains("The zAdviser data of every host connection failed to download", build);
+	}
+
+	@Test
+	public void testUnknownConnectionIdFailsItsCollectionOnly() throws Exception {
+		FreeStyleBuild build = jenkinsRule.assertBuildStatus(Result.UNSTABLE, project("lpar1 unknown", 2).scheduleBuild2(0));
+
+		jenkinsRule.assertLogContains(Messages.checkUnknownHostConnectionError("unknown"), build);
+		assertTrue(build.getWorkspace().child("unencrypted-Connection_lpar1.csv").exists());
+	}
+
+	@Test
+	public void testParallelismIsBounded() throws Exception {
+		FreeStyleBuild build = jenkinsRule.assertBuildStatusSuccess(project("lpar1 lpar2 lpar3 lpar4", 2).scheduleBuild2(0));
+
+		jenkinsRule.assertLogContains("Collecting zAdviser data of 4 host connections, 2 at a time", build);
+		for (int i = 1; i <= 4; i++) {
+			assertTrue(build.getWorkspace().child("unencrypted-Connection_lpar" + i + ".csv").exists());
+		}
+		assertEquals(2, FakeZAdviserCli.getMaxConcurrentDownloads(cliDir));
+	}
+
+	private FreeStyleProject project(String connectionIds, int maxParallel) throws Exception {
+		ZAdviserMultiDownloadData multiDownload = new ZAdviserMultiDownloadData(connectionIds, CREDENTIALS_ID, "some jcl", "",
+				DATA_FILE);
+		multiDownload.setUploadData(false);
+		multiDownload.setMaxParallel(maxParallel);
+
+		FreeStyleProject project = jenkinsRule.createFreeStyleProject();
+		project.getBuildersList().add(multiDownload);
+		return project;
+	}
+}
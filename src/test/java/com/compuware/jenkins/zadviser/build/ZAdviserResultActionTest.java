@@ -0,0 +1,104 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import hudson.EnvVars;
+import hudson.model.Run;
+import net.sf.json.JSONObject;
+
+/**
+ * Test cases for {@link ZAdviserResultAction}.
+ */
+@SuppressWarnings("nls")
+public class ZAdviserResultActionTest {
+
+	@Test
+	public void testJsonSumsRepeatedPhases() {
+		ZAdviserResultAction.StepResult result = new ZAdviserResultAction.StepResult("zAdviserDownload", "conn");
+		result.setSuccessful(true);
+		result.setDataFile(new RemoteDataFileStats.Result(1000, 12, "abc"));
+		result.setEncryptedDataFile(new RemoteDataFileStats.Result(1200, 0, "def"));
+		result.setUploadedBytes(1200);
+		result.setWindow(86400000L, 172800000L);
+		result.setTiming(new ZAdviserTimingAction.StepTiming("step",
+				Arrays.asList(new ZAdviserTimingAction.PhaseTiming("wait", 100), new ZAdviserTimingAction.PhaseTiming("CLI launch", 500),
+						new ZAdviserTimingAction.PhaseTiming("wait", 50))));
+
+		JSONObject json = result.toJSON();
+		assertEquals("conn", json.getString("connectionId"));
+		assertTrue(json.getBoolean("successful"));
+		assertEquals(12, json.getLong("records"));
+		assertEquals(1000, json.getLong("dataBytes"));
+		assertEquals(1200, json.getLong("encryptedBytes"));
+		assertEquals(1200, json.getLong("uploadedBytes"));
+		assertEquals("def", json.getString("checksum"));
+		assertEquals("1970-01-02T00:00:00Z", json.getString("windowStart"));
+		assertEquals("1970-01-03T00:00:00Z", json.getString("windowEnd"));
+		assertEquals(650, json.getLong("totalMillis"));
+		assertEquals(150, json.getJSONObject("phases").getLong("wait"));
+		assertEquals(500, json.getJSONObject("phases").getLong("CLI launch"));
+	}
+
+	@Test
+	public void testUnknownValues() {
+		ZAdviserResultAction.StepResult result = new ZAdviserResultAction.StepResult("zAdviserUpload", "conn");
+
+		assertFalse(result.isSuccessful());
+		assertEquals(-1, result.getRecords());
+		assertEquals(-1, result.getDataBytes());
+		assertEquals(0, result.getUploadedBytes());
+		assertEquals(null, result.getWindowStart());
+		assertEquals("", result.formatBytes(result.getEncryptedBytes()));
+		assertTrue(result.getPhases().isEmpty());
+	}
+
+	@Test
+	public void testEnvironmentDescribesLastStep() {
+		ZAdviserResultAction action = new ZAdviserResultAction();
+		Run<?, ?> run = mock(Run.class);
+		when(run.getAction(ZAdviserResultAction.class)).thenReturn(action);
+
+		EnvVars env = new EnvVars();
+		action.buildEnvironment(run, env);
+		assertTrue(env.isEmpty());
+
+		ZAdviserResultAction.StepResult first = new ZAdviserResultAction.StepResult("zAdviserDownload", "first");
+		first.setDataFile(new RemoteDataFileStats.Result(1000, 12, "abc"));
+		ZAdviserResultAction.record(run, first);
+		ZAdviserResultAction.StepResult second = new ZAdviserResultAction.StepResult("zAdviserDownload", "second");
+		second.setDataFile(new RemoteDataFileStats.Result(2000, 34, "def"));
+		ZAdviserResultAction.record(run, second);
+
+		action.buildEnvironment(run, env);
+		assertEquals(2, action.getSteps().size());
+		assertEquals("34", env.get(ZAdviserResultAction.RECORDS_VAR));
+		assertEquals("2000", env.get(ZAdviserResultAction.DATA_BYTES_VAR));
+		assertEquals("def", env.get(ZAdviserResultAction.CHECKSUM_VAR));
+		assertFalse(env.containsKey(ZAdviserResultAction.WINDOW_START_VAR));
+		assertEquals("second", JSONObject.fromObject(env.get(ZAdviserResultAction.RESULT_VAR)).getString("connectionId"));
+	}
+}
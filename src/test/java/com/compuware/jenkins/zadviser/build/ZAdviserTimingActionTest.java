@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+
+/**
+ * Test cases for {@link ZAdviserTimingAction}.
+ */
+@SuppressWarnings("nls")
+public class ZAdviserTimingActionTest {
+
+	@Test
+	public void testTimerRecordsPhasesInOrder() throws Exception {
+		ZAdviserTimingAction.Timer timer = new ZAdviserTimingAction.Timer("step");
+		timer.begin("first");
+		Thread.sleep(20);
+		timer.begin("second");
+		timer.end();
+
+		ZAdviserTimingAction.StepTiming stepTiming = timer.getStepTiming();
+		assertEquals("step", stepTiming.getName());
+
+		List<ZAdviserTimingAction.PhaseTiming> phases = stepTiming.getPhases();
+		assertEquals(2, phases.size());
+		assertEquals("first", phases.get(0).getName());
+		assertEquals("second", phases.get(1).getName());
+		assertTrue(phases.get(0).getDurationMillis() >= 20);
+	}
+
+	@Test
+	public void testEndWithoutPhaseIsIgnored() {
+		ZAdviserTimingAction.Timer timer = new ZAdviserTimingAction.Timer("step");
+		timer.end();
+		timer.begin("only");
+		timer.end();
+		timer.end();
+
+		assertEquals(1, timer.getStepTiming().getPhases().size());
+	}
+
+	@Test
+	public void testTotalIsSumOfPhases() {
+		ZAdviserTimingAction.StepTiming stepTiming = new ZAdviserTimingAction.StepTiming("step",
+				Arrays.asList(new ZAdviserTimingAction.PhaseTiming("a", 1500), new ZAdviserTimingAction.PhaseTiming("b", 250)));
+
+		assertEquals(1750, stepTiming.getTotalMillis());
+	}
+
+	@Test
+	public void testTrendSumsPhasesOfAllSteps() {
+		ZAdviserTimingAction action = new ZAdviserTimingAction();
+		Run<?, ?> run = mock(Run.class);
+		when(run.getAction(ZAdviserTimingAction.class)).thenReturn(action);
+		ZAdviserTimingAction.record(run, new ZAdviserTimingAction.StepTiming("download",
+				Arrays.asList(new ZAdviserTimingAction.PhaseTiming("CLI launch", 1000), new ZAdviserTimingAction.PhaseTiming("Workspace cleanup", 10))));
+		ZAdviserTimingAction.record(run, new ZAdviserTimingAction.StepTiming("upload",
+				Arrays.asList(new ZAdviserTimingAction.PhaseTiming("CLI launch", 500), new ZAdviserTimingAction.PhaseTiming("Duplicate commit", 5))));
+
+		Map<String, Long> phases = ZAdviserTimingProjectAction.sumPhases(action);
+		assertEquals(Arrays.asList("CLI launch", "Workspace cleanup", "Duplicate commit"), Arrays.asList(phases.keySet().toArray()));
+		assertEquals(Long.valueOf(1500), phases.get("CLI launch"));
+		assertEquals(Long.valueOf(10), phases.get("Workspace cleanup"));
+		assertEquals(Long.valueOf(5), phases.get("Duplicate commit"));
+	}
+
+	@Test
+	public void testProjectActionChartsJobOfRun() {
+		Job<?, ?> job = mock(Job.class);
+		Run<?, ?> run = mock(Run.class);
+		doReturn(job).when(run).getParent();
+		ZAdviserTimingAction action = new ZAdviserTimingAction();
+		action.onAttached(run);
+
+		List<Action> projectActions = new ArrayList<>(action.getProjectActions());
+		assertEquals(1, projectActions.size());
+		assertSame(job, ((ZAdviserTimingProjectAction) projectActions.get(0)).getJob());
+	}
+
+	@Test
+	public void testTrendIsCollectedOncePerLastBuild() {
+		ZAdviserTimingAction action = new ZAdviserTimingAction();
+		Run<?, ?> run = mock(Run.class);
+		when(run.getAction(ZAdviserTimingAction.class)).thenReturn(action);
+		when(run.getNumber()).thenReturn(1);
+		ZAdviserTimingAction.record(run, new ZAdviserTimingAction.StepTiming("download",
+				Arrays.asList(new ZAdviserTimingAction.PhaseTiming("CLI launch", 1000))));
+		Job<?, ?> job = mock(Job.class);
+		doReturn(run).when(job).getLastBuild();
+
+		assertEquals(1, new ZAdviserTimingProjectAction(job).getDataSet().getRowCount());
+		assertEquals(1, new ZAdviserTimingProjectAction(job).getDataSet().getRowCount());
+		verify(run, times(1)).getPreviousBuild();
+	}
+
+	@Test
+	public void testFormatSeconds() {
+		assertEquals("0.000 s", ZAdviserTimingAction.formatSeconds(0));
+		assertEquals("1.234 s", ZAdviserTimingAction.formatSeconds(1234));
+		assertEquals("61.005 s", new ZAdviserTimingAction.PhaseTiming("a", 61005).getDurationString());
+	}
+}
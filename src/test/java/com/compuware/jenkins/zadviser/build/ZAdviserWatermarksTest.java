@@ -0,0 +1,147 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.zadviser.build;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZAdviserWatermarks}.
+ */
+@SuppressWarnings("nls")
+public class ZAdviserWatermarksTest {
+	private final PrintStream logger = new PrintStream(new ByteArrayOutputStream());
+
+	@Test
+	public void testKeyIsStable() {
+		assertEquals(ZAdviserWatermarks.keyOf("12345", "customer"), ZAdviserWatermarks.keyOf("12345", "customer"));
+	}
+
+	@Test
+	public void testKeyIsPerConnectionAndCustomer() {
+		assertNotEquals(ZAdviserWatermarks.keyOf("12345", "customer"), ZAdviserWatermarks.keyOf("67890", "customer"));
+		assertNotEquals(ZAdviserWatermarks.keyOf("12345", "customer"), ZAdviserWatermarks.keyOf("12345", "other"));
+		assertNotEquals(ZAdviserWatermarks.keyOf("1234", "5customer"), ZAdviserWatermarks.keyOf("12345", "customer"));
+	}
+
+	@Test
+	public void testKeyIsFileNameSafe() {
+		assertTrue(ZAdviserWatermarks.keyOf("a/b\\c", "d:e").matches("[0-9a-f]+"));
+	}
+
+	@Test
+	public void testSameKeyWaits() throws Exception {
+		String key = ZAdviserWatermarks.keyOf("sameKey", "customer");
+		ZAdviserWatermarks.acquire(key, logger);
+
+		CountDownLatch acquired = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			try {
+				ZAdviserWatermarks.acquire(key, logger);
+				acquired.countDown();
+				ZAdviserWatermarks.release(key);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		waiter.start();
+
+		assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+		ZAdviserWatermarks.release(key);
+		assertTrue(acquired.await(10, TimeUnit.SECONDS));
+		waiter.join();
+	}
+
+	@Test
+	public void testUnusedLockIsRemoved() throws Exception {
+		String key = ZAdviserWatermarks.keyOf("unusedKey", "customer");
+		ZAdviserWatermarks.acquire(key, logger);
+		assertTrue(ZAdviserWatermarks.isInUse(key));
+
+		CountDownLatch waiting = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			try {
+				waiting.countDown();
+				ZAdviserWatermarks.acquire(key, logger);
+				ZAdviserWatermarks.release(key);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		waiter.start();
+		waiting.await();
+
+		ZAdviserWatermarks.release(key);
+		waiter.join();
+		assertFalse(ZAdviserWatermarks.isInUse(key));
+	}
+
+	@Test
+	public void testInterruptedWaiterIsRemoved() throws Exception {
+		String key = ZAdviserWatermarks.keyOf("interruptedKey", "customer");
+		ZAdviserWatermarks.acquire(key, logger);
+
+		Thread waiter = new Thread(() -> {
+			try {
+				ZAdviserWatermarks.acquire(key, logger);
+				ZAdviserWatermarks.release(key);
+			} catch (InterruptedException e) {
+				// expected
+			}
+		});
+		waiter.start();
+		waiter.interrupt();
+		waiter.join();
+
+		ZAdviserWatermarks.release(key);
+		assertFalse(ZAdviserWatermarks.isInUse(key));
+	}
+
+	@Test
+	public void testDifferentKeysDoNotWait() throws Exception {
+		String key1 = ZAdviserWatermarks.keyOf("key1", "customer");
+		String key2 = ZAdviserWatermarks.keyOf("key2", "customer");
+		ZAdviserWatermarks.acquire(key1, logger);
+		try {
+			CountDownLatch acquired = new CountDownLatch(1);
+			Thread other = new Thread(() -> {
+				try {
+					ZAdviserWatermarks.acquire(key2, logger);
+					acquired.countDown();
+					ZAdviserWatermarks.release(key2);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			other.start();
+
+			assertTrue(acquired.await(10, TimeUnit.SECONDS));
+			other.join();
+		} finally {
+			ZAdviserWatermarks.release(key1);
+		}
+	}
+}
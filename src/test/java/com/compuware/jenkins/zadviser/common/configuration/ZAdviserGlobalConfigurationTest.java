@@ -19,6 +19,8 @@ package com.compuware.jenkins.zadviser.common.configuration;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.verify;
 
+import java.time.LocalTime;
+
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.ClassRule;
@@ -95,6 +97,138 @@ public class ZAdviserGlobalConfigurationTest {
         assertEquals(FormValidation.Kind.OK, globalConfig.doCheckInitialDateRange(EXPECTED_INITIAL_DATE_RANGE).kind);
     }
 
+    @Test
+    public void testEmptyDuplicateRetentionDays() {
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckDuplicateRetentionDays(null).kind);
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckDuplicateRetentionDays(StringUtils.SPACE).kind);
+    }
+
+    @Test
+    public void testInvalidDuplicateRetentionDays() {
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckDuplicateRetentionDays("A").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckDuplicateRetentionDays("-1").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckDuplicateRetentionDays("0").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckDuplicateRetentionDays("366").kind);
+    }
+
+    @Test
+    public void testValidDuplicateRetentionDays() {
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckDuplicateRetentionDays("30").kind);
+    }
+
+    @Test
+    public void testEmptyMaxConcurrentExtractions() {
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckMaxConcurrentExtractions(null).kind);
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckMaxConcurrentExtractions(StringUtils.SPACE).kind);
+    }
+
+    @Test
+    public void testInvalidMaxConcurrentExtractions() {
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckMaxConcurrentExtractions("A").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckMaxConcurrentExtractions("-1").kind);
+    }
+
+    @Test
+    public void testValidMaxConcurrentExtractions() {
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckMaxConcurrentExtractions("2").kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckMaxConcurrentExtractions("0").kind);
+    }
+
+    @Test
+    public void testEmptyExtractionCacheMinutes() {
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckExtractionCacheMinutes(null).kind);
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckExtractionCacheMinutes(StringUtils.SPACE).kind);
+    }
+
+    @Test
+    public void testInvalidExtractionCacheMinutes() {
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckExtractionCacheMinutes("A").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckExtractionCacheMinutes("-1").kind);
+    }
+
+    @Test
+    public void testValidExtractionCacheMinutes() {
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckExtractionCacheMinutes("0").kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckExtractionCacheMinutes("60").kind);
+    }
+
+    @Test
+    public void testInvalidUploadRetries() {
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckUploadRetries("A").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckUploadRetries("-1").kind);
+    }
+
+    @Test
+    public void testValidUploadRetries() {
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRetries(null).kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRetries("0").kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRetries("5").kind);
+    }
+
+    @Test
+    public void testUploadRateLimit() {
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRateLimit(null).kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRateLimit("1024").kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadConnectionRateLimit("0").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckUploadRateLimit("1.5").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckUploadConnectionRateLimit("-1").kind);
+    }
+
+    @Test
+    public void testUploadRateSchedule() {
+		assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRateSchedule(null).kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckUploadRateSchedule("08:00-12:00, 13:00-18:00").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckUploadRateSchedule("08:00").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckUploadRateSchedule("8am-6pm").kind);
+    }
+
+    @Test
+    public void testOutboxWorkers() {
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckOutboxWorkers(null).kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckOutboxWorkers("4").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckOutboxWorkers("0").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckOutboxWorkers("A").kind);
+    }
+
+    @Test
+    public void testCliWorkspaceQuotas() {
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckCliWorkspaceMaxAgeHours(null).kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckCliWorkspaceMaxAgeHours("24").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckCliWorkspaceMaxAgeHours("0").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckCliWorkspaceMaxAgeHours("A").kind);
+
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckCliWorkspaceQuota("").kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckCliWorkspaceQuota("0").kind);
+        assertEquals(FormValidation.Kind.OK, globalConfig.doCheckCliWorkspaceQuota("2048").kind);
+        assertEquals(FormValidation.Kind.ERROR, globalConfig.doCheckCliWorkspaceQuota("-1").kind);
+    }
+
+    @Test
+    public void testIsInSchedule() {
+        assertTrue(ZAdviserGlobalConfiguration.isInSchedule(StringUtils.EMPTY, LocalTime.of(3, 0)));
+        assertTrue(ZAdviserGlobalConfiguration.isInSchedule("08:00-12:00,13:00-18:00", LocalTime.of(8, 0)));
+        assertTrue(ZAdviserGlobalConfiguration.isInSchedule("08:00-12:00,13:00-18:00", LocalTime.of(17, 59)));
+        assertFalse(ZAdviserGlobalConfiguration.isInSchedule("08:00-12:00,13:00-18:00", LocalTime.of(12, 30)));
+        assertFalse(ZAdviserGlobalConfiguration.isInSchedule("08:00-12:00,13:00-18:00", LocalTime.of(18, 0)));
+        assertTrue(ZAdviserGlobalConfiguration.isInSchedule("22:00-06:00", LocalTime.of(23, 0)));
+        assertTrue(ZAdviserGlobalConfiguration.isInSchedule("22:00-06:00", LocalTime.of(5, 0)));
+        assertFalse(ZAdviserGlobalConfiguration.isInSchedule("22:00-06:00", LocalTime.of(12, 0)));
+    }
+
+    @Test
+    public void testSnapshot() {
+        globalConfig.setAccessKey(Secret.fromString(EXPECTED_ACCESS_KEY));
+        globalConfig.setInitialDateRange(EXPECTED_INITIAL_DATE_RANGE);
+        ZAdviserGlobalConfiguration.Snapshot snapshot = ZAdviserGlobalConfiguration.snapshot();
+        assertEquals(EXPECTED_ACCESS_KEY, snapshot.getAccessKeyText());
+        assertEquals(StringUtils.EMPTY, snapshot.getEncryptionKeyText());
+        assertEquals(EXPECTED_INITIAL_DATE_RANGE, snapshot.getInitialDateRange());
+
+        globalConfig.setInitialDateRange("7");
+        assertEquals(EXPECTED_INITIAL_DATE_RANGE, snapshot.getInitialDateRange());
+        assertEquals("7", ZAdviserGlobalConfiguration.snapshot().getInitialDateRange());
+    }
+
     @Test
     public void testConfigureValid() {
     	ZAdviserGlobalConfiguration testConfig = new ZAdviserGlobalConfiguration();